@@ -0,0 +1,55 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * One row of a batch manifest: a video to process and where to write its CSV.
+ *
+ * A row has the same four values VideoSummaryApp takes on its command line, separated by commas:
+ *
+ *   input,output,color,threshold
+ *
+ * The color is a hex RGB value such as 2D0508 and the threshold a whole number.
+ *
+ * @param line the row's line number in the manifest, starting at 1
+ * @param input the path of the video
+ * @param output the path of the CSV to write
+ * @param targetColor the color to look for, as 0xRRGGBB
+ * @param threshold the largest color distance that still counts as a match
+ */
+record BatchJob(int line, String input, String output, int targetColor, int threshold) {
+
+    /**
+     * Parses one manifest row.
+     *
+     * @param line the row's line number in the manifest
+     * @param text the row
+     * @return the job
+     * @throws IllegalArgumentException if the row does not have four valid values
+     */
+    static BatchJob parse(int line, String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != 4) {
+            throw new IllegalArgumentException("Expected input,output,color,threshold but found " + fields.length + " values");
+        }
+
+        String input = fields[0].trim();
+        String output = fields[1].trim();
+        if (input.isEmpty()) throw new IllegalArgumentException("Missing input path");
+        if (output.isEmpty()) throw new IllegalArgumentException("Missing output path");
+
+        int targetColor;
+        try {
+            targetColor = Integer.parseInt(fields[2].trim(), 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Color must be a hex number: " + fields[2].trim());
+        }
+
+        int threshold;
+        try {
+            threshold = Integer.parseInt(fields[3].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Threshold must be a number: " + fields[3].trim());
+        }
+
+        return new BatchJob(line, input, output, targetColor, threshold);
+    }
+}
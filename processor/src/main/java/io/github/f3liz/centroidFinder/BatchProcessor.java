@@ -0,0 +1,175 @@
+package io.github.f3liz.centroidFinder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Processes every video listed in a manifest inside one JVM.
+ *
+ * Starting a JVM for each video pays for class loading, JIT warm-up and loading the FFmpeg
+ * libraries every time, which is a large part of the run for short clips. Here those costs are
+ * paid once. A fixed number of videos are processed at the same time, and all of them analyze
+ * their frames on one shared worker pool (see ProcessingOptions.workerPool), so the number of
+ * analysis threads stays the same however many videos run at once. --segments would start
+ * threads of its own for every video, so it is rejected here.
+ *
+ * The manifest has one BatchJob per line. Blank lines and lines starting with # are skipped, and
+ * so is a first row that reads exactly input,output,color,threshold (in any case), so a header
+ * can be written. A bad row does not stop the batch; it is reported with its own exit status,
+ * like a video that fails to process.
+ */
+public final class BatchProcessor {
+    /** The video was processed and its CSV written. */
+    public static final int EXIT_OK = 0;
+    /** The video could not be processed. */
+    public static final int EXIT_FAILED = 1;
+    /** The manifest row could not be parsed. */
+    public static final int EXIT_INVALID = 2;
+
+    // The optional header row, compared field by field ignoring case and surrounding spaces
+    private static final String[] HEADER = { "input", "output", "color", "threshold" };
+
+    private final int concurrentJobs;
+    private final ProcessingOptions options;
+
+    /**
+     * @param concurrentJobs how many videos to process at the same time, at least 1
+     * @param options the options used for every video; its worker count sizes the shared pool, and
+     *                it must not ask for more than one segment
+     */
+    public BatchProcessor(int concurrentJobs, ProcessingOptions options) {
+        if (concurrentJobs < 1) throw new IllegalArgumentException("Job count must be at least 1");
+        if (options.workerPool() != null) throw new IllegalArgumentException("The batch sets up its own worker pool");
+        if (options.segments() > 1) throw new IllegalArgumentException("--segments cannot be used in a batch, whose videos share one worker pool");
+
+        this.concurrentJobs = concurrentJobs;
+        this.options = options;
+    }
+
+    /**
+     * The outcome of one manifest row.
+     *
+     * @param line the row's line number in the manifest
+     * @param input the video path, or the raw row if it could not be parsed
+     * @param output the CSV path, or empty if the row could not be parsed
+     * @param exitCode EXIT_OK, EXIT_FAILED or EXIT_INVALID
+     * @param seconds how long the video took to process
+     * @param message why the job failed, or empty
+     */
+    public record JobStatus(int line, String input, String output, int exitCode, double seconds, String message) {
+    }
+
+    /**
+     * Reads a manifest and processes every job in it.
+     *
+     * @param manifest the manifest file
+     * @return one status per job, in manifest order
+     * @throws IOException if the manifest cannot be read
+     */
+    public List<JobStatus> run(Path manifest) throws IOException, InterruptedException {
+        List<String> lines = Files.readAllLines(manifest);
+
+        List<JobStatus> invalid = new ArrayList<>();
+        List<BatchJob> jobs = new ArrayList<>();
+        boolean firstRow = true;
+        for (int i = 0; i < lines.size(); i++) {
+            String text = lines.get(i).trim();
+            if (text.isEmpty() || text.startsWith("#")) continue;
+
+            boolean header = firstRow && isHeader(text);
+            firstRow = false;
+            if (header) continue;
+
+            try {
+                jobs.add(BatchJob.parse(i + 1, text));
+            } catch (IllegalArgumentException e) {
+                invalid.add(new JobStatus(i + 1, text, "", EXIT_INVALID, 0, e.getMessage()));
+            }
+        }
+
+        List<JobStatus> statuses = new ArrayList<>(invalid);
+        statuses.addAll(run(jobs));
+        statuses.sort((a, b) -> Integer.compare(a.line(), b.line()));
+        return statuses;
+    }
+
+    // A job whose path merely starts with "input" is still a job, so every field has to match
+    private static boolean isHeader(String text) {
+        String[] fields = text.split(",", -1);
+        if (fields.length != HEADER.length) return false;
+
+        for (int i = 0; i < fields.length; i++) {
+            if (!fields[i].trim().equalsIgnoreCase(HEADER[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Processes the given jobs.
+     *
+     * @param jobs the jobs to process
+     * @return one status per job, in the same order
+     */
+    public List<JobStatus> run(List<BatchJob> jobs) throws InterruptedException {
+        ExecutorService workerPool = Executors.newFixedThreadPool(options.workers(), namedThreads("batch-worker-"));
+        ExecutorService jobPool = Executors.newFixedThreadPool(concurrentJobs, namedThreads("batch-job-"));
+        // The jobs share one options object, which VideoProcessor only reads
+        ProcessingOptions shared = options.copy().workerPool(workerPool);
+
+        try {
+            List<Future<JobStatus>> futures = new ArrayList<>(jobs.size());
+            for (BatchJob job : jobs) {
+                futures.add(jobPool.submit(() -> process(job, shared)));
+            }
+
+            List<JobStatus> statuses = new ArrayList<>(jobs.size());
+            for (Future<JobStatus> future : futures) {
+                try {
+                    statuses.add(future.get());
+                } catch (ExecutionException e) {
+                    // process() catches everything, so this only happens if the job thread itself died
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return statuses;
+        } finally {
+            jobPool.shutdownNow();
+            workerPool.shutdownNow();
+        }
+    }
+
+    // Runs one job and turns any failure into its status
+    private static JobStatus process(BatchJob job, ProcessingOptions options) {
+        long start = System.nanoTime();
+        try {
+            new VideoProcessor(job.input(), job.output(), job.targetColor(), job.threshold(), options).processVideo();
+            return status(job, EXIT_OK, start, "");
+        } catch (Exception e) {
+            String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            return status(job, EXIT_FAILED, start, message);
+        }
+    }
+
+    private static JobStatus status(BatchJob job, int exitCode, long start, String message) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return new JobStatus(job.line(), job.input(), job.output(), exitCode, seconds, message);
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
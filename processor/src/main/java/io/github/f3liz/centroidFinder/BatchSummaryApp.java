@@ -0,0 +1,102 @@
+package io.github.f3liz.centroidFinder;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Command-line tool to process every video in a manifest in one JVM (see BatchProcessor)
+ * and write a CSV with the exit status of each job.
+ *
+ * The exit status of the tool itself is 0 when every job succeeded and 1 otherwise.
+ */
+public class BatchSummaryApp {
+    public static void main(String[] args) {
+        // Logic to make sure the 2 required arguments are given
+        if (args.length < 2) {
+            printUsage();
+            return;
+        }
+
+        long startTime = System.currentTimeMillis(); // Start timer
+
+        Path manifest = Path.of(args[0]);
+        String statusCsv = args[1];
+
+        // --jobs belongs to the batch, everything else is passed on to each video
+        int concurrentJobs = 1;
+        List<String> optionArgs = new ArrayList<>();
+        BatchProcessor batch;
+        try {
+            for (int i = 2; i < args.length; i++) {
+                if (args[i].startsWith("--jobs=")) {
+                    concurrentJobs = parseJobs(args[i].substring("--jobs=".length()));
+                } else {
+                    optionArgs.add(args[i]);
+                }
+            }
+            batch = new BatchProcessor(concurrentJobs, ProcessingOptions.parse(optionArgs.toArray(new String[0])));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            printUsage();
+            return;
+        }
+
+        boolean allSucceeded;
+        try (PrintWriter writer = new PrintWriter(statusCsv)) {
+            List<BatchProcessor.JobStatus> statuses = batch.run(manifest);
+
+            writer.println("line,input,output,exit,seconds,message");
+            allSucceeded = true;
+            for (BatchProcessor.JobStatus status : statuses) {
+                writer.println(status.line() + "," + quote(status.input()) + "," + quote(status.output()) + ","
+                        + status.exitCode() + "," + String.format(Locale.ROOT, "%.3f", status.seconds()) + ","
+                        + quote(status.message()));
+                allSucceeded &= status.exitCode() == BatchProcessor.EXIT_OK;
+            }
+
+            long failed = statuses.stream().filter(status -> status.exitCode() != BatchProcessor.EXIT_OK).count();
+            System.out.println("Batch complete: " + (statuses.size() - failed) + " of " + statuses.size()
+                    + " jobs succeeded, status saved to: " + statusCsv);
+        } catch (Exception e) {
+            System.out.println("Error processing batch: ");
+            e.printStackTrace();
+            allSucceeded = false;
+        }
+
+        // Print total elapsed time
+        long endTime = System.currentTimeMillis();
+        double elapsedSeconds = (endTime - startTime) / 1000.0;
+        System.out.println("Elapsed time: " + elapsedSeconds + " seconds");
+        System.out.flush();
+
+        System.exit(allSucceeded ? 0 : 1);
+    }
+
+    private static int parseJobs(String value) {
+        int jobs;
+        try {
+            jobs = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--jobs must be a number: " + value);
+        }
+        if (jobs < 1) throw new IllegalArgumentException("Job count must be at least 1");
+        return jobs;
+    }
+
+    // Quotes a CSV field when it holds a comma, quote or line break
+    static String quote(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) return field;
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -cp videoprocessor.jar io.github.f3liz.centroidFinder.BatchSummaryApp <manifest> <statusCsv> [--jobs=N] [options]");
+        System.out.println("  Each manifest line is input,output,color,threshold; blank lines and # comments are skipped");
+        System.out.println("  --jobs=N         videos processed at the same time (default: 1)");
+        System.out.println("  Every other option is applied to each video; see VideoSummaryApp for the list");
+        System.out.println("  --segments is not available, since the videos share one worker pool");
+    }
+}
@@ -2,13 +2,14 @@ package io.github.f3liz.centroidFinder;
 
 import java.awt.image.BufferedImage;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * An implementation of the ImageGroupFinder interface that first binarizes a given image and then finds
  * connected groups of white pixels using a BinaryGroupFinder.
  * 
- * This class uses an ImageBinarizer to convert an RGB image into a binary 2D array (where each pixel is either 0 or 1).
- * The BinaryGroupFinder is then applied to the binary array to locate connected groups of white pixels.
+ * This class uses an ImageBinarizer to convert an RGB image into a bit-packed binary mask (where each pixel is either 0 or 1).
+ * The BinaryGroupFinder is then applied to the mask to locate connected groups of white pixels.
  * The connected groups are returned sorted in descending order based on the criteria defined in the Group record.
  */
 public class BinarizingImageGroupFinder implements ImageGroupFinder {
@@ -18,8 +19,8 @@ public class BinarizingImageGroupFinder implements ImageGroupFinder {
     /**
      * Constructs a BinarizingImageGroupFinder using the specified ImageBinarizer and BinaryGroupFinder.
      *
-     * @param binarizer the ImageBinarizer used to convert an image into a binary 2D array
-     * @param groupFinder the BinaryGroupFinder used to find connected white pixel groups in the binary array
+     * @param binarizer the ImageBinarizer used to convert an image into a binary mask
+     * @param groupFinder the BinaryGroupFinder used to find connected white pixel groups in the binary mask
      */
     public BinarizingImageGroupFinder(ImageBinarizer binarizer, BinaryGroupFinder groupFinder) {
         this.binarizer = binarizer;
@@ -29,9 +30,9 @@ public class BinarizingImageGroupFinder implements ImageGroupFinder {
     /**
      * Finds connected groups of white pixels in the given image.
      * 
-     * The method first converts the input BufferedImage into a binary array using the ImageBinarizer.
+     * The method first converts the input BufferedImage into a binary mask using the ImageBinarizer.
      * White pixels are represented by 1 and black pixels by 0. It then uses the BinaryGroupFinder to
-     * locate connected groups (neighbors connected vertically and horizontally) within the binary array.
+     * locate connected groups (neighbors connected vertically and horizontally) within the mask.
      * The identified groups are returned in descending order, according to the sorting defined in the Group record.
      *
      * @param image the input BufferedImage to process
@@ -39,13 +40,27 @@ public class BinarizingImageGroupFinder implements ImageGroupFinder {
      */
     @Override
     public List<Group> findConnectedGroups(BufferedImage image) {
-        // Convert the RGB image into a binary array (0 for black, 1 for white) using the ImageBinarizer
-        int[][] binaryImage = binarizer.toBinaryArray(image);
+        // Convert the RGB image into a bit-packed mask (0 for black, 1 for white) using the ImageBinarizer
+        BinaryMask binaryImage = binarizer.toBinaryMask(image);
 
-        // Use the BinaryGroupFinder to find connected groups of white (1) pixels in the binary image array
+        // Use the BinaryGroupFinder to find connected groups of white (1) pixels in the binary mask
         List<Group> connectedGroups = groupFinder.findConnectedGroups(binaryImage);
 
         // Return the list of connected groups
         return connectedGroups;
     }
+
+    /**
+     * Finds the largest connected group of white pixels in the given image.
+     * 
+     * The image is binarized the same way as findConnectedGroups, and the BinaryGroupFinder's
+     * findLargestGroup picks the largest group from the mask.
+     *
+     * @param image the input BufferedImage to process
+     * @return the largest group, or an empty Optional if the image has no white pixels
+     */
+    @Override
+    public Optional<Group> findLargestGroup(BufferedImage image) {
+        return groupFinder.findLargestGroup(binarizer.toBinaryMask(image));
+    }
 }
@@ -1,6 +1,7 @@
 package io.github.f3liz.centroidFinder;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface BinaryGroupFinder {
    /**
@@ -34,4 +35,55 @@ public interface BinaryGroupFinder {
     * @return the found groups of connected pixels in descending order
     */
    public List<Group> findConnectedGroups(int[][] image);
-}
\ No newline at end of file
+
+   /**
+    * Finds connected pixel groups of white pixels in a bit-packed binary mask.
+    *
+    * The groups follow the same rules as findConnectedGroups(int[][]): pixels are connected
+    * vertically and horizontally, centroids use integer division, and the groups are sorted in
+    * DESCENDING order. The default implementation adapts the int[][] version, so implementations
+    * should override it to work on the packed bits directly.
+    *
+    * @param mask the binary mask to search
+    * @return the found groups of connected pixels in descending order
+    * @throws NullPointerException if the mask is null
+    */
+   public default List<Group> findConnectedGroups(BinaryMask mask) {
+      if (mask == null) throw new NullPointerException("Null mask");
+      return findConnectedGroups(mask.toArray());
+   }
+
+   /**
+    * Finds only the largest connected group of white pixels in a bit-packed binary mask.
+    *
+    * The result is the group findConnectedGroups(mask) would put first: the biggest size, with
+    * ties broken by Group's compareTo method (larger centroid x, then larger centroid y). The
+    * default implementation builds and sorts the full list, so implementations should override
+    * it to keep just a running maximum.
+    *
+    * @param mask the binary mask to search
+    * @return the largest group, or an empty Optional if the mask has no white pixels
+    * @throws NullPointerException if the mask is null
+    */
+   public default Optional<Group> findLargestGroup(BinaryMask mask) {
+      List<Group> groups = findConnectedGroups(mask);
+      return groups.isEmpty() ? Optional.empty() : Optional.of(groups.get(0));
+   }
+
+   /**
+    * Finds connected groups of white pixels in a bit-packed binary mask and describes each one
+    * as a Blob: its area, exact double-precision centroid, bounding box, orientation and
+    * eccentricity.
+    *
+    * Connectivity is the same as findConnectedGroups, and blob.toGroup() gives the same Group.
+    * The blobs are sorted in DESCENDING order by Blob's compareTo method. The default
+    * implementation labels the mask with a RunLengthBinaryGroupFinder.
+    *
+    * @param mask the binary mask to search
+    * @return the found blobs in descending order
+    * @throws NullPointerException if the mask is null
+    */
+   public default List<Blob> findBlobs(BinaryMask mask) {
+      return new RunLengthBinaryGroupFinder().findBlobs(mask);
+   }
+}
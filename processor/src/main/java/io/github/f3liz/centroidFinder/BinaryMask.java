@@ -0,0 +1,216 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.Arrays;
+
+/**
+ * A bit-packed binary image where every pixel takes up a single bit.
+ *
+ * Each row is stored as a run of 64-bit words inside one flat long array. Bit (x % 64) of
+ * word (x / 64) in a row holds the pixel at column x, so a 1920x1080 mask takes 30 words per row
+ * (about 259 KB) instead of the 8 MB used by an int[][] of the same size.
+ *
+ * Coordinates follow the same convention as the rest of the project: (x:0, y:0) is the top-left
+ * pixel, x increases to the right and y increases downward. A set bit is a white (1) pixel and a
+ * clear bit is a black (0) pixel.
+ */
+public final class BinaryMask {
+    private final int width;
+    private final int height;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    /**
+     * Constructs an all-black mask of the given size.
+     *
+     * @param width the number of columns in the mask
+     * @param height the number of rows in the mask
+     * @throws IllegalArgumentException if the width or height is negative
+     */
+    public BinaryMask(int width, int height) {
+        if (width < 0 || height < 0) throw new IllegalArgumentException("Invalid mask size");
+
+        this.width = width;
+        this.height = height;
+        this.wordsPerRow = (width + 63) >>> 6;
+        this.words = new long[wordsPerRow * height];
+    }
+
+    /**
+     * Builds a mask from a binary 2D array where 1 represents white and 0 represents black.
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return a mask with the same pixels as the array
+     * @throws NullPointerException if the array or any of its subarrays are null
+     * @throws IllegalArgumentException if the array is not rectangular
+     */
+    public static BinaryMask fromArray(int[][] image) {
+        if (image == null) throw new NullPointerException("Null array or subarray");
+
+        for (int[] row : image) {
+            if (row == null) throw new NullPointerException("Null array or subarray");
+        }
+
+        int width = image.length == 0 ? 0 : image[0].length;
+        BinaryMask mask = new BinaryMask(width, image.length);
+        for (int y = 0; y < image.length; y++) {
+            if (image[y].length != width) throw new IllegalArgumentException("Invalid array");
+
+            for (int x = 0; x < width; x++) {
+                if (image[y][x] == 1) mask.set(x, y);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Converts this mask back into a binary 2D array indexed as [y][x].
+     *
+     * @return a 2D array where 1 represents white and 0 represents black
+     */
+    public int[][] toArray() {
+        int[][] image = new int[height][width];
+        for (int y = 0; y < height; y++) {
+            for (int x = nextSetBit(y, 0); x >= 0; x = nextSetBit(y, x + 1)) {
+                image[y][x] = 1;
+            }
+        }
+        return image;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * @return the number of 64-bit words used to store each row
+     */
+    public int wordsPerRow() {
+        return wordsPerRow;
+    }
+
+    /**
+     * @return true if the pixel at (x, y) is white
+     */
+    public boolean get(int x, int y) {
+        return (words[y * wordsPerRow + (x >>> 6)] & (1L << x)) != 0;
+    }
+
+    /**
+     * Marks the pixel at (x, y) as white.
+     */
+    public void set(int x, int y) {
+        words[y * wordsPerRow + (x >>> 6)] |= 1L << x;
+    }
+
+    /**
+     * Marks the pixel at (x, y) as black.
+     */
+    public void clear(int x, int y) {
+        words[y * wordsPerRow + (x >>> 6)] &= ~(1L << x);
+    }
+
+    /**
+     * Returns one 64-bit word of a row. Bit i of word w holds column (w * 64 + i).
+     *
+     * @param y the row
+     * @param wordIndex the index of the word within the row
+     * @return the packed pixels of that word
+     */
+    public long word(int y, int wordIndex) {
+        return words[y * wordsPerRow + wordIndex];
+    }
+
+    /**
+     * Replaces one 64-bit word of a row. Bits past the last column are ignored.
+     *
+     * @param y the row
+     * @param wordIndex the index of the word within the row
+     * @param bits the packed pixels to store
+     */
+    public void setWord(int y, int wordIndex, long bits) {
+        if (wordIndex == wordsPerRow - 1) bits &= lastWordMask();
+        words[y * wordsPerRow + wordIndex] = bits;
+    }
+
+    /**
+     * Finds the first white pixel in a row at or after the given column.
+     *
+     * @param y the row to search
+     * @param fromX the first column to check
+     * @return the column of the next white pixel, or -1 if there is none
+     */
+    public int nextSetBit(int y, int fromX) {
+        if (fromX >= width) return -1;
+
+        int rowStart = y * wordsPerRow;
+        int wordIndex = fromX >>> 6;
+        long word = words[rowStart + wordIndex] & (-1L << fromX);
+
+        while (true) {
+            if (word != 0) return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+            if (++wordIndex == wordsPerRow) return -1;
+            word = words[rowStart + wordIndex];
+        }
+    }
+
+    /**
+     * Finds the first black pixel in a row at or after the given column.
+     *
+     * @param y the row to search
+     * @param fromX the first column to check
+     * @return the column of the next black pixel, or the width of the mask if there is none
+     */
+    public int nextClearBit(int y, int fromX) {
+        if (fromX >= width) return width;
+
+        int rowStart = y * wordsPerRow;
+        int wordIndex = fromX >>> 6;
+        long word = ~words[rowStart + wordIndex] & (-1L << fromX);
+
+        while (true) {
+            if (word != 0) return Math.min(width, (wordIndex << 6) + Long.numberOfTrailingZeros(word));
+            if (++wordIndex == wordsPerRow) return width;
+            word = ~words[rowStart + wordIndex];
+        }
+    }
+
+    /**
+     * @return the number of white pixels in the mask
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Marks every pixel as black so the mask can be reused for another frame.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+    }
+
+    // Bits of the last word in a row that fall inside the mask
+    private long lastWordMask() {
+        int used = width & 63;
+        return used == 0 ? -1L : (1L << used) - 1;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) return true;
+        if (!(other instanceof BinaryMask mask)) return false;
+        return width == mask.width && height == mask.height && Arrays.equals(words, mask.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * width + height) + Arrays.hashCode(words);
+    }
+}
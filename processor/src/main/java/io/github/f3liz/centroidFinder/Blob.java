@@ -0,0 +1,109 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * A group of contiguous pixels described by its moments instead of an integer centroid.
+ *
+ * Group rounds its centroid down to whole pixels, which is what the CSV output expects but throws
+ * away the sub-pixel motion needed to estimate speed between frames. A Blob keeps the centroid as
+ * a double, plus the shape information that the labelers get almost for free from the same pass:
+ *
+ * <ul>
+ *   <li>area: the number of pixels in the blob
+ *   <li>centroidX, centroidY: the exact mean of the pixel coordinates
+ *   <li>minX, minY, maxX, maxY: the inclusive bounding box
+ *   <li>orientation: the angle of the major axis in radians, in (-pi/2, pi/2]. 0 is along +x and
+ *       positive angles turn toward +y, which is clockwise on screen because y increases downward.
+ *       Blobs with no preferred direction (a disc, a square) report 0.
+ *   <li>eccentricity: 0 for a blob that is equally spread in every direction, approaching 1 as it
+ *       stretches into a line. It is the eccentricity of the ellipse with the same second moments.
+ * </ul>
+ *
+ * Moments are taken over pixel centers, so a single pixel has area 1, no spread and an
+ * eccentricity of 0. Blobs order the same way as Groups: by area, then centroid x, then centroid y.
+ */
+public record Blob(long area, double centroidX, double centroidY,
+                   int minX, int minY, int maxX, int maxY,
+                   double orientation, double eccentricity) implements Comparable<Blob> {
+
+    /**
+     * Builds a blob from the raw sums a labeler accumulates for a component.
+     *
+     * All sums are exact long values, so nothing overflows for any frame that fits in memory; the
+     * conversion to double only happens here, once per blob.
+     *
+     * @param size the number of pixels
+     * @param sumX the sum of the pixels' x coordinates
+     * @param sumY the sum of the pixels' y coordinates
+     * @param sumXX the sum of x * x
+     * @param sumXY the sum of x * y
+     * @param sumYY the sum of y * y
+     */
+    static Blob of(long size, long sumX, long sumY, long sumXX, long sumXY, long sumYY,
+                   int minX, int minY, int maxX, int maxY) {
+        double centroidX = (double) sumX / size;
+        double centroidY = (double) sumY / size;
+
+        // Central second moments (the covariance of the pixel coordinates), clamped against rounding
+        double mu20 = Math.max(0, (double) sumXX / size - centroidX * centroidX);
+        double mu02 = Math.max(0, (double) sumYY / size - centroidY * centroidY);
+        double mu11 = (double) sumXY / size - centroidX * centroidY;
+
+        double orientation = 0.5 * Math.atan2(2 * mu11, mu20 - mu02);
+
+        // Eigenvalues of the covariance matrix give the squared lengths of the ellipse's axes
+        double mean = (mu20 + mu02) / 2;
+        double spread = Math.hypot((mu20 - mu02) / 2, mu11);
+        double major = mean + spread;
+        double minor = Math.max(0, mean - spread);
+        double eccentricity = major > 0 ? Math.sqrt(1 - minor / major) : 0;
+
+        return new Blob(size, centroidX, centroidY, minX, minY, maxX, maxY, orientation, eccentricity);
+    }
+
+    /**
+     * @return the width of the bounding box in pixels
+     */
+    public int width() {
+        return maxX - minX + 1;
+    }
+
+    /**
+     * @return the height of the bounding box in pixels
+     */
+    public int height() {
+        return maxY - minY + 1;
+    }
+
+    /**
+     * Returns the Group a BinaryGroupFinder would report for the same pixels.
+     *
+     * The centroid is rounded down, which matches integer division of the coordinate sums: the
+     * sums are exact in a double below 2^52, and a quotient that is not a whole number is at
+     * least 1/area away from one, far more than the rounding error.
+     *
+     * @return this blob as a Group with an integer centroid
+     */
+    public Group toGroup() {
+        return new Group((int) area, new Coordinate((int) Math.floor(centroidX), (int) Math.floor(centroidY)));
+    }
+
+    /**
+     * Compares this blob with the specified blob by area, then centroid x, then centroid y.
+     *
+     * @param other the blob to be compared with this blob
+     * @return a negative integer, zero, or a positive integer if this blob is less than,
+     *         equal to, or greater than the specified blob
+     */
+    @Override
+    public int compareTo(Blob other) {
+        int comp = Long.compare(this.area(), other.area());
+        if (comp != 0) {
+            return comp;
+        }
+        comp = Double.compare(this.centroidX(), other.centroidX());
+        if (comp != 0) {
+            return comp;
+        }
+        return Double.compare(this.centroidY(), other.centroidY());
+    }
+}
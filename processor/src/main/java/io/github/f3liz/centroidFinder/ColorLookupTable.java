@@ -0,0 +1,175 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.stream.IntStream;
+
+/**
+ * A ColorPredicate compiled into a bitset over all 16,777,216 24-bit RGB colors.
+ *
+ * For a fixed predicate the answer only depends on the color, so it can be computed once for
+ * every possible color and stored in 2 MB of bits. Testing a pixel is then a single array load
+ * and bit test instead of a distance computation.
+ *
+ * The table is filled in parallel on the common ForkJoinPool. Tables built by forDistance are
+ * cached and shared across jobs, so a video that is processed again with the same target color
+ * and threshold does not pay the setup cost twice. A table is built outside the cache's lock:
+ * callers asking for the same table wait for that one build, and every other caller goes ahead.
+ *
+ * The table only sees 24-bit keys, so it works for any packed color. forYuvDistance builds one
+ * keyed by 0xYYUUVV samples instead of RGB colors.
+ */
+public final class ColorLookupTable implements ColorPredicate {
+    // 2^24 colors, one bit each, packed into 2^18 longs
+    private static final int COLOR_COUNT = 1 << 24;
+    private static final int WORD_COUNT = COLOR_COUNT >>> 6;
+
+    // Each table is 2 MB, so only the most recently used ones are kept. An entry is the table's
+    // build, which may still be running; the lock only guards the map itself.
+    private static final int CACHE_SIZE = 8;
+    private static final Map<CacheKey, FutureTask<ColorLookupTable>> CACHE =
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<CacheKey, FutureTask<ColorLookupTable>> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            };
+
+    private final long[] bits;
+
+    private ColorLookupTable(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * Evaluates the predicate for every 24-bit color and stores the results in a new table.
+     *
+     * @param predicate the predicate to compile; it must be safe to call from several threads
+     * @return a table that gives the same answer as the predicate for every color
+     */
+    public static ColorLookupTable compile(ColorPredicate predicate) {
+        long[] bits = new long[WORD_COUNT];
+
+        // Every word covers 64 consecutive colors, so the words can be filled independently
+        IntStream.range(0, WORD_COUNT).parallel().forEach(wordIndex -> {
+            int firstColor = wordIndex << 6;
+            long word = 0L;
+            for (int bit = 0; bit < 64; bit++) {
+                if (predicate.matches(firstColor + bit)) {
+                    word |= 1L << bit;
+                }
+            }
+            bits[wordIndex] = word;
+        });
+
+        return new ColorLookupTable(bits);
+    }
+
+    /**
+     * Returns the table for ColorPredicate.withinDistance(distanceFinder, targetColor, threshold),
+     * building it on first use and reusing it afterwards.
+     *
+     * Tables are cached by distance finder, target color and threshold, so the distance finder
+     * should implement equals and hashCode if separate instances compute the same distance.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the largest distance that still counts as a match
+     * @return a shared table for the given color test
+     */
+    public static ColorLookupTable forDistance(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        CacheKey key = new CacheKey(distanceFinder, targetColor & 0xFFFFFF, threshold, null);
+        return cached(key, ColorPredicate.withinDistance(distanceFinder, key.targetColor(), threshold));
+    }
+
+    /**
+     * Returns a table keyed by 0xYYUUVV samples that matches a sample exactly when the RGB test
+     * ColorPredicate.withinDistance(distanceFinder, targetColor, threshold) matches
+     * colorSpace.toRgb(sample). Use it with a YuvFrameReader to test decoded YUV frames without
+     * converting them to RGB; the target and threshold are folded into the table once.
+     *
+     * The result is exactly the RGB test on colorSpace's own conversion. swscale's fixed-point
+     * conversion, which produces the BGR frames the RGB pipeline reads, lands within a distance
+     * of sqrt(6) of it for full-range video and sqrt(17) for studio range on our test clips
+     * (see YuvFrameReaderTest). By the triangle inequality, only pixels whose distance to the
+     * target is within that much of the threshold can be classified differently.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the largest distance that still counts as a match
+     * @param colorSpace how the samples map to RGB
+     * @return a shared table for the given color test over YUV samples
+     */
+    public static ColorLookupTable forYuvDistance(ColorDistanceFinder distanceFinder, int targetColor, int threshold,
+            YuvColorSpace colorSpace) {
+        CacheKey key = new CacheKey(distanceFinder, targetColor & 0xFFFFFF, threshold, colorSpace);
+        ColorPredicate rgbTest = ColorPredicate.withinDistance(distanceFinder, key.targetColor(), threshold);
+        return cached(key, yuv -> rgbTest.matches(colorSpace.toRgb(yuv)));
+    }
+
+    // Returns the cached table for the key, compiling it on this thread if no one has started it yet
+    private static ColorLookupTable cached(CacheKey key, ColorPredicate predicate) {
+        FutureTask<ColorLookupTable> build;
+        boolean ours = false;
+        synchronized (CACHE) {
+            build = CACHE.get(key);
+            if (build == null) {
+                build = new FutureTask<>(() -> compile(predicate));
+                CACHE.put(key, build);
+                ours = true;
+            }
+        }
+
+        // The 16M-color build runs without the lock, so lookups of other tables are never held up
+        if (ours) build.run();
+
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return build.get();
+                } catch (InterruptedException e) {
+                    // The build finishes either way, so keep waiting and pass the interrupt on afterwards
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    // Drop the failed build so the next caller tries again
+                    synchronized (CACHE) {
+                        CACHE.remove(key, build);
+                    }
+                    if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+                    if (e.getCause() instanceof Error error) throw error;
+                    throw new IllegalStateException("Could not build color table", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Looks up a single color in the table.
+     *
+     * @param rgb the color as a 24-bit hex RGB integer (0xRRGGBB); any alpha bits are ignored
+     * @return true if the compiled predicate matched the color
+     */
+    @Override
+    public boolean matches(int rgb) {
+        return (bits[(rgb & 0xFFFFFF) >>> 6] & (1L << rgb)) != 0;
+    }
+
+    /**
+     * @return the number of colors that match
+     */
+    public int matchingColorCount() {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    // colorSpace is null for tables keyed by RGB colors
+    private record CacheKey(ColorDistanceFinder distanceFinder, int targetColor, int threshold, YuvColorSpace colorSpace) {}
+}
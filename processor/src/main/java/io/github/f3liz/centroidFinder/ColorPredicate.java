@@ -0,0 +1,34 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * Decides whether a single color counts as a match when binarizing an image.
+ *
+ * Colors are 24-bit RGB integers in the form 0xRRGGBB. A matching pixel becomes white (1) in the
+ * binary image and every other pixel becomes black (0).
+ */
+@FunctionalInterface
+public interface ColorPredicate {
+    /**
+     * Tests a single color.
+     *
+     * @param rgb the color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @return true if the color is a match
+     */
+    public boolean matches(int rgb);
+
+    /**
+     * Returns a predicate that matches every color whose distance to the target color is at most
+     * the threshold. This is the rule DistanceImageBinarizer has always used.
+     *
+     * The distance is computed on every call. Use ColorLookupTable.forDistance to get the same
+     * answers from a precomputed table when many pixels will be tested.
+     *
+     * @param distanceFinder an object that computes the distance between two colors
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the largest distance that still counts as a match
+     * @return a predicate that compares each color against the target color
+     */
+    public static ColorPredicate withinDistance(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
+        return rgb -> threshold >= distanceFinder.distance(rgb, targetColor);
+    }
+}
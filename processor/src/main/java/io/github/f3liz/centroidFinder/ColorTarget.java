@@ -0,0 +1,17 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * A color to track and how far a pixel's color may be from it to still count as a match.
+ *
+ * @param color the target color as 0xRRGGBB
+ * @param threshold the largest Euclidean color distance that is still a match
+ */
+public record ColorTarget(int color, int threshold) {
+
+    /**
+     * @return the color as six hex digits, such as 2D0508
+     */
+    public String hexColor() {
+        return String.format("%06X", color & 0xFFFFFF);
+    }
+}
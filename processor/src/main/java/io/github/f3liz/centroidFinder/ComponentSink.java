@@ -0,0 +1,24 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * Receives connected components from a labeler as soon as they are complete.
+ *
+ * A component is described by its pixel count and the sums of its pixels' x and y coordinates,
+ * which is all that is needed to build a Group.
+ */
+@FunctionalInterface
+interface ComponentSink {
+    /**
+     * @param size the number of pixels in the component
+     * @param sumX the sum of the x coordinates of the component's pixels
+     * @param sumY the sum of the y coordinates of the component's pixels
+     */
+    void accept(long size, long sumX, long sumY);
+
+    /**
+     * Builds the Group for a component, using integer division for the centroid.
+     */
+    static Group toGroup(long size, long sumX, long sumY) {
+        return new Group((int) size, new Coordinate((int) (sumX / size), (int) (sumY / size)));
+    }
+}
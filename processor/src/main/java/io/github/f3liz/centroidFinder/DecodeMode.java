@@ -0,0 +1,23 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * How VideoProcessor gets from one sampled frame to the next.
+ */
+public enum DecodeMode {
+    /** Picks SEEK or SEQUENTIAL from the video's keyframe interval and the sampling interval. */
+    AUTO,
+
+    /**
+     * Seeks to each sample time. FFmpeg lands on the keyframe before it and decodes forward from
+     * there, so every sample costs up to a whole GOP of decoding. This is the cheaper choice when
+     * samples are much further apart than keyframes.
+     */
+    SEEK,
+
+    /**
+     * Decodes every frame in order and keeps the first one at or after each sample time. Every
+     * frame is decoded exactly once, which is the cheaper choice when samples are closer together
+     * than keyframes.
+     */
+    SEQUENTIAL
+}
@@ -3,7 +3,9 @@ package io.github.f3liz.centroidFinder;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Stack;
+import java.util.function.Consumer;
 
 public class DfsBinaryGroupFinder implements BinaryGroupFinder {
 
@@ -64,26 +66,87 @@ public class DfsBinaryGroupFinder implements BinaryGroupFinder {
 
         if (image[0].length == 0) throw new IllegalArgumentException("Invalid array");
 
+        // Pack the array into a mask and search that instead
+        return findConnectedGroups(BinaryMask.fromArray(image));
+    }
+
+    /**
+     * Finds connected pixel groups of white pixels in a bit-packed binary mask.
+     * 
+     * Follows the same rules as findConnectedGroups(int[][]), but reads the packed bits
+     * directly and tracks visited pixels in a second mask instead of a boolean[][].
+     * 
+     * @param mask the binary mask to search
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
+
         List<Group> groups = new ArrayList<>();
-        boolean[][] visited = new boolean[image.length][image[0].length];
+        forEachGroup(mask, moments -> groups.add(moments.toGroup()));
+
+        // Sort the groups in descending order
+        groups.sort(Collections.reverseOrder());
+
+        return groups;
+    }
+
+    /**
+     * Finds the largest connected group of white pixels in a bit-packed binary mask.
+     * 
+     * Each group is compared with the largest one found so far as soon as its search
+     * finishes, so no list is kept and nothing is sorted.
+     * 
+     * @param mask the binary mask to search
+     * @return the largest group, or an empty Optional if the mask has no white pixels
+     */
+    @Override
+    public Optional<Group> findLargestGroup(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
 
-        // Iterate through each pixel in the image
-        for (int r = 0; r < image.length; r++) {
-            for (int c = 0; c < image[0].length; c++) {
+        LargestComponent largest = new LargestComponent();
+        forEachGroup(mask, moments -> largest.accept(moments.size, moments.sumX, moments.sumY));
+
+        return largest.result();
+    }
+
+    /**
+     * Finds connected groups of white pixels in a bit-packed binary mask and describes each one
+     * as a Blob.
+     * 
+     * The moments are summed while the search visits each pixel, so the pixels are never stored.
+     * 
+     * @param mask the binary mask to search
+     * @return the found blobs in descending order
+     */
+    @Override
+    public List<Blob> findBlobs(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
+
+        List<Blob> blobs = new ArrayList<>();
+        forEachGroup(mask, moments -> blobs.add(moments.toBlob()));
+
+        blobs.sort(Collections.reverseOrder());
+        return blobs;
+    }
+
+    // Searches the mask and hands every connected group's sums to the action, in scan order
+    private void forEachGroup(BinaryMask mask, Consumer<Moments> action) {
+        BinaryMask visited = new BinaryMask(mask.width(), mask.height());
+
+        // Iterate through each white pixel in the mask
+        for (int r = 0; r < mask.height(); r++) {
+            for (int c = mask.nextSetBit(r, 0); c >= 0; c = mask.nextSetBit(r, c + 1)) {
                 // Check for if the pixel is a part of a group
-                if (image[r][c] == 1 && !visited[r][c]) {
-                    List<int[]> pixelatedGroup = new ArrayList<>();
+                if (!visited.get(c, r)) {
+                    Moments moments = new Moments();
                     // Perform DFS to all connected pixels for this group
-                    findConnectedGroups(image, new int[] { r, c }, visited, pixelatedGroup);
-                    // Convert the list of pixels to a Group and adding to the result
-                    groups.add(createGroup(pixelatedGroup));
+                    findConnectedGroups(mask, new int[] { r, c }, visited, moments);
+                    action.accept(moments);
                 }
             }
         }
-        // Sort the groups in descending order
-        groups.sort(Collections.reverseOrder());
-
-        return groups;
     }
 
     // /**
@@ -120,7 +183,7 @@ public class DfsBinaryGroupFinder implements BinaryGroupFinder {
     // }
 
     // iterative approach (wrote in case our dfs didn't work later on for video processing)
-    private void findConnectedGroups(int[][] image, int[] location, boolean[][] visited, List<int[]> pixelatedGroup) {
+    private void findConnectedGroups(BinaryMask mask, int[] location, BinaryMask visited, Moments moments) {
         Stack<int[]> stack = new Stack<>();
 
         stack.push(location);
@@ -132,16 +195,16 @@ public class DfsBinaryGroupFinder implements BinaryGroupFinder {
             int curC = current[1];
 
             // Validate coordinates to ensure they are within the boundaries of image
-            if (curR < 0 || curR >= image.length || curC < 0 || curC >= image[0].length)
+            if (curR < 0 || curR >= mask.height() || curC < 0 || curC >= mask.width())
                 continue;
 
             // Skip if the current pixel has already been visited or is a '0'
-            if (visited[curR][curC] || image[curR][curC] == 0)
+            if (visited.get(curC, curR) || !mask.get(curC, curR))
                 continue;
 
             // Mark the pixel as visited and add it to the group
-            visited[curR][curC] = true;
-            pixelatedGroup.add(new int[]{curR, curC});
+            visited.set(curC, curR);
+            moments.add(curC, curR);
 
             for (int[] direction : directions) {
                 int newR = curR + direction[0];
@@ -153,25 +216,41 @@ public class DfsBinaryGroupFinder implements BinaryGroupFinder {
     }
 
     /**
-     * Converts a list of pixel coordinates into a Group. 
-     * The centroid is calculated by averaging the pixel coordinates.
-     * 
-     * @param pixelatedGroup a list of pixel coordinates that form a connected group
-     * @return a Group representing the connected group of pixels
+     * Running sums over the pixels of one group. Every sum is a long: a large blob on a 4K frame
+     * has coordinate sums well past Integer.MAX_VALUE, and its squared sums are larger still.
      */
-    private Group createGroup(List<int[]> pixelatedGroup) {
-        int totalXPixels = 0;
-        int totalYPixels = 0;
+    private static final class Moments {
+        long size;
+        long sumX;
+        long sumY;
+        long sumXX;
+        long sumXY;
+        long sumYY;
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
 
-        int size = pixelatedGroup.size();
+        void add(int x, int y) {
+            size++;
+            sumX += x;
+            sumY += y;
+            sumXX += (long) x * x;
+            sumXY += (long) x * y;
+            sumYY += (long) y * y;
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
 
-        // Calculate the total of the x and y coordinates for the centroid
-        for (int[] coord : pixelatedGroup) {
-            totalXPixels += coord[1];
-            totalYPixels += coord[0];
+        // The centroid is calculated by averaging the pixel coordinates with integer division
+        Group toGroup() {
+            return ComponentSink.toGroup(size, sumX, sumY);
         }
 
-        // Return a new Group with the size and the calculated centroid
-        return new Group(size, new Coordinate(totalXPixels / size, totalYPixels / size));
+        Blob toBlob() {
+            return Blob.of(size, sumX, sumY, sumXX, sumXY, sumYY, minX, minY, maxX, maxY);
+        }
     }
 }
@@ -0,0 +1,244 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Finds each target's largest group in a stream of frames from a fixed camera, re-classifying
+ * only the parts of each frame that changed.
+ *
+ * The frame is split into square tiles. Every pixel of a tile is compared with the pixels the
+ * tile was last classified from (Arrays.mismatch does this many pixels per instruction), and
+ * only tiles that differ are run through the targets' RowClassifiers again. Their bits are
+ * written into one mask per target that is kept from frame to frame, so every other tile keeps
+ * the bits it already had. When no tile changed at all, the previous frame's groups are returned
+ * without labeling anything.
+ *
+ * With a tolerance of 0 a tile counts as changed if any pixel differs at all, so the masks and
+ * groups are exactly those of a full scan of every frame. A higher tolerance lets each channel
+ * of a pixel drift by that much before the tile counts as changed. That skips tiles that only
+ * differ by compression noise, but pixels close to the threshold can then keep a stale
+ * classification. Unchanged tiles keep the pixels they were classified from, so the drift
+ * never adds up past the tolerance.
+ *
+ * Each frame is diffed against the pixels of the frame before it, so calls must not overlap and
+ * must follow the video's order (VideoProcessor.FrameSearch explains how the processor ensures it).
+ */
+final class DirtyTileGroupFinder {
+    private final List<RowClassifier> rowClassifiers;
+    private final int width;
+    private final int height;
+    private final int tileSize;
+    private final int tolerance;
+    private final int tilesAcross;
+
+    // The pixels every tile was last classified from, and the masks built from them
+    private final int[] classifiedPixels;
+    private final BinaryMask[] masks;
+    private final RunLengthBinaryGroupFinder labeler = new RunLengthBinaryGroupFinder();
+    private List<Optional<Group>> previousResults;
+
+    // One band of tile rows, the tiles of the band that changed, and a scratch mask per span width
+    private final int[][] band;
+    private final boolean[] dirty;
+    private final int[] span;
+    private final Map<Integer, BinaryMask> spanMasks = new HashMap<>();
+
+    private long frames;
+    private long reusedFrames;
+    private long tilesClassified;
+
+    /**
+     * @param rowClassifiers one classifier per target
+     * @param width the width of every frame
+     * @param height the height of every frame
+     * @param tileSize the width and height of a tile in pixels, at least 1
+     * @param tolerance how far each 8-bit channel of a pixel may change before its tile counts as changed, 0 to 255
+     */
+    DirtyTileGroupFinder(List<RowClassifier> rowClassifiers, int width, int height, int tileSize, int tolerance) {
+        if (rowClassifiers.isEmpty()) throw new IllegalArgumentException("At least one target is needed");
+        if (tileSize < 1) throw new IllegalArgumentException("Tile size must be at least 1");
+        if (tolerance < 0 || tolerance > 255) throw new IllegalArgumentException("Tile tolerance must be between 0 and 255");
+
+        this.rowClassifiers = List.copyOf(rowClassifiers);
+        this.width = width;
+        this.height = height;
+        this.tileSize = tileSize;
+        this.tolerance = tolerance;
+        this.tilesAcross = (width + tileSize - 1) / tileSize;
+
+        classifiedPixels = new int[width * height];
+        masks = new BinaryMask[rowClassifiers.size()];
+        for (int t = 0; t < masks.length; t++) {
+            masks[t] = new BinaryMask(width, height);
+        }
+
+        band = new int[Math.min(tileSize, height)][width];
+        dirty = new boolean[tilesAcross];
+        span = new int[width];
+    }
+
+    /**
+     * Finds the largest group of each target in the next frame.
+     *
+     * @param reader the pixels of the frame, which must have the size given to the constructor
+     * @return one result per target, in the order of the classifiers; empty where nothing matched
+     */
+    List<Optional<Group>> findLargestGroups(PixelRowReader reader) {
+        if (reader.width() != width || reader.height() != height) {
+            throw new IllegalArgumentException("Expected a " + width + "x" + height + " frame but got "
+                    + reader.width() + "x" + reader.height());
+        }
+
+        boolean firstFrame = previousResults == null;
+        boolean changed = firstFrame;
+        frames++;
+
+        for (int bandY = 0; bandY < height; bandY += tileSize) {
+            int rows = Math.min(tileSize, height - bandY);
+            for (int r = 0; r < rows; r++) {
+                reader.readRow(bandY + r, band[r]);
+            }
+
+            if (findDirtyTiles(bandY, rows, firstFrame)) {
+                changed = true;
+                classifyDirtyTiles(bandY, rows);
+            }
+        }
+
+        if (!changed) {
+            reusedFrames++;
+            return previousResults;
+        }
+
+        List<Optional<Group>> results = new ArrayList<>(masks.length);
+        for (BinaryMask mask : masks) {
+            results.add(labeler.findLargestGroup(mask));
+        }
+        previousResults = results;
+        return results;
+    }
+
+    /**
+     * @return how many frames have been searched so far
+     */
+    long frames() {
+        return frames;
+    }
+
+    /**
+     * @return how many frames had no changed tile, so the previous result was returned as it was
+     */
+    long reusedFrames() {
+        return reusedFrames;
+    }
+
+    /**
+     * @return how many tiles have been classified so far, counting every frame
+     */
+    long tilesClassified() {
+        return tilesClassified;
+    }
+
+    /**
+     * @return the number of tiles in each frame
+     */
+    long tilesPerFrame() {
+        return (long) tilesAcross * ((height + tileSize - 1) / tileSize);
+    }
+
+    // Marks the band's tiles whose pixels moved past the tolerance; true if there is any
+    private boolean findDirtyTiles(int bandY, int rows, boolean all) {
+        Arrays.fill(dirty, all);
+        if (all) return true;
+
+        boolean any = false;
+        for (int tile = 0; tile < tilesAcross; tile++) {
+            int startX = tile * tileSize;
+            int endX = Math.min(width, startX + tileSize);
+
+            for (int r = 0; r < rows && !dirty[tile]; r++) {
+                int offset = (bandY + r) * width;
+                dirty[tile] = tolerance == 0
+                        ? Arrays.mismatch(band[r], startX, endX, classifiedPixels, offset + startX, offset + endX) >= 0
+                        : differs(band[r], startX, endX, offset);
+            }
+            any |= dirty[tile];
+        }
+        return any;
+    }
+
+    // True if any channel of any pixel in [startX, endX) moved by more than the tolerance
+    private boolean differs(int[] row, int startX, int endX, int offset) {
+        for (int x = startX; x < endX; x++) {
+            int now = row[x];
+            int before = classifiedPixels[offset + x];
+            if (now == before) continue;
+
+            if (Math.abs(((now >> 16) & 0xFF) - ((before >> 16) & 0xFF)) > tolerance
+                    || Math.abs(((now >> 8) & 0xFF) - ((before >> 8) & 0xFF)) > tolerance
+                    || Math.abs((now & 0xFF) - (before & 0xFF)) > tolerance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Classifies each run of neighboring dirty tiles in the band and stores its pixels and bits
+    private void classifyDirtyTiles(int bandY, int rows) {
+        for (int tile = 0; tile < tilesAcross; ) {
+            if (!dirty[tile]) {
+                tile++;
+                continue;
+            }
+
+            int firstTile = tile;
+            while (tile < tilesAcross && dirty[tile]) tile++;
+            tilesClassified += tile - firstTile;
+
+            int startX = firstTile * tileSize;
+            int endX = Math.min(width, tile * tileSize);
+            int spanWidth = endX - startX;
+            BinaryMask spanMask = spanMasks.computeIfAbsent(spanWidth, w -> new BinaryMask(w, 1));
+
+            for (int r = 0; r < rows; r++) {
+                int y = bandY + r;
+                System.arraycopy(band[r], startX, classifiedPixels, y * width + startX, spanWidth);
+                System.arraycopy(band[r], startX, span, 0, spanWidth);
+
+                for (int t = 0; t < masks.length; t++) {
+                    rowClassifiers.get(t).classifyRow(span, spanMask, 0);
+                    copyBits(spanMask, masks[t], y, startX);
+                }
+            }
+        }
+    }
+
+    // Overwrites bits [toX, toX + source width) of row y of the target with row 0 of the source
+    private static void copyBits(BinaryMask source, BinaryMask target, int y, int toX) {
+        int spanWidth = source.width();
+        for (int done = 0; done < spanWidth; ) {
+            int x = toX + done;
+            int wordIndex = x >>> 6;
+            int bit = x & 63;
+            int count = Math.min(64 - bit, spanWidth - done);
+
+            // Take count bits of the source starting at bit done, which may straddle two words
+            int sourceWord = done >>> 6;
+            int sourceBit = done & 63;
+            long bits = source.word(0, sourceWord) >>> sourceBit;
+            if (sourceBit != 0 && sourceWord + 1 < source.wordsPerRow()) {
+                bits |= source.word(0, sourceWord + 1) << (64 - sourceBit);
+            }
+
+            long fieldMask = count == 64 ? -1L : ((1L << count) - 1) << bit;
+            long word = target.word(y, wordIndex);
+            target.setWord(y, wordIndex, (word & ~fieldMask) | ((bits << bit) & fieldMask));
+            done += count;
+        }
+    }
+}
@@ -14,9 +14,7 @@ import java.awt.image.BufferedImage;
  * The targetColor is represented as a 24-bit RGB integer in the form 0xRRGGBB.
  */
 public class DistanceImageBinarizer implements ImageBinarizer {
-    private final ColorDistanceFinder distanceFinder;
-    private final int threshold;
-    private final int targetColor;
+    private final RowClassifier rowClassifier;
 
     /**
      * Constructs a DistanceImageBinarizer using the given ColorDistanceFinder,
@@ -32,9 +30,31 @@ public class DistanceImageBinarizer implements ImageBinarizer {
      * @param threshold the distance threshold used to decide whether a pixel is white or black
      */
     public DistanceImageBinarizer(ColorDistanceFinder distanceFinder, int targetColor, int threshold) {
-        this.distanceFinder = distanceFinder;
-        this.targetColor = targetColor;
-        this.threshold = threshold;
+        this(ColorPredicate.withinDistance(distanceFinder, targetColor, threshold));
+    }
+
+    /**
+     * Constructs a DistanceImageBinarizer that marks a pixel white when the given predicate
+     * matches its color.
+     * 
+     * Pass a ColorLookupTable from ColorLookupTable.forDistance to get the same result as the
+     * distance-based constructor with a single table lookup per pixel.
+     *
+     * @param colorPredicate the test that decides whether a pixel's color is a match
+     */
+    public DistanceImageBinarizer(ColorPredicate colorPredicate) {
+        this(RowClassifier.of(colorPredicate));
+    }
+
+    /**
+     * Constructs a DistanceImageBinarizer that classifies a whole row of pixels at a time.
+     * 
+     * Pass RowClassifier.withinEuclideanDistance to use the Vector API when it is available.
+     *
+     * @param rowClassifier the test that writes each row's matches into the mask
+     */
+    public DistanceImageBinarizer(RowClassifier rowClassifier) {
+        this.rowClassifier = rowClassifier;
     }
 
     /**
@@ -42,34 +62,56 @@ public class DistanceImageBinarizer implements ImageBinarizer {
      * Each entry in the returned array is either 0 or 1, representing a black or white pixel.
      * A pixel is white (1) if its Euclidean distance to the target color is less than the threshold.
      *
+     * This is an adapter over toBinaryMask for callers that still expect an int[][].
+     *
      * @param image the input RGB BufferedImage
      * @return a 2D binary array where 1 represents white and 0 represents black
      */
     @Override
     public int[][] toBinaryArray(BufferedImage image) {
+        return toBinaryMask(image).toArray();
+    }
+
+    /**
+     * Converts the given BufferedImage into a bit-packed binary mask using color distance and a threshold.
+     * A pixel is white (set) if its Euclidean distance to the target color is less than the threshold.
+     *
+     * Pixels are read a row at a time with an RgbRasterReader, which reads TYPE_3BYTE_BGR and the
+     * TYPE_INT_* images straight from their data buffer and falls back to getRGB for anything else.
+     * The result is the same as testing image.getRGB(x, y) for every pixel.
+     *
+     * @param image the input RGB BufferedImage
+     * @return a mask where set bits represent white and clear bits represent black
+     */
+    @Override
+    public BinaryMask toBinaryMask(BufferedImage image) {
+        return toBinaryMask(RgbRasterReader.of(image));
+    }
+
+    /**
+     * Converts the rows of the given reader into a bit-packed binary mask. Use this with
+     * RgbRasterReader.of(Frame) to binarize a decoded frame without converting it to a BufferedImage.
+     *
+     * @param reader the pixels to convert
+     * @return a mask where set bits represent white and clear bits represent black
+     */
+    public BinaryMask toBinaryMask(PixelRowReader reader) {
         // Get the height and width of the image
-        int height = image.getHeight();
-        int width = image.getWidth();
+        int height = reader.height();
+        int width = reader.width();
 
-        // Create a 2D array to store the binary values of the image (0 for black, 1 for white)
-        int[][] binaryImage = new int[height][width]; 
+        // Create a mask to store the binary values of the image (clear for black, set for white)
+        BinaryMask binaryImage = new BinaryMask(width, height);
 
-        // Iterating through each pixel in the image
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                // Get the RGB value of the current pixel and masking out alpha
-                int currentRGB = image.getRGB(x, y) & 0xFFFFFF;
+        int[] row = new int[width];
 
-                // Calculate the Euclidean distance between the current pixel'sc color and the target color
-                double currentDistance = distanceFinder.distance(currentRGB, targetColor);
+        // Iterating through each row in the image
+        for (int y = 0; y < height; y++) {
+            // Get the RGB values of the current row with alpha already masked out
+            reader.readRow(y, row);
 
-                // Checks if the pixel's color is within the threshold, setting it to white (1), otherwise black (0)
-                if (threshold >= currentDistance) {
-                    binaryImage[y][x] = 1;
-                } else {
-                    binaryImage[y][x] = 0;
-                }
-            }
+            // Checks which pixels are within the threshold, setting them to white and leaving the rest black
+            rowClassifier.classifyRow(row, binaryImage, y);
         }
         return binaryImage;
     }
@@ -104,4 +146,24 @@ public class DistanceImageBinarizer implements ImageBinarizer {
         }
         return bufferedImage;
     }
-}
\ No newline at end of file
+
+    /**
+     * Converts a bit-packed binary mask into a BufferedImage.
+     * Black pixels are encoded as 0x000000 and white pixels as 0xFFFFFF.
+     *
+     * @param mask a mask where set bits represent white and clear bits represent black
+     * @return a BufferedImage where black and white pixels are represented with standard RGB hex values
+     */
+    @Override
+    public BufferedImage toBufferedImage(BinaryMask mask) {
+        // A new TYPE_INT_RGB image starts out black, so only the white pixels need to be written
+        BufferedImage bufferedImage = new BufferedImage(mask.width(), mask.height(), BufferedImage.TYPE_INT_RGB);
+
+        for (int y = 0; y < mask.height(); y++) {
+            for (int x = mask.nextSetBit(y, 0); x >= 0; x = mask.nextSetBit(y, x + 1)) {
+                bufferedImage.setRGB(x, y, 0xFFFFFF);
+            }
+        }
+        return bufferedImage;
+    }
+}
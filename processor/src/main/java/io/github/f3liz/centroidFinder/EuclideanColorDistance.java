@@ -21,14 +21,11 @@ public class EuclideanColorDistance implements ColorDistanceFinder {
      */
     @Override
     public double distance(int colorA, int colorB) {
-        // Converts each hex color into an integer array of their RGB components using convertHexToRGB
-        int[] colorARGB = convertHexToRGB(colorA);
-        int[] colorBRGB = convertHexToRGB(colorB);
-
         // Calculating the differences for each Red, Green, and Blue color component
-        int redDifference = colorARGB[0] - colorBRGB[0];
-        int greenDifference = colorARGB[1] - colorBRGB[1];
-        int blueDifference = colorARGB[2] - colorBRGB[2];
+        // (extracted in place, the same way as convertHexToRGB, so no arrays are allocated per pixel)
+        int redDifference = ((colorA >> 16) & 0xff) - ((colorB >> 16) & 0xff);
+        int greenDifference = ((colorA >> 8) & 0xff) - ((colorB >> 8) & 0xff);
+        int blueDifference = (colorA & 0xff) - (colorB & 0xff);
 
         // Calculate and return the Euclidean distance between the two colors
         return Math.sqrt((redDifference * redDifference) + (greenDifference * greenDifference) + (blueDifference * blueDifference));
@@ -53,4 +50,18 @@ public class EuclideanColorDistance implements ColorDistanceFinder {
         // Returns the integer array of RGB values
         return new int[] {red, green, blue};
     }
+
+    /**
+     * EuclideanColorDistance has no state, so every instance computes the same distance.
+     * This lets cached lookup tables be shared between instances.
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other != null && other.getClass() == EuclideanColorDistance.class;
+    }
+
+    @Override
+    public int hashCode() {
+        return EuclideanColorDistance.class.hashCode();
+    }
 }
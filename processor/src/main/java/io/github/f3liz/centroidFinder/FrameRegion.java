@@ -0,0 +1,104 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Rectangle;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+
+/**
+ * The part of each frame that is analyzed, and how its coordinates map back to the full frame.
+ *
+ * The scale factor is applied by the grabber: FFmpegFrameGrabber already runs every decoded
+ * frame through swscale to get BGR pixels, and asking it for a smaller image size makes that
+ * same conversion write the downscaled frame, so the full-size BGR frame is never made. The
+ * region of interest is then read in place out of the downscaled frame (see
+ * RgbRasterReader.of(Frame, Rectangle)), so pixels outside it are never classified.
+ *
+ * A coordinate inside the crop maps back to the full-frame pixel under the center of the
+ * downscaled pixel, clamped to the region of interest. Without scaling this is just the crop's
+ * offset added back.
+ */
+final class FrameRegion {
+    private final Rectangle roi;
+    private final int scaledWidth;
+    private final int scaledHeight;
+    private final double scaleX;
+    private final double scaleY;
+    private final Rectangle crop;
+
+    private FrameRegion(Rectangle roi, int scaledWidth, int scaledHeight, double scaleX, double scaleY, Rectangle crop) {
+        this.roi = roi;
+        this.scaledWidth = scaledWidth;
+        this.scaledHeight = scaledHeight;
+        this.scaleX = scaleX;
+        this.scaleY = scaleY;
+        this.crop = crop;
+    }
+
+    /**
+     * @param fullWidth the width of the decoded video
+     * @param fullHeight the height of the decoded video
+     * @param roi the region of interest in full-frame pixels, or null for the whole frame
+     * @param scale the factor to downscale the frame by, in (0, 1]
+     * @return the region to analyze
+     * @throws IllegalArgumentException if the region of interest does not lie inside the frame
+     */
+    static FrameRegion of(int fullWidth, int fullHeight, Rectangle roi, double scale) {
+        Rectangle frame = new Rectangle(0, 0, fullWidth, fullHeight);
+        if (roi == null) {
+            roi = frame;
+        } else if (roi.isEmpty() || !frame.contains(roi)) {
+            throw new IllegalArgumentException("Region of interest " + roi.x + "," + roi.y + "," + roi.width + ","
+                    + roi.height + " does not lie inside the " + fullWidth + "x" + fullHeight + " frame");
+        }
+
+        int scaledWidth = Math.max(1, (int) Math.round(fullWidth * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(fullHeight * scale));
+        double scaleX = (double) scaledWidth / fullWidth;
+        double scaleY = (double) scaledHeight / fullHeight;
+
+        // Every downscaled pixel that overlaps the region of interest
+        int startX = (int) Math.floor(roi.x * scaleX);
+        int startY = (int) Math.floor(roi.y * scaleY);
+        int endX = Math.min(scaledWidth, Math.max(startX + 1, (int) Math.ceil((roi.x + roi.width) * scaleX)));
+        int endY = Math.min(scaledHeight, Math.max(startY + 1, (int) Math.ceil((roi.y + roi.height) * scaleY)));
+
+        return new FrameRegion(new Rectangle(roi), scaledWidth, scaledHeight, scaleX, scaleY,
+                new Rectangle(startX, startY, endX - startX, endY - startY));
+    }
+
+    /**
+     * Asks the grabber for downscaled frames. Works on a grabber that has already been started.
+     */
+    void configure(FFmpegFrameGrabber grabber) {
+        if (isScaled()) {
+            grabber.setImageWidth(scaledWidth);
+            grabber.setImageHeight(scaledHeight);
+        }
+    }
+
+    /**
+     * @return true if the grabber is asked for frames smaller than the video
+     */
+    boolean isScaled() {
+        return scaleX != 1 || scaleY != 1;
+    }
+
+    /**
+     * @return the rectangle to read out of each downscaled frame
+     */
+    Rectangle crop() {
+        return new Rectangle(crop);
+    }
+
+    /**
+     * Maps a coordinate inside the crop back to full-frame pixels.
+     */
+    Coordinate toFullFrame(Coordinate coordinate) {
+        int x = (int) ((coordinate.x() + crop.x + 0.5) / scaleX);
+        int y = (int) ((coordinate.y() + crop.y + 0.5) / scaleY);
+
+        return new Coordinate(
+                Math.max(roi.x, Math.min(roi.x + roi.width - 1, x)),
+                Math.max(roi.y, Math.min(roi.y + roi.height - 1, y)));
+    }
+}
@@ -0,0 +1,16 @@
+package io.github.f3liz.centroidFinder;
+
+import org.bytedeco.javacv.Frame;
+
+/**
+ * A decoded frame picked for analysis, with the time it was sampled for and its own timestamp.
+ *
+ * The frame is a copy that belongs to the sample, so it stays valid after the grabber moves on
+ * and should be closed once it has been analyzed. Times are in microseconds.
+ *
+ * @param sampleTime the sample time the frame was picked for
+ * @param frameTime the frame's own presentation timestamp, at or after sampleTime
+ * @param frame the decoded frame
+ */
+record FrameSample(long sampleTime, long frameTime, Frame frame) {
+}
@@ -0,0 +1,239 @@
+package io.github.f3liz.centroidFinder;
+
+import static org.bytedeco.ffmpeg.global.avcodec.AV_PKT_FLAG_KEY;
+import static org.bytedeco.ffmpeg.global.avcodec.av_packet_unref;
+
+import org.bytedeco.ffmpeg.avcodec.AVPacket;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+
+/**
+ * Picks the frames to analyze from a started FFmpegFrameGrabber, following a SamplingPolicy.
+ *
+ * For each sample time the first frame whose timestamp is at or after it is used, whether the
+ * sampler seeks (DecodeMode.SEEK) or decodes every frame in order (DecodeMode.SEQUENTIAL). Both
+ * modes pick the same frames; they only differ in how much decoding it takes to get there.
+ * Sample times that would pick the frame of the previous sample again are skipped, and sampling
+ * stops at the end of the video.
+ *
+ * A sampler can also cover only the sample times in [startTime, endTime), so that a long video
+ * can be split into segments that are decoded by separate grabbers at the same time. The frame
+ * for the last sample time of a segment may lie past endTime, and may then be the same frame
+ * the next segment starts with; whoever merges the segments drops that repeat.
+ *
+ * choose and probeKeyframeInterval pick the cheaper mode for a video when the mode is AUTO.
+ */
+abstract class FrameSampler implements OrderedPipeline.Source<FrameSample> {
+    // Demuxer flush and decoder reset on every seek, measured in decoded frames (see FrameSamplerBenchmark)
+    static final double SEEK_OVERHEAD_FRAMES = 2.0;
+
+    // How many video packets probeKeyframeInterval reads at most; reading packets does not decode them
+    static final int PROBE_PACKETS = 600;
+
+    protected final FFmpegFrameGrabber grabber;
+    private final SamplingPolicy policy;
+    private final double frameRate;
+    private final long endTime;
+    private long index;
+    private long lastFrameTime = -1;
+
+    private FrameSampler(FFmpegFrameGrabber grabber, SamplingPolicy policy, long startTime, long endTime) {
+        this.grabber = grabber;
+        this.policy = policy;
+        this.frameRate = grabber.getFrameRate();
+        this.endTime = endTime;
+        this.index = firstSampleAtOrAfter(policy, frameRate, startTime);
+    }
+
+    /**
+     * Creates a sampler over a grabber that has already been started.
+     *
+     * @param grabber the grabber to read frames from
+     * @param mode SEEK or SEQUENTIAL; AUTO must be resolved with choose first
+     * @param policy the sample times
+     * @return a sampler that hands out a FrameSample per sampled frame
+     */
+    static FrameSampler create(FFmpegFrameGrabber grabber, DecodeMode mode, SamplingPolicy policy) {
+        return create(grabber, mode, policy, 0, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a sampler for the sample times in [startTime, endTime) over a grabber that has
+     * already been started. The grabber does not need to be positioned at startTime.
+     *
+     * @param grabber the grabber to read frames from
+     * @param mode SEEK or SEQUENTIAL; AUTO must be resolved with choose first
+     * @param policy the sample times
+     * @param startTime the first sample time to cover, in microseconds
+     * @param endTime the end of the range in microseconds, exclusive
+     * @return a sampler that hands out a FrameSample per sampled frame in the range
+     */
+    static FrameSampler create(FFmpegFrameGrabber grabber, DecodeMode mode, SamplingPolicy policy,
+            long startTime, long endTime) {
+        return switch (mode) {
+            case SEEK -> new Seeking(grabber, policy, startTime, endTime);
+            case SEQUENTIAL -> new Sequential(grabber, policy, startTime, endTime);
+            case AUTO -> throw new IllegalArgumentException("Resolve AUTO with FrameSampler.choose first");
+        };
+    }
+
+    /**
+     * @return the index of the first sample whose time is at or after the given time
+     */
+    static long firstSampleAtOrAfter(SamplingPolicy policy, double frameRate, long time) {
+        // Start from an estimate and walk to the exact index, since sample times are rounded
+        long k = Math.max(0, (long) (time / policy.interval(frameRate)) - 1);
+        while (policy.sampleTime(k, frameRate) < time) {
+            k++;
+        }
+        while (k > 0 && policy.sampleTime(k - 1, frameRate) >= time) {
+            k--;
+        }
+        return k;
+    }
+
+    /**
+     * Picks the mode that decodes fewer frames.
+     *
+     * Decoding in order costs the frames between two samples. A seek lands on the keyframe before
+     * the sample time and decodes forward, which is half a keyframe interval on average, plus the
+     * cost of the seek itself.
+     *
+     * @param frameRate the video's frame rate
+     * @param interval the average time between samples in microseconds (see SamplingPolicy.interval)
+     * @param keyframeInterval the number of frames from one keyframe to the next
+     * @return SEQUENTIAL or SEEK
+     */
+    static DecodeMode choose(double frameRate, double interval, int keyframeInterval) {
+        double framesPerSample = interval * frameRate / 1_000_000.0;
+        double framesPerSeek = keyframeInterval / 2.0 + SEEK_OVERHEAD_FRAMES;
+        return framesPerSample <= framesPerSeek ? DecodeMode.SEQUENTIAL : DecodeMode.SEEK;
+    }
+
+    /**
+     * Measures the distance between the first two keyframes of a video by reading its packets
+     * without decoding them.
+     *
+     * @param inputPath the video file
+     * @return the number of frames from the first keyframe to the second, or, when no second
+     *         keyframe shows up within PROBE_PACKETS video packets, the number of frames read
+     *         after the first one (the real interval is at least that long)
+     * @throws Exception if the video cannot be opened
+     */
+    static int probeKeyframeInterval(String inputPath) throws Exception {
+        try (FFmpegFrameGrabber probe = new FFmpegFrameGrabber(inputPath)) {
+            probe.start();
+
+            int videoPackets = 0;
+            int firstKeyframe = -1;
+            AVPacket packet;
+            while (videoPackets < PROBE_PACKETS && (packet = probe.grabPacket()) != null) {
+                boolean video = packet.stream_index() == probe.getVideoStream();
+                boolean keyframe = (packet.flags() & AV_PKT_FLAG_KEY) != 0;
+                av_packet_unref(packet);
+
+                if (!video) continue;
+                if (keyframe) {
+                    if (firstKeyframe >= 0) return videoPackets - firstKeyframe;
+                    firstKeyframe = videoPackets;
+                }
+                videoPackets++;
+            }
+            return videoPackets - Math.max(firstKeyframe, 0);
+        }
+    }
+
+    /**
+     * Moves on to the next sample time whose first frame at or after it has not been used yet.
+     * Every sample time up to the last used frame would pick that frame again.
+     *
+     * @return the sample time in microseconds, or -1 once the sample times reach the end of the range
+     */
+    protected long nextSampleTime() {
+        long sampleTime = policy.sampleTime(index++, frameRate);
+        while (sampleTime <= lastFrameTime) {
+            sampleTime = policy.sampleTime(index++, frameRate);
+        }
+        return sampleTime < endTime ? sampleTime : -1;
+    }
+
+    // The grabber reuses its frame on the next grab, so the sample gets a copy
+    protected FrameSample sample(long sampleTime, Frame frame) {
+        lastFrameTime = frame.timestamp;
+        // Raw decoder frames keep their planes in the decoder's AVFrame, which clone does not copy
+        Frame copy = grabber.getImageMode() == FrameGrabber.ImageMode.RAW ? YuvFrameReader.copy(frame) : frame.clone();
+        return new FrameSample(sampleTime, frame.timestamp, copy);
+    }
+
+    // Seeks to every sample time
+    private static final class Seeking extends FrameSampler {
+        private final long length;
+
+        Seeking(FFmpegFrameGrabber grabber, SamplingPolicy policy, long startTime, long endTime) {
+            super(grabber, policy, startTime, endTime);
+            this.length = grabber.getLengthInTime();
+        }
+
+        @Override
+        public FrameSample next() throws Exception {
+            long target = nextSampleTime();
+            if (target < 0) return null;
+
+            // No frame starts at or after the end of the video (the length is 0 when unknown)
+            if (length > 0 && target >= length) return null;
+
+            // Seek on the video stream; setTimestamp can land up to a second early on files with audio
+            grabber.setVideoTimestamp(target);
+            Frame frame = grabber.grabImage();
+
+            // The seek may stop a frame short, so decode forward to the first frame at or after the target
+            while (frame != null && frame.timestamp < target) {
+                frame = grabber.grabImage();
+            }
+
+            // Past the last frame, and so is every later sample time
+            if (frame == null) return null;
+
+            return sample(target, frame);
+        }
+    }
+
+    // Decodes every frame once, in order
+    private static final class Sequential extends FrameSampler {
+        // The last decoded frame, which may be the first frame at or after the next sample time
+        private Frame current;
+        private boolean ended = false;
+
+        Sequential(FFmpegFrameGrabber grabber, SamplingPolicy policy, long startTime, long endTime) {
+            super(grabber, policy, startTime, endTime);
+        }
+
+        @Override
+        public FrameSample next() throws Exception {
+            if (ended) return null;
+
+            long target = nextSampleTime();
+            if (target < 0) {
+                ended = true;
+                return null;
+            }
+
+            // A segment that starts part way in seeks once to the keyframe before its first sample
+            if (current == null && target > 0) {
+                grabber.setVideoTimestamp(target);
+            }
+
+            while (current == null || current.timestamp < target) {
+                current = grabber.grabImage();
+
+                // Every later sample time is past the end as well
+                if (current == null) {
+                    ended = true;
+                    return null;
+                }
+            }
+            return sample(target, current);
+        }
+    }
+}
@@ -10,6 +10,10 @@ import java.awt.image.BufferedImage;
  * 
  * This is to be used with the other centroid-finder classes to convert frames into BufferedImage's
  * to complete centroid finding algorithms.
+ *
+ * Java2DFrameConverter copies every pixel onto the heap. To only find groups in a frame, read it in
+ * place with RgbRasterReader.of(Frame) instead, and convert it only when the image itself is needed,
+ * e.g. to save or show it.
  */
 public class FrameToBufferedImageConverter {
     private final Java2DFrameConverter converter;
@@ -4,7 +4,8 @@ import java.awt.image.BufferedImage;
 
 /**
  * An interface for converting between RGB images and binary (black-and-white) images.
- * A binary image is represented as a 2D array of integers, where each pixel is either 0 (black) or 1 (white).
+ * A binary image is represented as a 2D array of integers, where each pixel is either 0 (black) or 1 (white),
+ * or as a bit-packed BinaryMask that stores one bit per pixel.
  */
 public interface ImageBinarizer {
 
@@ -28,4 +29,29 @@ public interface ImageBinarizer {
      * @return a BufferedImage representation of the binary array
      */
     public BufferedImage toBufferedImage(int[][] image);
+
+    /**
+     * Converts the given BufferedImage into a bit-packed binary mask.
+     * A set bit represents a white pixel and a clear bit represents a black pixel.
+     *
+     * The default implementation adapts toBinaryArray. Implementations should override it to
+     * write the mask directly and skip the int[][] allocation.
+     *
+     * @param image the input BufferedImage to convert
+     * @return a mask where set bits represent white and clear bits represent black
+     */
+    public default BinaryMask toBinaryMask(BufferedImage image) {
+        return BinaryMask.fromArray(toBinaryArray(image));
+    }
+
+    /**
+     * Converts a bit-packed binary mask into a BufferedImage.
+     * Black pixels are represented as x000000 and white pixels as xFFFFFF.
+     *
+     * @param mask a mask where set bits represent white and clear bits represent black
+     * @return a BufferedImage representation of the mask
+     */
+    public default BufferedImage toBufferedImage(BinaryMask mask) {
+        return toBufferedImage(mask.toArray());
+    }
 }
@@ -1,6 +1,7 @@
 package io.github.f3liz.centroidFinder;
 
 import java.util.List;
+import java.util.Optional;
 import java.awt.image.BufferedImage;
 
 public interface ImageGroupFinder {
@@ -12,4 +13,17 @@ public interface ImageGroupFinder {
      * @return connected groups in an image sorted in descending order
      */
     public List<Group> findConnectedGroups(BufferedImage image);
+
+    /**
+     * Finds only the largest connected group in an image.
+     * 
+     * The result is the first group findConnectedGroups would return, with ties broken by
+     * Group's compareTo method. The default implementation builds and sorts the full list.
+     * @param image
+     * @return the largest group, or an empty Optional if nothing in the image matched
+     */
+    public default Optional<Group> findLargestGroup(BufferedImage image) {
+        List<Group> groups = findConnectedGroups(image);
+        return groups.isEmpty() ? Optional.empty() : Optional.of(groups.get(0));
+    }
 }
@@ -0,0 +1,205 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads and writes the one-line JSON objects ProcessorDaemon speaks.
+ *
+ * Only flat objects are supported: the values are strings, numbers, true, false or null, and
+ * never objects or arrays. That is all the protocol needs, so the processor does not have to
+ * depend on a JSON library.
+ */
+final class JsonLine {
+    private final String text;
+    private int position;
+
+    private JsonLine(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses one flat JSON object.
+     *
+     * @param text the line to parse
+     * @return the object's members in the order they appear; numbers are Doubles
+     * @throws IllegalArgumentException if the line is not a flat JSON object
+     */
+    static Map<String, Object> parse(String text) {
+        JsonLine parser = new JsonLine(text);
+        Map<String, Object> members = parser.object();
+
+        parser.skipWhitespace();
+        if (parser.position != text.length()) throw parser.error("Unexpected text after the object");
+        return members;
+    }
+
+    /**
+     * Writes a flat JSON object on one line.
+     *
+     * @param members the names and values to write; values must be Strings, Numbers, Booleans or null
+     * @return the JSON text, without a line break
+     */
+    static String format(Map<String, ?> members) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, ?> member : members.entrySet()) {
+            if (json.length() > 1) json.append(',');
+            quote(json, member.getKey());
+            json.append(':');
+
+            Object value = member.getValue();
+            if (value == null || value instanceof Boolean) {
+                json.append(value);
+            } else if (value instanceof Double || value instanceof Float) {
+                json.append(String.format(Locale.ROOT, "%.3f", ((Number) value).doubleValue()));
+            } else if (value instanceof Number) {
+                json.append(value);
+            } else {
+                quote(json, value.toString());
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private Map<String, Object> object() {
+        skipWhitespace();
+        expect('{');
+
+        Map<String, Object> members = new LinkedHashMap<>();
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return members;
+        }
+
+        while (true) {
+            skipWhitespace();
+            String name = string();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            members.put(name, value());
+            skipWhitespace();
+
+            char next = next();
+            if (next == '}') return members;
+            if (next != ',') throw error("Expected , or }");
+        }
+    }
+
+    private Object value() {
+        char c = peek();
+        if (c == '"') return string();
+        if (c == '{' || c == '[') throw error("Nested objects and arrays are not supported");
+        if (text.startsWith("true", position)) {
+            position += 4;
+            return Boolean.TRUE;
+        }
+        if (text.startsWith("false", position)) {
+            position += 5;
+            return Boolean.FALSE;
+        }
+        if (text.startsWith("null", position)) {
+            position += 4;
+            return null;
+        }
+        return number();
+    }
+
+    private Double number() {
+        int start = position;
+        while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+            position++;
+        }
+        try {
+            return Double.valueOf(text.substring(start, position));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Expected a value");
+        }
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            char c = next();
+            if (c == '"') return value.toString();
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+
+            char escaped = next();
+            switch (escaped) {
+                case '"', '\\', '/' -> value.append(escaped);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length()) throw error("Incomplete \\u escape");
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("Invalid \\u escape");
+                    }
+                    position += 4;
+                }
+                default -> throw error("Invalid escape \\" + escaped);
+            }
+        }
+    }
+
+    private static void quote(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length()) throw error("Unexpected end of line");
+        return text.charAt(position);
+    }
+
+    private char next() {
+        char c = peek();
+        position++;
+        return c;
+    }
+
+    private void expect(char expected) {
+        if (next() != expected) {
+            position--;
+            throw error("Expected " + expected);
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at column " + (position + 1));
+    }
+}
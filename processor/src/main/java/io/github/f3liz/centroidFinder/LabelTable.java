@@ -0,0 +1,158 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A growable union-find table of component labels with running pixel counts and coordinate sums.
+ *
+ * Label 0 is reserved for background, so the first label handed out is 1. Sets are always
+ * merged under their smaller root, which keeps every parent at or below its child. That lets
+ * resolveGroups flatten the whole table in a single forward pass.
+ */
+final class LabelTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private long[] size = new long[INITIAL_CAPACITY];
+    private long[] sumX = new long[INITIAL_CAPACITY];
+    private long[] sumY = new long[INITIAL_CAPACITY];
+    private int count = 1;
+
+    /**
+     * @return a new label in a set of its own with no pixels
+     */
+    int newLabel() {
+        if (count == parent.length) {
+            int capacity = parent.length * 2;
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+            sumX = Arrays.copyOf(sumX, capacity);
+            sumY = Arrays.copyOf(sumY, capacity);
+        }
+        int label = count++;
+        parent[label] = label;
+        return label;
+    }
+
+    /**
+     * @return the number of labels handed out so far, plus one for the background label
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Adds a horizontal run of pixels on row y, from startX up to but not including endX, to a label.
+     */
+    void addRun(int label, int y, int startX, int endX) {
+        long length = endX - startX;
+        size[label] += length;
+        // Sum of startX..endX-1 in closed form
+        sumX[label] += (startX + endX - 1L) * length / 2;
+        sumY[label] += y * length;
+    }
+
+    /**
+     * Finds the root of a label, halving the path on the way up.
+     */
+    int find(int label) {
+        while (parent[label] != label) {
+            parent[label] = parent[parent[label]];
+            label = parent[label];
+        }
+        return label;
+    }
+
+    /**
+     * Merges the sets of two labels under the smaller root.
+     *
+     * @return the root of the merged set
+     */
+    int union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a == b) return a;
+        if (a < b) {
+            parent[b] = a;
+            return a;
+        }
+        parent[a] = b;
+        return b;
+    }
+
+    /**
+     * Adds precomputed statistics to a label.
+     */
+    void add(int label, long pixels, long xTotal, long yTotal) {
+        size[label] += pixels;
+        sumX[label] += xTotal;
+        sumY[label] += yTotal;
+    }
+
+    /**
+     * Points every label straight at its root and folds each label's statistics into the root.
+     * After this, root(label) is a single lookup. The table should not be used for labeling
+     * afterwards.
+     */
+    void flatten() {
+        // Every parent is smaller than its child, so it has already been flattened to a root
+        for (int label = 1; label < count; label++) {
+            int root = parent[parent[label]];
+            parent[label] = root;
+            if (root != label) {
+                size[root] += size[label];
+                sumX[root] += sumX[label];
+                sumY[root] += sumY[label];
+            }
+        }
+    }
+
+    /**
+     * @return the root of a label in a flattened table
+     */
+    int root(int label) {
+        return parent[label];
+    }
+
+    long size(int label) {
+        return size[label];
+    }
+
+    long sumX(int label) {
+        return sumX[label];
+    }
+
+    long sumY(int label) {
+        return sumY[label];
+    }
+
+    /**
+     * Folds every label into its root and hands each set's statistics to the sink once.
+     * The table should not be used for labeling afterwards.
+     */
+    void resolve(ComponentSink sink) {
+        flatten();
+
+        for (int label = 1; label < count; label++) {
+            if (parent[label] == label) {
+                sink.accept(size[label], sumX[label], sumY[label]);
+            }
+        }
+    }
+
+    /**
+     * Folds every label into its root and returns one Group per set, sorted in descending order.
+     * The table should not be used for labeling afterwards.
+     */
+    List<Group> resolveGroups() {
+        List<Group> groups = new ArrayList<>();
+        resolve((pixels, xTotal, yTotal) -> groups.add(ComponentSink.toGroup(pixels, xTotal, yTotal)));
+
+        // Sort the groups in descending order
+        groups.sort(Collections.reverseOrder());
+        return groups;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.Optional;
+
+/**
+ * A ComponentSink that keeps only the largest component it has been given.
+ *
+ * "Largest" follows Group.compareTo: the biggest size wins, then the biggest centroid x, then
+ * the biggest centroid y. That is the group a descending sort would put first. The best
+ * component is kept in primitive fields, so no Group is created until the result is asked for.
+ */
+final class LargestComponent implements ComponentSink {
+    private int size;
+    private int x;
+    private int y;
+
+    @Override
+    public void accept(long size, long sumX, long sumY) {
+        // Integer division, the same as ComponentSink.toGroup
+        offer((int) size, (int) (sumX / size), (int) (sumY / size));
+    }
+
+    /**
+     * Offers a component whose centroid has already been computed.
+     */
+    void offer(int size, int x, int y) {
+        // Nothing has been offered while size is 0, and every real component has at least one pixel
+        if (this.size == 0 || compare(size, x, y) > 0) {
+            this.size = size;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * @return the largest component offered so far, or empty if there were none
+     */
+    Optional<Group> result() {
+        if (size == 0) return Optional.empty();
+        return Optional.of(new Group(size, new Coordinate(x, y)));
+    }
+
+    // Same order as Group.compareTo, comparing the offered component with the current best
+    private int compare(int size, int x, int y) {
+        int comp = Integer.compare(size, this.size);
+        if (comp != 0) {
+            return comp;
+        }
+        comp = Integer.compare(x, this.x);
+        if (comp != 0) {
+            return comp;
+        }
+        return Integer.compare(y, this.y);
+    }
+}
@@ -0,0 +1,79 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A ComponentSink that keeps the largest components it has been given, up to a fixed count.
+ *
+ * The components are ordered the same way as LargestComponent orders them (Group.compareTo),
+ * and kept sorted in primitive arrays, best first. Most components of a noisy frame are single
+ * pixels, which are turned away by one comparison with the last kept component once the arrays
+ * are full.
+ */
+final class LargestComponents implements ComponentSink {
+    private final int[] sizes;
+    private final int[] xs;
+    private final int[] ys;
+    private int count;
+
+    /**
+     * @param capacity how many components to keep, at least 1
+     */
+    LargestComponents(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1");
+        sizes = new int[capacity];
+        xs = new int[capacity];
+        ys = new int[capacity];
+    }
+
+    @Override
+    public void accept(long size, long sumX, long sumY) {
+        // Integer division, the same as ComponentSink.toGroup
+        offer((int) size, (int) (sumX / size), (int) (sumY / size));
+    }
+
+    /**
+     * Offers a component whose centroid has already been computed.
+     */
+    void offer(int size, int x, int y) {
+        if (count == sizes.length && compare(size, x, y, count - 1) <= 0) return;
+
+        // Shift the smaller components down one place and insert this one in order
+        int i = Math.min(count, sizes.length - 1);
+        while (i > 0 && compare(size, x, y, i - 1) > 0) {
+            sizes[i] = sizes[i - 1];
+            xs[i] = xs[i - 1];
+            ys[i] = ys[i - 1];
+            i--;
+        }
+        sizes[i] = size;
+        xs[i] = x;
+        ys[i] = y;
+        if (count < sizes.length) count++;
+    }
+
+    /**
+     * @return the components kept so far, largest first
+     */
+    List<Group> result() {
+        List<Group> groups = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            groups.add(new Group(sizes[i], new Coordinate(xs[i], ys[i])));
+        }
+        return groups;
+    }
+
+    // Same order as Group.compareTo, comparing the offered component with the one kept at index
+    private int compare(int size, int x, int y, int index) {
+        int comp = Integer.compare(size, sizes[index]);
+        if (comp != 0) {
+            return comp;
+        }
+        comp = Integer.compare(x, xs[index]);
+        if (comp != 0) {
+            return comp;
+        }
+        return Integer.compare(y, ys[index]);
+    }
+}
@@ -0,0 +1,170 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * Predicts where a tracked target will be at a later sample time, from a constant-velocity model
+ * of its centroid.
+ *
+ * Each axis has its own Kalman filter over position and velocity. The first centroid only fixes
+ * the position. The second gives the velocity, and from then on each centroid corrects the
+ * prediction made for its time. Between samples the target may change speed: the acceleration
+ * setting is the standard deviation of that change in pixels per second squared, so the
+ * uncertainty of a prediction grows with the time to it. The further ahead and the less steady
+ * the motion, the wider the search window that SearchWindowTracker sizes from it.
+ *
+ * A centroid more than GATE standard deviations from where it was predicted is not the same
+ * motion any more (the target turned or sped up sharply, or something else took its place), so
+ * the filter starts over from the last two centroids.
+ */
+final class MotionPredictor {
+    /**
+     * Where a target is expected to be, and the standard deviation of that guess in pixels.
+     */
+    record Prediction(double x, double y, double sigma) {
+    }
+
+    // How many standard deviations a centroid may be from its prediction before the filter starts over
+    static final double GATE = 5;
+
+    private final double accelerationVariance;
+    private final double measurementVariance;
+    private final Axis x = new Axis();
+    private final Axis y = new Axis();
+    private int measurements;
+    private long lastTime;
+
+    /**
+     * @param acceleration the standard deviation of the target's change in speed, in pixels per second squared
+     * @param measurementVariance the variance of a measured centroid around the true position, in square pixels
+     */
+    MotionPredictor(double acceleration, double measurementVariance) {
+        if (!(acceleration >= 0)) throw new IllegalArgumentException("Acceleration must not be negative");
+        if (!(measurementVariance > 0)) throw new IllegalArgumentException("Measurement variance must be positive");
+        this.accelerationVariance = acceleration * acceleration;
+        this.measurementVariance = measurementVariance;
+    }
+
+    /**
+     * Predicts the position at the given time. Until there are two centroids the velocity is not
+     * known, so there is no prediction.
+     *
+     * @param time the sample time in microseconds, after the last centroid's
+     * @return the predicted position, or null if there is none yet
+     */
+    Prediction predict(long time) {
+        if (measurements < 2) return null;
+
+        double dt = seconds(time);
+        double variance = Math.max(x.variance(dt, accelerationVariance), y.variance(dt, accelerationVariance));
+        return new Prediction(x.position(dt), y.position(dt), Math.sqrt(variance));
+    }
+
+    /**
+     * Corrects the model with the centroid found at the given time.
+     *
+     * @param time the sample time in microseconds
+     * @param centroidX the centroid's x
+     * @param centroidY the centroid's y
+     */
+    void update(long time, double centroidX, double centroidY) {
+        double dt = seconds(time);
+        if (measurements >= 2 && dt > 0) {
+            x.step(dt, accelerationVariance);
+            y.step(dt, accelerationVariance);
+            if (x.isOutlier(centroidX, measurementVariance) || y.isOutlier(centroidY, measurementVariance)) {
+                x.restart(centroidX, dt, measurementVariance);
+                y.restart(centroidY, dt, measurementVariance);
+            } else {
+                x.correct(centroidX, measurementVariance);
+                y.correct(centroidY, measurementVariance);
+            }
+        } else if (measurements == 1 && dt > 0) {
+            x.start(centroidX, dt, measurementVariance);
+            y.start(centroidY, dt, measurementVariance);
+            measurements = 2;
+        } else {
+            // Samples at the same time cannot give a velocity, so keep the latest position only
+            measurements = 0;
+        }
+
+        if (measurements == 0) {
+            x.position = centroidX;
+            y.position = centroidY;
+            measurements = 1;
+        }
+        x.measured = centroidX;
+        y.measured = centroidY;
+        lastTime = time;
+    }
+
+    /**
+     * Forgets the target's motion, for when it was not found.
+     */
+    void reset() {
+        measurements = 0;
+    }
+
+    private double seconds(long time) {
+        return (time - lastTime) / 1_000_000.0;
+    }
+
+    // Position and velocity along one axis, with their covariance
+    private static final class Axis {
+        double position;
+        double velocity;
+        double positionVariance;
+        double covariance;
+        double velocityVariance;
+        double measured;
+
+        // Starts over from the last measured position and one dt seconds after it
+        void restart(double next, double dt, double r) {
+            position = measured;
+            start(next, dt, r);
+        }
+
+        // Starts from two positions dt seconds apart, the first being in position
+        void start(double next, double dt, double r) {
+            velocity = (next - position) / dt;
+            position = next;
+            positionVariance = r;
+            covariance = r / dt;
+            velocityVariance = 2 * r / (dt * dt);
+        }
+
+        double position(double dt) {
+            return position + velocity * dt;
+        }
+
+        // The position's variance dt seconds ahead, with the speed changing by a random
+        // acceleration of the given variance that holds for the whole step
+        double variance(double dt, double q) {
+            return positionVariance + 2 * dt * covariance + dt * dt * velocityVariance + q * dt * dt * dt * dt / 4;
+        }
+
+        void step(double dt, double q) {
+            double dt2 = dt * dt;
+            positionVariance = variance(dt, q);
+            covariance = covariance + dt * velocityVariance + q * dt2 * dt / 2;
+            velocityVariance = velocityVariance + q * dt2;
+            position += velocity * dt;
+        }
+
+        boolean isOutlier(double measured, double r) {
+            double innovation = measured - position;
+            return innovation * innovation > GATE * GATE * (positionVariance + r);
+        }
+
+        void correct(double measured, double r) {
+            double innovation = measured - position;
+            double s = positionVariance + r;
+            double positionGain = positionVariance / s;
+            double velocityGain = covariance / s;
+
+            position += positionGain * innovation;
+            velocity += velocityGain * innovation;
+            velocityVariance -= velocityGain * covariance;
+            positionVariance -= positionGain * positionVariance;
+            covariance -= positionGain * covariance;
+        }
+    }
+}
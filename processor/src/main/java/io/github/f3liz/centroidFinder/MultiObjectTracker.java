@@ -0,0 +1,223 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.Arrays;
+
+/**
+ * Gives the groups found in each sample persistent ids, by matching them to the tracks of the
+ * groups found before.
+ *
+ * A track is the last centroid of one object. Each sample's groups are matched to the tracks by
+ * centroid distance, and a group and a track are never matched when they are more than maxJump
+ * pixels apart. A matched group takes over its track's id, and every other group starts a new
+ * track with the next id. A track that gets no group keeps its id for keepLost more samples, so
+ * an animal that is hidden for a moment comes back under the same id, and is then dropped.
+ *
+ * Groups are matched either greedily or with the Hungarian method (see TrackAssignment). The
+ * Hungarian method is O(n^3) rather than O(n^2), but at the group counts a frame has (K = 50 is
+ * 125,000 steps) either is negligible next to labeling the frame. All state is kept in
+ * primitive arrays.
+ *
+ * update matches against whatever tracks the previous call left behind, so it is not thread-safe
+ * and the samples' order matters. VideoProcessor calls it from the pipeline's sink, which already
+ * receives the samples one by one in source order.
+ */
+final class MultiObjectTracker {
+    private final long maxJumpSquared;
+    private final int keepLost;
+    private final TrackAssignment assignment;
+
+    // The tracks, in the order they were started: id, last centroid, and samples since a group was matched to it
+    private int[] trackIds = new int[16];
+    private int[] trackXs = new int[16];
+    private int[] trackYs = new int[16];
+    private int[] trackMissed = new int[16];
+    private int tracks;
+    private int nextId = 1;
+
+    /**
+     * @param maxJump how far in pixels a group may be from a track's last centroid and still be matched to it, at least 0
+     * @param keepLost how many samples in a row a track may go without a group before it is dropped, at least 0
+     * @param assignment how groups are matched to tracks
+     */
+    MultiObjectTracker(double maxJump, int keepLost, TrackAssignment assignment) {
+        if (!(maxJump >= 0) || Double.isInfinite(maxJump)) throw new IllegalArgumentException("Max jump must be a non-negative number");
+        if (keepLost < 0) throw new IllegalArgumentException("Samples to keep a lost track must not be negative");
+        // No two centroids of a real frame are 10^6 pixels apart; the cap keeps the Hungarian costs from overflowing
+        this.maxJumpSquared = (long) Math.min(Math.floor(maxJump * maxJump), 1e12);
+        this.keepLost = keepLost;
+        this.assignment = assignment;
+    }
+
+    /**
+     * Matches the groups of the next sample to the tracks.
+     *
+     * @param count the number of groups
+     * @param xs the groups' centroid x values, at least count long
+     * @param ys the groups' centroid y values, at least count long
+     * @return the id of each group, in the same order
+     */
+    int[] update(int count, int[] xs, int[] ys) {
+        int[] trackOf = new int[count];
+        Arrays.fill(trackOf, -1);
+        if (count > 0 && tracks > 0) {
+            if (assignment == TrackAssignment.GREEDY) {
+                matchGreedy(count, xs, ys, trackOf);
+            } else {
+                matchHungarian(count, xs, ys, trackOf);
+            }
+        }
+
+        boolean[] matched = new boolean[tracks];
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            int track = trackOf[i];
+            if (track >= 0) {
+                matched[track] = true;
+                trackXs[track] = xs[i];
+                trackYs[track] = ys[i];
+                trackMissed[track] = 0;
+                ids[i] = trackIds[track];
+            }
+        }
+
+        // Age the tracks that got no group and drop those lost too long, keeping the rest in order
+        int kept = 0;
+        for (int track = 0; track < tracks; track++) {
+            if (!matched[track] && ++trackMissed[track] > keepLost) continue;
+            trackIds[kept] = trackIds[track];
+            trackXs[kept] = trackXs[track];
+            trackYs[kept] = trackYs[track];
+            trackMissed[kept] = trackMissed[track];
+            kept++;
+        }
+        tracks = kept;
+
+        // Every group that was not matched starts a track of its own
+        for (int i = 0; i < count; i++) {
+            if (trackOf[i] < 0) ids[i] = startTrack(xs[i], ys[i]);
+        }
+        return ids;
+    }
+
+    /**
+     * @return the number of tracks kept, including lost ones that have not been dropped yet
+     */
+    int trackCount() {
+        return tracks;
+    }
+
+    private int startTrack(int x, int y) {
+        if (tracks == trackIds.length) {
+            int capacity = 2 * tracks;
+            trackIds = Arrays.copyOf(trackIds, capacity);
+            trackXs = Arrays.copyOf(trackXs, capacity);
+            trackYs = Arrays.copyOf(trackYs, capacity);
+            trackMissed = Arrays.copyOf(trackMissed, capacity);
+        }
+        trackIds[tracks] = nextId++;
+        trackXs[tracks] = x;
+        trackYs[tracks] = y;
+        trackMissed[tracks] = 0;
+        tracks++;
+        return trackIds[tracks - 1];
+    }
+
+    private long distanceSquared(int track, int x, int y) {
+        long dx = (long) trackXs[track] - x;
+        long dy = (long) trackYs[track] - y;
+        return dx * dx + dy * dy;
+    }
+
+    // Each group in turn takes the nearest track within the max jump that no earlier group took
+    private void matchGreedy(int count, int[] xs, int[] ys, int[] trackOf) {
+        boolean[] taken = new boolean[tracks];
+        for (int i = 0; i < count; i++) {
+            int best = -1;
+            long bestDistance = 0;
+            for (int track = 0; track < tracks; track++) {
+                if (taken[track]) continue;
+                long distance = distanceSquared(track, xs[i], ys[i]);
+                // Ties go to the track that was started first
+                if (distance <= maxJumpSquared && (best < 0 || distance < bestDistance)) {
+                    best = track;
+                    bestDistance = distance;
+                }
+            }
+            if (best >= 0) {
+                taken[best] = true;
+                trackOf[i] = best;
+            }
+        }
+    }
+
+    // Kuhn-Munkres on a square matrix with groups as rows and tracks as columns, padded
+    // with free dummy rows or columns. A pair further apart than the max jump costs more than any
+    // set of allowed pairs together, so the fewest such pairs are used, and they are dropped after.
+    private void matchHungarian(int count, int[] xs, int[] ys, int[] trackOf) {
+        int n = Math.max(count, tracks);
+        long forbidden = (Math.min(count, tracks) + 1L) * (maxJumpSquared + 1);
+        long[] cost = new long[n * n];
+        for (int i = 0; i < count; i++) {
+            for (int track = 0; track < tracks; track++) {
+                long distance = distanceSquared(track, xs[i], ys[i]);
+                cost[i * n + track] = distance <= maxJumpSquared ? distance : forbidden;
+            }
+        }
+
+        // Kuhn-Munkres with row and column potentials; rows and columns are numbered from 1 and
+        // column 0 holds the row being added
+        long[] rowPotential = new long[n + 1];
+        long[] columnPotential = new long[n + 1];
+        int[] rowOfColumn = new int[n + 1];
+        int[] previousColumn = new int[n + 1];
+        long[] slack = new long[n + 1];
+        boolean[] used = new boolean[n + 1];
+
+        for (int row = 1; row <= n; row++) {
+            rowOfColumn[0] = row;
+            int column = 0;
+            Arrays.fill(slack, Long.MAX_VALUE);
+            Arrays.fill(used, false);
+
+            do {
+                used[column] = true;
+                int currentRow = rowOfColumn[column];
+                long delta = Long.MAX_VALUE;
+                int nextColumn = 0;
+                for (int j = 1; j <= n; j++) {
+                    if (used[j]) continue;
+                    long reduced = cost[(currentRow - 1) * n + (j - 1)] - rowPotential[currentRow] - columnPotential[j];
+                    if (reduced < slack[j]) {
+                        slack[j] = reduced;
+                        previousColumn[j] = column;
+                    }
+                    if (slack[j] < delta) {
+                        delta = slack[j];
+                        nextColumn = j;
+                    }
+                }
+                for (int j = 0; j <= n; j++) {
+                    if (used[j]) {
+                        rowPotential[rowOfColumn[j]] += delta;
+                        columnPotential[j] -= delta;
+                    } else {
+                        slack[j] -= delta;
+                    }
+                }
+                column = nextColumn;
+            } while (rowOfColumn[column] != 0);
+
+            // Flip the augmenting path back to its start
+            do {
+                int previous = previousColumn[column];
+                rowOfColumn[column] = rowOfColumn[previous];
+                column = previous;
+            } while (column != 0);
+        }
+
+        for (int j = 1; j <= tracks; j++) {
+            int i = rowOfColumn[j] - 1;
+            if (i < count && cost[i * n + (j - 1)] <= maxJumpSquared) trackOf[i] = j - 1;
+        }
+    }
+}
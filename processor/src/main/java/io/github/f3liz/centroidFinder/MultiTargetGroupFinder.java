@@ -0,0 +1,113 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds the largest group for several colors at once, reading each row of pixels only once.
+ *
+ * Running a StreamingImageGroupFinder per color would read every row of the frame once per
+ * color. Here each row is read a single time and, while it is still in cache, every target's
+ * RowClassifier marks its matches and feeds them to that target's own RunLabeler. The targets
+ * do not interact, so the result for each one is exactly what StreamingImageGroupFinder returns
+ * for it alone.
+ */
+public class MultiTargetGroupFinder {
+    private final List<RowClassifier> rowClassifiers;
+
+    /**
+     * @param rowClassifiers one classifier per target, in the order the results are wanted
+     */
+    public MultiTargetGroupFinder(List<RowClassifier> rowClassifiers) {
+        if (rowClassifiers.isEmpty()) throw new IllegalArgumentException("At least one target is needed");
+        this.rowClassifiers = List.copyOf(rowClassifiers);
+    }
+
+    /**
+     * @return the number of targets
+     */
+    public int targetCount() {
+        return rowClassifiers.size();
+    }
+
+    /**
+     * Finds the largest connected group of each target's matching pixels.
+     *
+     * @param reader the pixels to process
+     * @return one result per target, in the order of the classifiers; empty where nothing matched
+     */
+    public List<Optional<Group>> findLargestGroups(PixelRowReader reader) {
+        int targets = rowClassifiers.size();
+        LargestComponent[] largest = new LargestComponent[targets];
+        for (int t = 0; t < targets; t++) {
+            largest[t] = new LargestComponent();
+        }
+
+        label(reader, largest);
+
+        List<Optional<Group>> results = new ArrayList<>(targets);
+        for (int t = 0; t < targets; t++) {
+            results.add(largest[t].result());
+        }
+        return results;
+    }
+
+    /**
+     * Finds up to count of the largest connected groups of each target's matching pixels.
+     *
+     * @param reader the pixels to process
+     * @param count how many groups to keep per target, at least 1
+     * @return one list per target, in the order of the classifiers, each sorted in descending
+     *         order like BinaryGroupFinder.findConnectedGroups and cut off after count groups
+     */
+    public List<List<Group>> findLargestGroups(PixelRowReader reader, int count) {
+        int targets = rowClassifiers.size();
+        LargestComponents[] largest = new LargestComponents[targets];
+        for (int t = 0; t < targets; t++) {
+            largest[t] = new LargestComponents(count);
+        }
+
+        label(reader, largest);
+
+        List<List<Group>> results = new ArrayList<>(targets);
+        for (int t = 0; t < targets; t++) {
+            results.add(largest[t].result());
+        }
+        return results;
+    }
+
+    // Reads each row once and labels every target's matches in it, handing each target's components to its sink
+    private void label(PixelRowReader reader, ComponentSink[] sinks) {
+        int width = reader.width();
+        int targets = rowClassifiers.size();
+
+        RunLabeler[] labelers = new RunLabeler[targets];
+        for (int t = 0; t < targets; t++) {
+            labelers[t] = new RunLabeler(width, sinks[t]);
+        }
+
+        int[] row = new int[width];
+        BinaryMask rowMask = new BinaryMask(width, 1);
+
+        for (int y = 0; y < reader.height(); y++) {
+            reader.readRow(y, row);
+
+            for (int t = 0; t < targets; t++) {
+                rowClassifiers.get(t).classifyRow(row, rowMask, 0);
+
+                RunLabeler labeler = labelers[t];
+                for (int start = rowMask.nextSetBit(0, 0); start >= 0; ) {
+                    int end = rowMask.nextClearBit(0, start);
+                    labeler.addRun(start, end);
+                    start = rowMask.nextSetBit(0, end);
+                }
+                labeler.endRow();
+            }
+        }
+
+        for (RunLabeler labeler : labelers) {
+            labeler.finish();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A three-stage pipeline: one thread produces items in order, a fixed pool of workers analyzes
+ * them in any order, and the calling thread consumes the results in the original order.
+ *
+ * VideoProcessor uses it with a decoder as the source, frame analysis as the analyzer and the
+ * CSV writer as the sink. The writer keeps results that arrive early until every earlier result
+ * has been written, so the output is the same as running the three stages one after another.
+ *
+ * Items are bounded: the source may only run ahead of the sink by workers + queueDepth items,
+ * counting items waiting for a worker, items being analyzed and results waiting to be written.
+ * That caps the number of decoded frames held in memory.
+ *
+ * If any stage throws, the other stages are stopped and the first exception is rethrown from run.
+ * Items that were produced but never reached the analyzer are handed to a Discard, so items that
+ * hold resources (a FrameSample's native frame) can be released instead of leaking with the run.
+ *
+ * The workers are a fixed pool created for each run, or an executor shared with other pipelines.
+ * A shared executor is left running afterwards; only this run's unfinished tasks are cancelled.
+ *
+ * @param <T> the items produced by the source
+ * @param <R> the results produced by the analyzer
+ */
+public final class OrderedPipeline<T, R> {
+
+    /** Produces items one at a time on the pipeline's source thread. */
+    @FunctionalInterface
+    public interface Source<T> {
+        /**
+         * @return the next item, or null when there are no more
+         */
+        T next() throws Exception;
+    }
+
+    /** Turns an item into a result; called concurrently from the worker threads. */
+    @FunctionalInterface
+    public interface Analyzer<T, R> {
+        R analyze(T item) throws Exception;
+    }
+
+    /** Receives the results in source order on the thread that called run. */
+    @FunctionalInterface
+    public interface Sink<R> {
+        void accept(R result) throws Exception;
+    }
+
+    /** Releases an item that was produced but will never be analyzed because the run stopped early. */
+    @FunctionalInterface
+    public interface Discard<T> {
+        void discard(T item);
+    }
+
+    private final int workers;
+    private final int queueDepth;
+    private final ExecutorService sharedPool;
+
+    /**
+     * @param workers the number of analysis threads, at least 1
+     * @param queueDepth how many extra items may be in flight beyond one per worker, at least 0
+     */
+    public OrderedPipeline(int workers, int queueDepth) {
+        this(workers, queueDepth, null);
+    }
+
+    /**
+     * Creates a pipeline that analyzes its items on an executor shared with other pipelines.
+     *
+     * @param workers how many items this pipeline may hand to the executor at once, at least 1
+     * @param queueDepth how many extra items may be in flight beyond one per worker, at least 0
+     * @param sharedPool the executor to analyze on, or null for a pool of this pipeline's own
+     */
+    public OrderedPipeline(int workers, int queueDepth, ExecutorService sharedPool) {
+        if (workers < 1) throw new IllegalArgumentException("Worker count must be at least 1");
+        if (queueDepth < 0) throw new IllegalArgumentException("Queue depth must not be negative");
+
+        this.workers = workers;
+        this.queueDepth = queueDepth;
+        this.sharedPool = sharedPool;
+    }
+
+    /**
+     * Runs the pipeline until the source is exhausted and every result has been handed to the sink.
+     *
+     * @param source produces the items, on a thread of its own
+     * @param analyzer analyzes each item, on the worker threads
+     * @param sink consumes the results in source order, on the calling thread
+     * @throws Exception the first exception thrown by any of the stages
+     */
+    public void run(Source<T> source, Analyzer<T, R> analyzer, Sink<R> sink) throws Exception {
+        run(source, analyzer, sink, item -> { });
+    }
+
+    /**
+     * Runs the pipeline like run(source, analyzer, sink), and if a stage fails hands every item
+     * that the analyzer never started on to discard. Items the analyzer did start on are its own
+     * to release.
+     *
+     * @param source produces the items, on a thread of its own
+     * @param analyzer analyzes each item, on the worker threads
+     * @param sink consumes the results in source order, on the calling thread
+     * @param discard releases the items left over when the run stops early, on the calling thread
+     * @throws Exception the first exception thrown by any of the stages
+     */
+    public void run(Source<T> source, Analyzer<T, R> analyzer, Sink<R> sink, Discard<T> discard) throws Exception {
+        Semaphore inFlight = new Semaphore(workers + queueDepth);
+        BlockingQueue<Completion<R>> completions = new LinkedBlockingQueue<>();
+        ExecutorService pool = sharedPool != null ? sharedPool : Executors.newFixedThreadPool(workers, namedThreads("pipeline-worker-"));
+        Queue<Pending<T>> tasks = new ConcurrentLinkedQueue<>();
+
+        Thread producer = new Thread(() -> produce(source, analyzer, discard, pool, tasks, inFlight, completions), "pipeline-source");
+        producer.setDaemon(true);
+        producer.start();
+
+        try {
+            // Results that finished before an earlier one, keyed by their position in the source
+            Map<Long, R> waiting = new HashMap<>();
+            long nextIndex = 0;
+            long total = -1;
+
+            while (total < 0 || nextIndex < total) {
+                Completion<R> completion = completions.take();
+                if (completion.failure() != null) throw rethrow(completion.failure());
+
+                if (completion.index() < 0) {
+                    // The source is done and says how many items it produced
+                    total = completion.count();
+                } else {
+                    waiting.put(completion.index(), completion.result());
+                }
+
+                // Hand over every result that is now next in line
+                while (waiting.containsKey(nextIndex)) {
+                    sink.accept(waiting.remove(nextIndex));
+                    nextIndex++;
+                    inFlight.release();
+                }
+
+                // Drop finished tasks so a long run on a shared pool does not keep them all
+                tasks.removeIf(task -> task.future().isDone());
+            }
+        } finally {
+            // Wait for the producer first, so no task is submitted after the leftovers are collected
+            producer.interrupt();
+            producer.join();
+            if (sharedPool == null) {
+                pool.shutdownNow();
+            }
+            for (Pending<T> task : tasks) {
+                task.future().cancel(true);
+                // A task that never started still owns its item
+                if (task.claimed().compareAndSet(false, true)) {
+                    discard.discard(task.item());
+                }
+            }
+        }
+    }
+
+    // Pulls items from the source and hands each to the pool, waiting whenever too many are in flight
+    private void produce(Source<T> source, Analyzer<T, R> analyzer, Discard<T> discard, ExecutorService pool,
+            Queue<Pending<T>> tasks, Semaphore inFlight, BlockingQueue<Completion<R>> completions) {
+        long index = 0;
+        try {
+            while (true) {
+                inFlight.acquire();
+                T item = source.next();
+                if (item == null) break;
+
+                long itemIndex = index++;
+                // Whoever claims the item first, the worker or the cleanup in run, is responsible for it
+                AtomicBoolean claimed = new AtomicBoolean();
+                Future<?> future;
+                try {
+                    future = pool.submit(() -> {
+                        if (!claimed.compareAndSet(false, true)) return;
+                        try {
+                            completions.add(Completion.result(itemIndex, analyzer.analyze(item)));
+                        } catch (Throwable t) {
+                            completions.add(Completion.failure(t));
+                        }
+                    });
+                } catch (Throwable t) {
+                    // A shared pool that has been shut down will never run the item
+                    discard.discard(item);
+                    throw t;
+                }
+                tasks.add(new Pending<>(item, claimed, future));
+            }
+            completions.add(Completion.end(index));
+        } catch (InterruptedException e) {
+            // run is shutting down after another stage failed
+        } catch (Throwable t) {
+            completions.add(Completion.failure(t));
+        }
+    }
+
+    private static Exception rethrow(Throwable failure) {
+        if (failure instanceof Error error) throw error;
+        return (Exception) failure;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // An item handed to the pool, which is discarded by run if no worker claims it
+    private record Pending<T>(T item, AtomicBoolean claimed, Future<?> future) {
+    }
+
+    // A finished item, the end of the source (index -1) or a failure from any stage
+    private record Completion<R>(long index, R result, long count, Throwable failure) {
+        static <R> Completion<R> result(long index, R result) {
+            return new Completion<>(index, result, 0, null);
+        }
+
+        static <R> Completion<R> end(long count) {
+            return new Completion<>(-1, null, count, null);
+        }
+
+        static <R> Completion<R> failure(Throwable failure) {
+            return new Completion<>(-1, null, 0, failure);
+        }
+    }
+}
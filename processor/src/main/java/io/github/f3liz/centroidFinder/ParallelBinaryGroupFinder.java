@@ -0,0 +1,180 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * A BinaryGroupFinder that labels horizontal strips of the mask in parallel.
+ *
+ * The mask is split into strips of roughly equal height. Each strip is labeled on its own on a
+ * ForkJoinPool with the same union-find pass as UnionFindBinaryGroupFinder. The strips keep the
+ * labels of their first and last rows. Once every strip is done, the components of all strips go
+ * into one union-find table. Components on either side of a strip boundary are merged wherever a
+ * white pixel on the last row of one strip sits directly above a white pixel on the first row of
+ * the next.
+ *
+ * The result is identical to DfsBinaryGroupFinder for any number of strips.
+ */
+public class ParallelBinaryGroupFinder implements BinaryGroupFinder {
+    private final int strips;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a ParallelBinaryGroupFinder with one strip per available processor, running on
+     * the common ForkJoinPool.
+     */
+    public ParallelBinaryGroupFinder() {
+        this(Runtime.getRuntime().availableProcessors(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a ParallelBinaryGroupFinder.
+     *
+     * @param strips the number of strips to split each mask into; masks with fewer rows use one strip per row
+     * @param pool the pool the strips are labeled on
+     */
+    public ParallelBinaryGroupFinder(int strips, ForkJoinPool pool) {
+        if (strips < 1) throw new IllegalArgumentException("Strip count must be at least 1");
+
+        this.strips = strips;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds connected pixel groups of 1s in an integer array representing a binary image.
+     *
+     * Follows the same rules as DfsBinaryGroupFinder: pixels are connected vertically and
+     * horizontally, centroids use integer division, and the groups are sorted in DESCENDING order.
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(int[][] image) {
+        // Validation the image
+        if (image == null) throw new NullPointerException("Null array or subarray");
+        if (image.length == 0) throw new IllegalArgumentException("Invalid array");
+
+        // Validation for subarrays
+        for (int[] row : image) {
+            if (row == null) throw new NullPointerException("Null array or subarray");
+        }
+
+        if (image[0].length == 0) throw new IllegalArgumentException("Invalid array");
+
+        return findConnectedGroups(BinaryMask.fromArray(image));
+    }
+
+    /**
+     * Finds connected pixel groups of white pixels in a bit-packed binary mask.
+     *
+     * @param mask the binary mask to search
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
+
+        return merge(labelStrips(mask), mask.width()).resolveGroups();
+    }
+
+    /**
+     * Finds the largest connected group of white pixels in a bit-packed binary mask, keeping
+     * only the running maximum once the strips are merged.
+     *
+     * @param mask the binary mask to search
+     * @return the largest group, or an empty Optional if the mask has no white pixels
+     */
+    @Override
+    public Optional<Group> findLargestGroup(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
+
+        LargestComponent largest = new LargestComponent();
+        merge(labelStrips(mask), mask.width()).resolve(largest);
+        return largest.result();
+    }
+
+    // Labels every strip on the pool and waits for all of them
+    private List<Strip> labelStrips(BinaryMask mask) {
+        int height = mask.height();
+        int stripCount = Math.max(1, Math.min(strips, height));
+
+        List<ForkJoinTask<Strip>> tasks = new ArrayList<>(stripCount);
+        for (int i = 0; i < stripCount; i++) {
+            int startY = (int) ((long) height * i / stripCount);
+            int endY = (int) ((long) height * (i + 1) / stripCount);
+            tasks.add(pool.submit(() -> Strip.label(mask, startY, endY)));
+        }
+
+        List<Strip> labeled = new ArrayList<>(stripCount);
+        for (ForkJoinTask<Strip> task : tasks) {
+            labeled.add(task.join());
+        }
+
+        return labeled;
+    }
+
+    // Moves every strip's components into one table and joins them across boundaries
+    private static LabelTable merge(List<Strip> labeled, int width) {
+        LabelTable merged = new LabelTable();
+
+        for (Strip strip : labeled) {
+            strip.toMerged = new int[strip.labels.count()];
+            for (int label = 1; label < strip.labels.count(); label++) {
+                if (strip.labels.root(label) == label) {
+                    int mergedLabel = merged.newLabel();
+                    merged.add(mergedLabel, strip.labels.size(label), strip.labels.sumX(label), strip.labels.sumY(label));
+                    strip.toMerged[label] = mergedLabel;
+                }
+            }
+        }
+
+        for (int i = 1; i < labeled.size(); i++) {
+            Strip above = labeled.get(i - 1);
+            Strip below = labeled.get(i);
+
+            int lastAbove = 0;
+            int lastBelow = 0;
+            for (int x = 0; x < width; x++) {
+                int labelAbove = above.lastRow[x];
+                int labelBelow = below.firstRow[x];
+
+                // Neighboring pixels in the same pair of runs carry the same labels, so skip repeats
+                if (labelAbove == 0 || labelBelow == 0 || (labelAbove == lastAbove && labelBelow == lastBelow)) continue;
+
+                merged.union(above.mergedRoot(labelAbove), below.mergedRoot(labelBelow));
+                lastAbove = labelAbove;
+                lastBelow = labelBelow;
+            }
+        }
+
+        return merged;
+    }
+
+    // The labels of one strip and of its first and last rows
+    private static final class Strip {
+        private final LabelTable labels = new LabelTable();
+        private final int[] firstRow;
+        private final int[] lastRow;
+        private int[] toMerged;
+
+        private Strip(int width) {
+            firstRow = new int[width];
+            lastRow = new int[width];
+        }
+
+        static Strip label(BinaryMask mask, int startY, int endY) {
+            Strip strip = new Strip(mask.width());
+            UnionFindBinaryGroupFinder.labelRows(mask, startY, endY, strip.labels, strip.firstRow, strip.lastRow);
+            strip.labels.flatten();
+            return strip;
+        }
+
+        int mergedRoot(int label) {
+            return toMerged[labels.root(label)];
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * Reads an image one row of packed 24-bit pixel values at a time.
+ *
+ * RgbRasterReader gives 0xRRGGBB values. YuvFrameReader gives 0xYYUUVV values straight from a
+ * decoded YUV frame, which must then be tested with a classifier built for YUV colors (see
+ * ColorLookupTable.forYuvDistance).
+ */
+public interface PixelRowReader {
+    /**
+     * Reads one row of the image into the given array, one packed 24-bit value per pixel.
+     *
+     * @param y the row to read
+     * @param row the array to fill, at least as long as the image is wide
+     */
+    public void readRow(int y, int[] row);
+
+    public int width();
+
+    public int height();
+}
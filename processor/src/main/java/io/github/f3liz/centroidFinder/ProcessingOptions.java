@@ -0,0 +1,612 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * The optional settings for VideoProcessor, with the defaults used when an option is not given.
+ *
+ * On the command line each option follows the four required arguments of VideoSummaryApp:
+ *
+ *   --workers=N      number of frame analysis threads (default: one per available processor)
+ *   --queue-depth=N  decoded frames allowed to wait beyond one per worker (default: same as workers)
+ *   --simd           use the Vector API color test (needs --add-modules jdk.incubator.vector)
+ *   --decode=MODE    auto, seek or sequential; see DecodeMode (default: auto)
+ *   --sample-fps=F   analyze F frames per second of video (default: 1)
+ *   --sample-every=N analyze every Nth frame
+ *   --sample-all     analyze every frame
+ *   --segments=K     split the video into K time ranges that are decoded at the same time (default: 1)
+ *   --roi=X,Y,W,H    only analyze this rectangle of each frame, in full-frame pixels
+ *   --scale=F        have the decoder shrink each frame by F, in (0, 1], before it is analyzed (default: 1)
+ *   --yuv            test the decoder's YUV samples directly instead of converting frames to RGB
+ *   --target=RRGGBB,T also track this color with threshold T; may be given more than once
+ *   --track          search a window around each target's previous centroid (see SearchWindowTracker)
+ *   --track-margin=P how far a target may move between samples before its window grows (default: 48)
+ *   --track-rescan=N with --track, search the whole frame every N samples (default: 30)
+ *   --predict        with --track, center each window on where a motion model expects the target
+ *                    (see MotionPredictor)
+ *   --predict-accel=A with --predict, how fast a target's speed may change, in analyzed pixels per
+ *                    second squared (default: 200)
+ *   --objects=K      write the K largest groups of every sample with ids that follow each animal,
+ *                    as time,id,x,y,size rows (see MultiObjectTracker)
+ *   --min-size=S     with --objects, leave out groups of fewer than S pixels (default: 1)
+ *   --max-jump=P     with --objects, how far an animal may move between samples, in full-frame
+ *                    pixels, and keep its id (default: 100)
+ *   --match=M        with --objects, greedy or hungarian matching of groups to ids (default: greedy)
+ *   --keep-lost=N    with --objects, samples an animal may go unseen and keep its id (default: 5)
+ *   --incremental    only re-classify the tiles of each frame that changed (see DirtyTileGroupFinder)
+ *   --tile-size=N    with --incremental, the width and height of a tile in pixels (default: 32)
+ *   --tile-tolerance=T with --incremental, how far a pixel's channels may change before its tile
+ *                    is re-classified; 0 keeps the results exact (default: 0)
+ *
+ * Only one of the --sample options may be given. With more than one segment each segment has its
+ * own grabber and thread, which also analyzes that segment's frames, so --workers and
+ * --queue-depth are not used. With --track each frame's search depends on the one before it, so
+ * frames are analyzed one at a time and --workers is not used either; the same goes for
+ * --incremental, which compares each frame with the one before it. The two cannot be combined.
+ * --objects follows a single color, so it cannot be combined with --target, --track or
+ * --incremental; its frames are still labeled on all the workers, and only the matching of groups
+ * to ids is done in order.
+ *
+ * Centroids found with --roi or --scale are mapped back to full-frame pixels, so the CSV keeps the
+ * same coordinate system either way (see FrameRegion).
+ *
+ * A worker pool and a progress listener can only be set from code. BatchProcessor and
+ * ProcessorDaemon use the pool to let every video share one set of analysis threads, and the
+ * daemon uses the listener to stream each row back to its client.
+ */
+public final class ProcessingOptions {
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int queueDepth = -1;
+    private boolean vectorize = false;
+    private DecodeMode decodeMode = DecodeMode.AUTO;
+    private SamplingPolicy samplingPolicy = SamplingPolicy.targetFps(1);
+    private int segments = 1;
+    private Rectangle roi = null;
+    private double scale = 1;
+    private boolean yuv = false;
+    private final List<ColorTarget> targets = new ArrayList<>();
+    private boolean tracking = false;
+    private int trackMargin = 48;
+    private int trackRescan = 30;
+    private boolean predict = false;
+    private double predictAcceleration = 200;
+    private int objects = 0;
+    private int minSize = 1;
+    private double maxJump = 100;
+    private TrackAssignment assignment = TrackAssignment.GREEDY;
+    private int keepLost = 5;
+    private boolean incremental = false;
+    private int tileSize = 32;
+    private int tileTolerance = 0;
+    private ExecutorService workerPool = null;
+    private VideoProcessor.ProgressListener progressListener = null;
+
+    /**
+     * Parses command-line options of the form --name or --name=value.
+     *
+     * @param args the options, without the required positional arguments
+     * @return the parsed options
+     * @throws IllegalArgumentException if an option is unknown or its value is invalid
+     */
+    public static ProcessingOptions parse(String... args) {
+        ProcessingOptions options = new ProcessingOptions();
+        boolean sampling = false;
+
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            String value = equals < 0 ? null : arg.substring(equals + 1);
+
+            switch (name) {
+                case "--workers" -> options.workers(parseInt(name, value));
+                case "--queue-depth" -> options.queueDepth(parseInt(name, value));
+                case "--simd" -> options.vectorize(parseFlag(name, value));
+                case "--decode" -> options.decodeMode(parseDecodeMode(name, value));
+                case "--sample-fps" -> options.samplingPolicy(SamplingPolicy.targetFps(parseDouble(name, value)));
+                case "--sample-every" -> options.samplingPolicy(SamplingPolicy.everyNthFrame(parseInt(name, value)));
+                case "--sample-all" -> {
+                    parseFlag(name, value);
+                    options.samplingPolicy(SamplingPolicy.everyFrame());
+                }
+                case "--segments" -> options.segments(parseInt(name, value));
+                case "--roi" -> options.roi(parseRectangle(name, value));
+                case "--scale" -> options.scale(parseDouble(name, value));
+                case "--yuv" -> options.yuv(parseFlag(name, value));
+                case "--target" -> options.addTarget(parseTarget(name, value));
+                case "--track" -> options.tracking(parseFlag(name, value));
+                case "--track-margin" -> options.trackMargin(parseInt(name, value));
+                case "--track-rescan" -> options.trackRescan(parseInt(name, value));
+                case "--predict" -> options.predict(parseFlag(name, value));
+                case "--predict-accel" -> options.predictAcceleration(parseDouble(name, value));
+                case "--objects" -> options.objects(parseInt(name, value));
+                case "--min-size" -> options.minSize(parseInt(name, value));
+                case "--max-jump" -> options.maxJump(parseDouble(name, value));
+                case "--match" -> options.assignment(parseAssignment(name, value));
+                case "--keep-lost" -> options.keepLost(parseInt(name, value));
+                case "--incremental" -> options.incremental(parseFlag(name, value));
+                case "--tile-size" -> options.tileSize(parseInt(name, value));
+                case "--tile-tolerance" -> options.tileTolerance(parseInt(name, value));
+                default -> throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+
+            if (name.startsWith("--sample-")) {
+                if (sampling) throw new IllegalArgumentException("Only one --sample option may be given");
+                sampling = true;
+            }
+        }
+        return options;
+    }
+
+    public int workers() {
+        return workers;
+    }
+
+    /**
+     * @param workers the number of frame analysis threads, at least 1
+     * @return these options
+     */
+    public ProcessingOptions workers(int workers) {
+        if (workers < 1) throw new IllegalArgumentException("Worker count must be at least 1");
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * @return the queue depth, which defaults to the worker count
+     */
+    public int queueDepth() {
+        return queueDepth < 0 ? workers : queueDepth;
+    }
+
+    /**
+     * @param queueDepth how many decoded frames may wait beyond one per worker, at least 0
+     * @return these options
+     */
+    public ProcessingOptions queueDepth(int queueDepth) {
+        if (queueDepth < 0) throw new IllegalArgumentException("Queue depth must not be negative");
+        this.queueDepth = queueDepth;
+        return this;
+    }
+
+    public boolean vectorize() {
+        return vectorize;
+    }
+
+    /**
+     * @param vectorize whether to use the Vector API color test when it is available
+     * @return these options
+     */
+    public ProcessingOptions vectorize(boolean vectorize) {
+        this.vectorize = vectorize;
+        return this;
+    }
+
+    public DecodeMode decodeMode() {
+        return decodeMode;
+    }
+
+    /**
+     * @param decodeMode how to get from one sampled frame to the next
+     * @return these options
+     */
+    public ProcessingOptions decodeMode(DecodeMode decodeMode) {
+        if (decodeMode == null) throw new NullPointerException("Null decode mode");
+        this.decodeMode = decodeMode;
+        return this;
+    }
+
+    public SamplingPolicy samplingPolicy() {
+        return samplingPolicy;
+    }
+
+    /**
+     * @param samplingPolicy which frames of the video to analyze
+     * @return these options
+     */
+    public ProcessingOptions samplingPolicy(SamplingPolicy samplingPolicy) {
+        if (samplingPolicy == null) throw new NullPointerException("Null sampling policy");
+        this.samplingPolicy = samplingPolicy;
+        return this;
+    }
+
+    public int segments() {
+        return segments;
+    }
+
+    /**
+     * @param segments the number of time ranges to decode at the same time, at least 1
+     * @return these options
+     */
+    public ProcessingOptions segments(int segments) {
+        if (segments < 1) throw new IllegalArgumentException("Segment count must be at least 1");
+        this.segments = segments;
+        return this;
+    }
+
+    /**
+     * @return the region of interest in full-frame pixels, or null for the whole frame
+     */
+    public Rectangle roi() {
+        return roi == null ? null : new Rectangle(roi);
+    }
+
+    /**
+     * @param roi the only rectangle of each frame to analyze, in full-frame pixels, or null for the whole frame
+     * @return these options
+     */
+    public ProcessingOptions roi(Rectangle roi) {
+        if (roi != null && (roi.x < 0 || roi.y < 0 || roi.width < 1 || roi.height < 1)) {
+            throw new IllegalArgumentException("Region of interest needs a non-negative corner and a positive size");
+        }
+        this.roi = roi == null ? null : new Rectangle(roi);
+        return this;
+    }
+
+    public double scale() {
+        return scale;
+    }
+
+    /**
+     * @param scale the factor to shrink each frame by before it is analyzed, in (0, 1]
+     * @return these options
+     */
+    public ProcessingOptions scale(double scale) {
+        if (!(scale > 0 && scale <= 1)) throw new IllegalArgumentException("Scale must be greater than 0 and at most 1");
+        this.scale = scale;
+        return this;
+    }
+
+    public boolean yuv() {
+        return yuv;
+    }
+
+    /**
+     * @param yuv whether to test the decoder's YUV samples instead of converting frames to RGB
+     * @return these options
+     */
+    public ProcessingOptions yuv(boolean yuv) {
+        this.yuv = yuv;
+        return this;
+    }
+
+    /**
+     * @return the targets tracked besides the one given to VideoProcessor, in the order they were added
+     */
+    public List<ColorTarget> targets() {
+        return List.copyOf(targets);
+    }
+
+    /**
+     * @param target another color to track from the same decoded frames
+     * @return these options
+     */
+    public ProcessingOptions addTarget(ColorTarget target) {
+        if (target == null) throw new NullPointerException("Null target");
+        targets.add(target);
+        return this;
+    }
+
+    public boolean tracking() {
+        return tracking;
+    }
+
+    /**
+     * @param tracking whether to search a window around each target's previous centroid
+     * @return these options
+     */
+    public ProcessingOptions tracking(boolean tracking) {
+        this.tracking = tracking;
+        return this;
+    }
+
+    public int trackMargin() {
+        return trackMargin;
+    }
+
+    /**
+     * @param trackMargin how many pixels a target may move between samples before its window grows, at least 0
+     * @return these options
+     */
+    public ProcessingOptions trackMargin(int trackMargin) {
+        if (trackMargin < 0) throw new IllegalArgumentException("Track margin must not be negative");
+        this.trackMargin = trackMargin;
+        return this;
+    }
+
+    public int trackRescan() {
+        return trackRescan;
+    }
+
+    /**
+     * @param trackRescan search the whole frame every this many samples when tracking, at least 1
+     * @return these options
+     */
+    public ProcessingOptions trackRescan(int trackRescan) {
+        if (trackRescan < 1) throw new IllegalArgumentException("Track rescan interval must be at least 1");
+        this.trackRescan = trackRescan;
+        return this;
+    }
+
+    public boolean predict() {
+        return predict;
+    }
+
+    /**
+     * @param predict whether tracking places each window where a motion model expects the target
+     * @return these options
+     */
+    public ProcessingOptions predict(boolean predict) {
+        this.predict = predict;
+        return this;
+    }
+
+    public double predictAcceleration() {
+        return predictAcceleration;
+    }
+
+    /**
+     * @param predictAcceleration how fast a predicted target's speed may change, in analyzed
+     *                            pixels per second squared, at least 0
+     * @return these options
+     */
+    public ProcessingOptions predictAcceleration(double predictAcceleration) {
+        if (!(predictAcceleration >= 0) || Double.isInfinite(predictAcceleration)) {
+            throw new IllegalArgumentException("Prediction acceleration must be a non-negative number");
+        }
+        this.predictAcceleration = predictAcceleration;
+        return this;
+    }
+
+    /**
+     * @return how many groups per sample are written with ids, or 0 to write each target's largest group
+     */
+    public int objects() {
+        return objects;
+    }
+
+    /**
+     * @param objects how many of the largest groups of each sample to write with persistent ids,
+     *                or 0 to write each target's largest group as usual
+     * @return these options
+     */
+    public ProcessingOptions objects(int objects) {
+        if (objects < 0) throw new IllegalArgumentException("Object count must not be negative");
+        this.objects = objects;
+        return this;
+    }
+
+    public int minSize() {
+        return minSize;
+    }
+
+    /**
+     * @param minSize the fewest pixels a group needs to be written with an id, at least 1
+     * @return these options
+     */
+    public ProcessingOptions minSize(int minSize) {
+        if (minSize < 1) throw new IllegalArgumentException("Minimum group size must be at least 1");
+        this.minSize = minSize;
+        return this;
+    }
+
+    public double maxJump() {
+        return maxJump;
+    }
+
+    /**
+     * @param maxJump how far in full-frame pixels a group may be from where an id was last seen
+     *                and still get that id, at least 0
+     * @return these options
+     */
+    public ProcessingOptions maxJump(double maxJump) {
+        if (!(maxJump >= 0) || Double.isInfinite(maxJump)) throw new IllegalArgumentException("Max jump must be a non-negative number");
+        this.maxJump = maxJump;
+        return this;
+    }
+
+    public TrackAssignment assignment() {
+        return assignment;
+    }
+
+    /**
+     * @param assignment how the groups of each sample are matched to the ids of the samples before
+     * @return these options
+     */
+    public ProcessingOptions assignment(TrackAssignment assignment) {
+        if (assignment == null) throw new NullPointerException("Null assignment");
+        this.assignment = assignment;
+        return this;
+    }
+
+    public int keepLost() {
+        return keepLost;
+    }
+
+    /**
+     * @param keepLost how many samples in a row an id may go without a group before it is retired, at least 0
+     * @return these options
+     */
+    public ProcessingOptions keepLost(int keepLost) {
+        if (keepLost < 0) throw new IllegalArgumentException("Samples to keep a lost id must not be negative");
+        this.keepLost = keepLost;
+        return this;
+    }
+
+    public boolean incremental() {
+        return incremental;
+    }
+
+    /**
+     * @param incremental whether to only re-classify the tiles of each frame that changed since the last one
+     * @return these options
+     */
+    public ProcessingOptions incremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public int tileSize() {
+        return tileSize;
+    }
+
+    /**
+     * @param tileSize the width and height in pixels of the tiles compared with --incremental, at least 1
+     * @return these options
+     */
+    public ProcessingOptions tileSize(int tileSize) {
+        if (tileSize < 1) throw new IllegalArgumentException("Tile size must be at least 1");
+        this.tileSize = tileSize;
+        return this;
+    }
+
+    public int tileTolerance() {
+        return tileTolerance;
+    }
+
+    /**
+     * @param tileTolerance how far each channel of a pixel may change before its tile is
+     *                      re-classified with --incremental, 0 to 255; 0 keeps the results exact
+     * @return these options
+     */
+    public ProcessingOptions tileTolerance(int tileTolerance) {
+        if (tileTolerance < 0 || tileTolerance > 255) throw new IllegalArgumentException("Tile tolerance must be between 0 and 255");
+        this.tileTolerance = tileTolerance;
+        return this;
+    }
+
+    /**
+     * @return the executor frames are analyzed on, or null to start a pool for each video
+     */
+    public ExecutorService workerPool() {
+        return workerPool;
+    }
+
+    /**
+     * @param workerPool an executor shared with other videos, which is left running afterwards,
+     *                   or null to start a pool of workers threads for each video. Segments run
+     *                   on threads of their own, so a shared pool cannot be combined with --segments.
+     * @return these options
+     */
+    public ProcessingOptions workerPool(ExecutorService workerPool) {
+        this.workerPool = workerPool;
+        return this;
+    }
+
+    /**
+     * @return the listener told about every CSV row, or null
+     */
+    public VideoProcessor.ProgressListener progressListener() {
+        return progressListener;
+    }
+
+    /**
+     * @param progressListener the listener to tell about every CSV row as it is written, or null
+     * @return these options
+     */
+    public ProcessingOptions progressListener(VideoProcessor.ProgressListener progressListener) {
+        this.progressListener = progressListener;
+        return this;
+    }
+
+    /**
+     * @return a copy of these options that can be changed without affecting them
+     */
+    ProcessingOptions copy() {
+        ProcessingOptions copy = new ProcessingOptions();
+        copy.workers = workers;
+        copy.queueDepth = queueDepth;
+        copy.vectorize = vectorize;
+        copy.decodeMode = decodeMode;
+        copy.samplingPolicy = samplingPolicy;
+        copy.segments = segments;
+        copy.roi = roi == null ? null : new Rectangle(roi);
+        copy.scale = scale;
+        copy.yuv = yuv;
+        copy.targets.addAll(targets);
+        copy.tracking = tracking;
+        copy.trackMargin = trackMargin;
+        copy.trackRescan = trackRescan;
+        copy.predict = predict;
+        copy.predictAcceleration = predictAcceleration;
+        copy.objects = objects;
+        copy.minSize = minSize;
+        copy.maxJump = maxJump;
+        copy.assignment = assignment;
+        copy.keepLost = keepLost;
+        copy.incremental = incremental;
+        copy.tileSize = tileSize;
+        copy.tileTolerance = tileTolerance;
+        copy.workerPool = workerPool;
+        copy.progressListener = progressListener;
+        return copy;
+    }
+
+    private static ColorTarget parseTarget(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        String[] parts = value.split(",");
+        if (parts.length != 2) throw new IllegalArgumentException(name + " must be RRGGBB,THRESHOLD: " + value);
+
+        int color;
+        try {
+            color = Integer.parseInt(parts[0].trim(), 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " color must be a hex number: " + parts[0].trim());
+        }
+        return new ColorTarget(color, parseInt(name, parts[1].trim()));
+    }
+
+    private static Rectangle parseRectangle(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        String[] parts = value.split(",");
+        if (parts.length != 4) throw new IllegalArgumentException(name + " must be X,Y,W,H: " + value);
+
+        int[] numbers = new int[4];
+        for (int i = 0; i < 4; i++) {
+            numbers[i] = parseInt(name, parts[i].trim());
+        }
+        return new Rectangle(numbers[0], numbers[1], numbers[2], numbers[3]);
+    }
+
+    private static DecodeMode parseDecodeMode(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        for (DecodeMode mode : DecodeMode.values()) {
+            if (mode.name().equalsIgnoreCase(value)) return mode;
+        }
+        throw new IllegalArgumentException(name + " must be auto, seek or sequential: " + value);
+    }
+
+    private static TrackAssignment parseAssignment(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        for (TrackAssignment assignment : TrackAssignment.values()) {
+            if (assignment.name().equalsIgnoreCase(value)) return assignment;
+        }
+        throw new IllegalArgumentException(name + " must be greedy or hungarian: " + value);
+    }
+
+    private static double parseDouble(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+    }
+
+    // On/off flags are turned on by naming them; a value such as --simd=false would otherwise be ignored
+    private static boolean parseFlag(String name, String value) {
+        if (value != null) throw new IllegalArgumentException(name + " takes no value");
+        return true;
+    }
+
+    private static int parseInt(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+    }
+}
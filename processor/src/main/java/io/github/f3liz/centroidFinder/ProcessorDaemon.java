@@ -0,0 +1,352 @@
+package io.github.f3liz.centroidFinder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A resident processor that takes jobs over a local socket, so the JVM, the JIT-compiled code
+ * and the FFmpeg libraries stay warm between videos. For a clip of a few seconds most of a
+ * VideoSummaryApp run is start-up; a warm daemon skips all of it.
+ *
+ * The daemon listens on a Unix-domain socket (--socket=PATH) or on a loopback TCP port
+ * (--port=N, default 7878). Both sides send one JSON object per line. A client submits a job as
+ *
+ *   {"id":"job-1","input":"videos/a.mp4","output":"results/a.csv","targetColor":"2D0508","threshold":90,"options":"--sample-all"}
+ *
+ * where "id" is optional and "options" holds VideoSummaryApp options separated by spaces. The
+ * daemon answers on the same connection with
+ *
+ *   {"id":"job-1","event":"accepted"}
+ *   {"id":"job-1","event":"progress","time":1.001,"length":5.237,"x":412,"y":300}   one per CSV row
+ *   {"id":"job-1","event":"done","seconds":0.812}
+ *
+ * or {"id":"job-1","event":"error","message":"..."} in place of done. A job with extra --target
+ * options gets x1,y1,x2,y2,... in its progress events, named like its CSV columns. A line that is not a valid
+ * job gets an error event straight away. A connection may submit any number of jobs, and the
+ * events of different jobs may be interleaved.
+ *
+ * Like BatchProcessor, a fixed number of jobs run at the same time (--jobs=N, default 1) and
+ * all of them analyze frames on one shared worker pool (--workers=N). A job with --segments is
+ * refused, since each of its segments would decode and analyze on a thread of its own.
+ */
+public final class ProcessorDaemon implements AutoCloseable {
+    static final int DEFAULT_PORT = 7878;
+
+    private final ExecutorService jobPool;
+    private final ExecutorService workerPool;
+    private final AtomicLong jobCounter = new AtomicLong();
+    private ServerSocketChannel server;
+    private Path socketFile;
+
+    /**
+     * @param concurrentJobs how many jobs to process at the same time, at least 1
+     * @param workers the number of frame analysis threads shared by all jobs, at least 1
+     */
+    public ProcessorDaemon(int concurrentJobs, int workers) {
+        if (concurrentJobs < 1) throw new IllegalArgumentException("Job count must be at least 1");
+        if (workers < 1) throw new IllegalArgumentException("Worker count must be at least 1");
+
+        jobPool = Executors.newFixedThreadPool(concurrentJobs, namedThreads("daemon-job-"));
+        workerPool = Executors.newFixedThreadPool(workers, namedThreads("daemon-worker-"));
+    }
+
+    public static void main(String[] args) {
+        Path socket = null;
+        int port = DEFAULT_PORT;
+        int concurrentJobs = 1;
+        int workers = Runtime.getRuntime().availableProcessors();
+
+        try {
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                String name = equals < 0 ? arg : arg.substring(0, equals);
+                String value = equals < 0 ? null : arg.substring(equals + 1);
+
+                switch (name) {
+                    case "--socket" -> {
+                        if (value == null || value.isEmpty()) throw new IllegalArgumentException("--socket needs a path");
+                        socket = Path.of(value);
+                    }
+                    case "--port" -> port = parseInt(name, value);
+                    case "--jobs" -> concurrentJobs = parseInt(name, value);
+                    case "--workers" -> workers = parseInt(name, value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg);
+                }
+            }
+            if (concurrentJobs < 1) throw new IllegalArgumentException("Job count must be at least 1");
+            if (workers < 1) throw new IllegalArgumentException("Worker count must be at least 1");
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            printUsage();
+            return;
+        }
+
+        try (ProcessorDaemon daemon = new ProcessorDaemon(concurrentJobs, workers)) {
+            SocketAddress address = socket != null
+                    ? daemon.bind(socket)
+                    : daemon.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            System.out.println("Listening on " + address);
+            System.out.flush();
+
+            // Stopping the process with a signal still removes the socket file
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    daemon.close();
+                } catch (IOException e) {
+                    // Nothing more can be done while the JVM is exiting
+                }
+            }));
+
+            daemon.serve();
+        } catch (Exception e) {
+            System.out.println("Error running daemon: ");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Listens on a Unix-domain socket. A socket file left behind by an earlier daemon is replaced.
+     *
+     * @param path the socket file
+     * @return the address listened on
+     */
+    public SocketAddress bind(Path path) throws IOException {
+        Files.deleteIfExists(path);
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(path));
+        socketFile = path;
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Listens on a TCP address, which should be a loopback address since jobs name local files.
+     *
+     * @param address the address to listen on; port 0 picks a free port
+     * @return the address listened on
+     */
+    public SocketAddress bind(InetSocketAddress address) throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(address);
+        return server.getLocalAddress();
+    }
+
+    /**
+     * Accepts connections until the daemon is closed. Each connection is read on its own thread.
+     */
+    public void serve() throws IOException {
+        if (server == null) throw new IllegalStateException("Call bind first");
+
+        while (server.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (IOException e) {
+                if (!server.isOpen()) return;
+                throw e;
+            }
+
+            Thread reader = new Thread(() -> handle(channel), "daemon-connection");
+            reader.setDaemon(true);
+            reader.start();
+        }
+    }
+
+    /**
+     * Stops listening and stops any jobs that are still running.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (server != null) server.close();
+            if (socketFile != null) Files.deleteIfExists(socketFile);
+        } finally {
+            jobPool.shutdownNow();
+            workerPool.shutdownNow();
+        }
+    }
+
+    // Reads job lines from one client and sends each job's events back to it
+    private void handle(SocketChannel channel) {
+        try (channel;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8))) {
+            Events events = new Events(new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8));
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                submit(line, events);
+            }
+        } catch (IOException e) {
+            // The client went away; its running jobs still finish and write their CSVs
+        }
+    }
+
+    // Parses one job line and queues the job, or reports why it could not be queued
+    private void submit(String line, Events events) {
+        String id = null;
+        try {
+            Map<String, Object> request = JsonLine.parse(line);
+            id = request.get("id") == null ? "job-" + jobCounter.incrementAndGet() : text(request, "id");
+
+            String input = text(request, "input");
+            String output = text(request, "output");
+            int targetColor = parseColor(text(request, "targetColor"));
+            int threshold = wholeNumber(request, "threshold");
+            Object optionText = request.get("options");
+            String[] optionArgs = optionText == null || optionText.toString().isBlank()
+                    ? new String[0]
+                    : optionText.toString().trim().split("\\s+");
+
+            String jobId = id;
+            ProcessingOptions options = ProcessingOptions.parse(optionArgs)
+                    .workerPool(workerPool)
+                    .progressListener((frameTime, length, coordinates) -> events.send(jobId, "progress",
+                            progressFields(frameTime, length, coordinates)));
+            if (options.segments() > 1) {
+                throw new IllegalArgumentException("--segments cannot be used in the daemon, whose jobs share one worker pool");
+            }
+
+            // Acknowledge first, since a job that fails at once would otherwise report its error before this
+            events.send(id, "accepted");
+            jobPool.execute(() -> process(jobId, new VideoProcessor(input, output, targetColor, threshold, options), events));
+        } catch (IllegalArgumentException e) {
+            events.send(id, "error", "message", e.getMessage());
+        }
+    }
+
+    private static void process(String id, VideoProcessor processor, Events events) {
+        long start = System.nanoTime();
+        try {
+            processor.processVideo();
+            events.send(id, "done", "seconds", (System.nanoTime() - start) / 1e9);
+        } catch (Exception e) {
+            events.send(id, "error", "message", e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+    }
+
+    // The time and length in seconds, then the coordinates named like the CSV columns
+    private static Object[] progressFields(long frameTime, long length, int[] coordinates) {
+        List<String> names = VideoProcessor.columnNames(coordinates.length / 2);
+        Object[] fields = new Object[4 + 2 * coordinates.length];
+        fields[0] = "time";
+        fields[1] = frameTime / 1_000_000.0;
+        fields[2] = "length";
+        fields[3] = length / 1_000_000.0;
+        for (int i = 0; i < coordinates.length; i++) {
+            fields[4 + 2 * i] = names.get(i);
+            fields[5 + 2 * i] = coordinates[i];
+        }
+        return fields;
+    }
+
+    private static String text(Map<String, Object> request, String name) {
+        Object value = request.get(name);
+        if (value == null) throw new IllegalArgumentException("Missing \"" + name + "\"");
+        if (value instanceof Double number) {
+            // A color such as 123456 may be sent as a number
+            if (number == Math.rint(number)) return Long.toString(number.longValue());
+        }
+        String text = value.toString();
+        if (text.isEmpty()) throw new IllegalArgumentException("Empty \"" + name + "\"");
+        return text;
+    }
+
+    private static int wholeNumber(Map<String, Object> request, String name) {
+        String text = text(request, name);
+        try {
+            return Integer.parseInt(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"" + name + "\" must be a whole number: " + text);
+        }
+    }
+
+    private static int parseColor(String text) {
+        try {
+            return Integer.parseInt(text, 16);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"targetColor\" must be a hex number: " + text);
+        }
+    }
+
+    private static int parseInt(String name, String value) {
+        if (value == null) throw new IllegalArgumentException(name + " needs a value");
+        int number;
+        try {
+            number = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: " + value);
+        }
+        if (number < 0) throw new IllegalArgumentException(name + " must not be negative");
+        return number;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -cp videoprocessor.jar io.github.f3liz.centroidFinder.ProcessorDaemon [options]");
+        System.out.println("  --socket=PATH    listen on a Unix-domain socket at PATH");
+        System.out.println("  --port=N         listen on loopback TCP port N (default: " + DEFAULT_PORT + "; ignored with --socket)");
+        System.out.println("  --jobs=N         videos processed at the same time (default: 1)");
+        System.out.println("  --workers=N      frame analysis threads shared by all jobs (default: available processors)");
+    }
+
+    // Writes event lines to one client; jobs on several threads may send at once
+    private static final class Events {
+        private final Writer writer;
+        private boolean open = true;
+
+        Events(Writer writer) {
+            this.writer = writer;
+        }
+
+        synchronized void send(String id, String event, Object... fields) {
+            if (!open) return;
+
+            Map<String, Object> members = new LinkedHashMap<>();
+            if (id != null) members.put("id", id);
+            members.put("event", event);
+            for (int i = 0; i < fields.length; i += 2) {
+                members.put((String) fields[i], fields[i + 1]);
+            }
+
+            try {
+                writer.write(JsonLine.format(members));
+                writer.write('\n');
+                writer.flush();
+            } catch (IOException e) {
+                // The client disconnected, so there is no one left to tell
+                open = false;
+            }
+        }
+    }
+}
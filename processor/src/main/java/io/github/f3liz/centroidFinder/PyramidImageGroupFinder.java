@@ -0,0 +1,230 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An implementation of the ImageGroupFinder interface that finds candidate groups on a shrunken
+ * copy of the image and only binarizes and labels the regions around them at full resolution.
+ *
+ * The image is shrunk by taking one pixel from every factor x factor block, the one nearest its
+ * middle. The ImageBinarizer turns that small copy into a mask, and each cluster of white pixels
+ * in it becomes a region of the full image, one block wider on every side. Each region is then
+ * binarized at full size and handed to the BinaryGroupFinder, so the groups found in it have the
+ * exact sizes and centroids a full-resolution search gives them.
+ *
+ * A group may reach past the region it was found in, for example along a thin line that falls
+ * between the sampled pixels. Whenever a region's mask has a white pixel on an edge that is not
+ * also an edge of the image, the region grows and is searched again, and regions that come to
+ * overlap are merged. Every group that is returned is therefore complete and returned once.
+ *
+ * What the shrunken copy can miss are groups that contain no sampled pixel and do not lie in the
+ * region of one that does. A group is always found when it covers a factor x factor square, so a
+ * round blob about 1.5 times the factor across or larger is never missed; single noise pixels and
+ * thin slivers mostly are, which is usually what we want anyway. Use a factor of 4 or 8 on large
+ * frames where targets are much bigger than that.
+ */
+public class PyramidImageGroupFinder implements ImageGroupFinder {
+    private final ImageBinarizer binarizer;
+    private final BinaryGroupFinder groupFinder;
+    private final int factor;
+
+    /**
+     * Constructs a PyramidImageGroupFinder that searches a copy of each image shrunk by the given factor.
+     *
+     * @param binarizer the ImageBinarizer used for both the shrunken copy and the full-resolution regions
+     * @param groupFinder the BinaryGroupFinder used to find connected white pixel groups in each region
+     * @param factor how many pixels of the image each pixel of the shrunken copy stands for across, at least 1
+     */
+    public PyramidImageGroupFinder(ImageBinarizer binarizer, BinaryGroupFinder groupFinder, int factor) {
+        if (factor < 1) throw new IllegalArgumentException("Pyramid factor must be at least 1");
+        this.binarizer = binarizer;
+        this.groupFinder = groupFinder;
+        this.factor = factor;
+    }
+
+    /**
+     * Finds connected groups of white pixels around the candidates found on the shrunken copy.
+     *
+     * The groups that are found have the same sizes and centroids as in a full-resolution search,
+     * and are returned in descending order, according to the sorting defined in the Group record.
+     *
+     * @param image the input BufferedImage to process
+     * @return the groups found in the candidate regions of the image
+     */
+    @Override
+    public List<Group> findConnectedGroups(BufferedImage image) {
+        List<Group> groups = new ArrayList<>();
+        for (Region region : regions(image)) {
+            for (Group group : groupFinder.findConnectedGroups(region.mask())) {
+                groups.add(region.toImage(group));
+            }
+        }
+        groups.sort(Comparator.reverseOrder());
+        return groups;
+    }
+
+    /**
+     * Finds the largest connected group of white pixels around the candidates found on the shrunken copy.
+     *
+     * @param image the input BufferedImage to process
+     * @return the largest group found, or an empty Optional if no candidate was found
+     */
+    @Override
+    public Optional<Group> findLargestGroup(BufferedImage image) {
+        Group largest = null;
+        for (Region region : regions(image)) {
+            Optional<Group> group = groupFinder.findLargestGroup(region.mask());
+            if (group.isPresent()) {
+                Group found = region.toImage(group.get());
+                if (largest == null || found.compareTo(largest) > 0) largest = found;
+            }
+        }
+        return Optional.ofNullable(largest);
+    }
+
+    // A part of the image and its mask; the mask's groups have centroids relative to the part
+    private record Region(Rectangle bounds, BinaryMask mask) {
+        Group toImage(Group group) {
+            // Shifting every pixel by the same amount shifts the integer-division centroid by exactly that amount
+            Coordinate centroid = group.centroid();
+            return new Group(group.size(), new Coordinate(centroid.x() + bounds.x, centroid.y() + bounds.y));
+        }
+    }
+
+    // Binarizes the regions around the candidates, growing and merging them until no group crosses a region's edge
+    private List<Region> regions(BufferedImage image) {
+        List<Rectangle> rectangles = candidates(image);
+        Rectangle imageBounds = new Rectangle(0, 0, image.getWidth(), image.getHeight());
+
+        while (true) {
+            merge(rectangles);
+
+            List<Region> regions = new ArrayList<>(rectangles.size());
+            boolean grew = false;
+            for (int i = 0; i < rectangles.size(); i++) {
+                Rectangle bounds = rectangles.get(i);
+                BinaryMask mask = binarizer.toBinaryMask(image.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height));
+
+                if (crossesEdge(mask, bounds, imageBounds)) {
+                    Rectangle grown = new Rectangle(bounds);
+                    grown.grow(Math.max(factor, bounds.width / 2), Math.max(factor, bounds.height / 2));
+                    rectangles.set(i, grown.intersection(imageBounds));
+                    grew = true;
+                } else {
+                    regions.add(new Region(bounds, mask));
+                }
+            }
+            if (!grew) return regions;
+        }
+    }
+
+    // Finds the clusters of white pixels on the shrunken copy and maps them to full-resolution rectangles
+    private List<Rectangle> candidates(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        BinaryMask coarse = binarizer.toBinaryMask(shrink(image));
+        int coarseWidth = coarse.width();
+        int coarseHeight = coarse.height();
+
+        // Flood fill each cluster of 8-connected white pixels to find its bounding box
+        List<Rectangle> rectangles = new ArrayList<>();
+        boolean[] visited = new boolean[coarseWidth * coarseHeight];
+        int[] stack = new int[coarseWidth * coarseHeight];
+        for (int y = 0; y < coarseHeight; y++) {
+            for (int x = coarse.nextSetBit(y, 0); x >= 0; x = coarse.nextSetBit(y, x + 1)) {
+                if (visited[y * coarseWidth + x]) continue;
+
+                int minX = x, maxX = x, minY = y, maxY = y;
+                int size = 0;
+                stack[size++] = y * coarseWidth + x;
+                visited[y * coarseWidth + x] = true;
+                while (size > 0) {
+                    int cell = stack[--size];
+                    int cx = cell % coarseWidth;
+                    int cy = cell / coarseWidth;
+                    minX = Math.min(minX, cx);
+                    maxX = Math.max(maxX, cx);
+                    minY = Math.min(minY, cy);
+                    maxY = Math.max(maxY, cy);
+
+                    for (int ny = Math.max(0, cy - 1); ny <= Math.min(coarseHeight - 1, cy + 1); ny++) {
+                        for (int nx = Math.max(0, cx - 1); nx <= Math.min(coarseWidth - 1, cx + 1); nx++) {
+                            int neighbor = ny * coarseWidth + nx;
+                            if (!visited[neighbor] && coarse.get(nx, ny)) {
+                                visited[neighbor] = true;
+                                stack[size++] = neighbor;
+                            }
+                        }
+                    }
+                }
+
+                // One block of margin on every side covers the pixels between the samples
+                Rectangle bounds = new Rectangle((minX - 1) * factor, (minY - 1) * factor,
+                        (maxX - minX + 3) * factor, (maxY - minY + 3) * factor);
+                rectangles.add(bounds.intersection(new Rectangle(0, 0, width, height)));
+            }
+        }
+        return rectangles;
+    }
+
+    // Takes the pixel nearest the middle of every factor x factor block, reading only the rows that are sampled
+    private BufferedImage shrink(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int coarseWidth = (width + factor - 1) / factor;
+        int coarseHeight = (height + factor - 1) / factor;
+
+        BufferedImage small = new BufferedImage(coarseWidth, coarseHeight, BufferedImage.TYPE_INT_RGB);
+        int[] pixels = ((DataBufferInt) small.getRaster().getDataBuffer()).getData();
+        RgbRasterReader reader = RgbRasterReader.of(image);
+        int[] row = new int[width];
+
+        for (int cy = 0; cy < coarseHeight; cy++) {
+            reader.readRow(Math.min(cy * factor + factor / 2, height - 1), row);
+            for (int cx = 0; cx < coarseWidth; cx++) {
+                pixels[cy * coarseWidth + cx] = row[Math.min(cx * factor + factor / 2, width - 1)];
+            }
+        }
+        return small;
+    }
+
+    // True if the mask has a white pixel on an edge of the region that is inside the image
+    private static boolean crossesEdge(BinaryMask mask, Rectangle bounds, Rectangle imageBounds) {
+        int lastRow = mask.height() - 1;
+        int lastColumn = mask.width() - 1;
+        if (bounds.y > 0 && mask.nextSetBit(0, 0) >= 0) return true;
+        if (bounds.y + bounds.height < imageBounds.height && mask.nextSetBit(lastRow, 0) >= 0) return true;
+
+        boolean left = bounds.x > 0;
+        boolean right = bounds.x + bounds.width < imageBounds.width;
+        for (int y = 0; y < mask.height() && (left || right); y++) {
+            if ((left && mask.get(0, y)) || (right && mask.get(lastColumn, y))) return true;
+        }
+        return false;
+    }
+
+    // Replaces overlapping rectangles with their union until none overlap
+    private static void merge(List<Rectangle> rectangles) {
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            // A union may overlap rectangles that were already checked, so start over after each one
+            search:
+            for (int i = 0; i < rectangles.size(); i++) {
+                for (int j = i + 1; j < rectangles.size(); j++) {
+                    if (rectangles.get(i).intersects(rectangles.get(j))) {
+                        rectangles.set(i, rectangles.get(i).union(rectangles.remove(j)));
+                        merged = true;
+                        break search;
+                    }
+                }
+            }
+        }
+    }
+}
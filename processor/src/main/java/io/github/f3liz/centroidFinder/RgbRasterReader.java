@@ -0,0 +1,299 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.ByteBuffer;
+
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+
+/**
+ * Reads rows of pixels from a BufferedImage as 24-bit RGB integers (0xRRGGBB).
+ *
+ * BufferedImage.getRGB(x, y) goes through the image's ColorModel for every pixel. For the image
+ * types we actually see (TYPE_3BYTE_BGR from Java2DFrameConverter, and the TYPE_INT_* types used
+ * in tests and by ImageIO) the 8-bit sRGB components can be read straight out of the raster's
+ * DataBufferByte or DataBufferInt instead, in one linear pass per row. The byte order is taken
+ * from the raster's sample model, so sub-images returned by getSubimage are handled as well.
+ *
+ * For every other image type the reader falls back to getRGB, so the result always matches
+ * image.getRGB(x, y) & 0xFFFFFF exactly.
+ *
+ * A reader can also be created for a decoded JavaCV Frame. Frames from FFmpegFrameGrabber hold
+ * their pixels in a native ByteBuffer, which is then read in place, one row at a time, instead
+ * of being copied into a BufferedImage first.
+ */
+public abstract class RgbRasterReader implements PixelRowReader {
+    protected final int width;
+    protected final int height;
+
+    private RgbRasterReader(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Creates a reader for the given image, picking the direct raster path when the image type
+     * supports it.
+     *
+     * @param image the image to read
+     * @return a reader for the image's pixels
+     */
+    public static RgbRasterReader of(BufferedImage image) {
+        WritableRaster raster = image.getRaster();
+
+        switch (image.getType()) {
+            case BufferedImage.TYPE_3BYTE_BGR:
+            case BufferedImage.TYPE_4BYTE_ABGR:
+                if (raster.getDataBuffer() instanceof DataBufferByte
+                        && raster.getSampleModel() instanceof ComponentSampleModel) {
+                    return new InterleavedByteReader(image, raster);
+                }
+                break;
+            case BufferedImage.TYPE_INT_RGB:
+            case BufferedImage.TYPE_INT_ARGB:
+            case BufferedImage.TYPE_INT_BGR:
+                if (raster.getDataBuffer() instanceof DataBufferInt
+                        && raster.getSampleModel() instanceof SinglePixelPackedSampleModel) {
+                    return new PackedIntReader(image, raster);
+                }
+                break;
+            default:
+                break;
+        }
+        return new ColorModelReader(image);
+    }
+
+    /**
+     * Creates a reader for the pixels of a decoded frame.
+     *
+     * 8-bit frames with 3 or 4 channels are read straight from frame.image[0], honoring the
+     * frame's imageStride. The channels are taken in the same order Java2DFrameConverter uses:
+     * B, G, R for 3 channels (FFmpegFrameGrabber's default BGR24) and A, B, G, R for 4. Any other
+     * frame is converted with Java2DFrameConverter first. Either way the rows match the pixels of
+     * the BufferedImage that Java2DFrameConverter would make from the frame.
+     *
+     * The reader does not copy the frame, so the frame must stay open while the reader is used.
+     *
+     * @param frame the frame to read
+     * @return a reader for the frame's pixels
+     */
+    public static RgbRasterReader of(Frame frame) {
+        return of(frame, new Rectangle(0, 0, frame.imageWidth, frame.imageHeight));
+    }
+
+    /**
+     * Creates a reader for a rectangle of a decoded frame, like of(Frame) but with row 0 and
+     * column 0 at the rectangle's top-left corner. Pixels outside the rectangle are never read.
+     *
+     * @param frame the frame to read
+     * @param region the part of the frame to read
+     * @return a reader for the pixels inside the region
+     * @throws IllegalArgumentException if the region does not lie inside the frame
+     */
+    public static RgbRasterReader of(Frame frame, Rectangle region) {
+        if (region.isEmpty() || !new Rectangle(0, 0, frame.imageWidth, frame.imageHeight).contains(region)) {
+            throw new IllegalArgumentException("Region does not lie inside the frame");
+        }
+
+        if (frame.imageDepth == Frame.DEPTH_UBYTE
+                && (frame.imageChannels == 3 || frame.imageChannels == 4)
+                && frame.image != null && frame.image[0] instanceof ByteBuffer buffer) {
+            return new FrameBufferReader(frame, buffer, region);
+        }
+        // A new converter each time, since a converter reuses its image between calls
+        BufferedImage image = new Java2DFrameConverter().convert(frame);
+        return of(image.getSubimage(region.x, region.y, region.width, region.height));
+    }
+
+    /**
+     * @return true if this reader reads straight from the raster instead of going through getRGB
+     */
+    public abstract boolean isDirect();
+
+    /**
+     * Reads one row of the image into the given array as 0xRRGGBB values with no alpha.
+     *
+     * @param y the row to read
+     * @param rgbRow the array to fill, at least as long as the image is wide
+     */
+    @Override
+    public abstract void readRow(int y, int[] rgbRow);
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+
+    // TYPE_3BYTE_BGR and TYPE_4BYTE_ABGR: one byte per component, pixels stored back to back
+    private static final class InterleavedByteReader extends RgbRasterReader {
+        private final byte[] data;
+        private final int origin;
+        private final int scanlineStride;
+        private final int pixelStride;
+        private final int redOffset;
+        private final int greenOffset;
+        private final int blueOffset;
+
+        InterleavedByteReader(BufferedImage image, WritableRaster raster) {
+            super(image.getWidth(), image.getHeight());
+            ComponentSampleModel sampleModel = (ComponentSampleModel) raster.getSampleModel();
+            DataBufferByte buffer = (DataBufferByte) raster.getDataBuffer();
+            int[] bandOffsets = sampleModel.getBandOffsets();
+
+            this.data = buffer.getData();
+            this.scanlineStride = sampleModel.getScanlineStride();
+            this.pixelStride = sampleModel.getPixelStride();
+            this.origin = buffer.getOffset()
+                    - raster.getSampleModelTranslateY() * scanlineStride
+                    - raster.getSampleModelTranslateX() * pixelStride;
+
+            // Bands are always in R, G, B(, A) order no matter how the bytes are laid out
+            this.redOffset = bandOffsets[0];
+            this.greenOffset = bandOffsets[1];
+            this.blueOffset = bandOffsets[2];
+        }
+
+        @Override
+        public boolean isDirect() {
+            return true;
+        }
+
+        @Override
+        public void readRow(int y, int[] rgbRow) {
+            int index = origin + y * scanlineStride;
+            for (int x = 0; x < width; x++, index += pixelStride) {
+                rgbRow[x] = (data[index + redOffset] & 0xFF) << 16
+                        | (data[index + greenOffset] & 0xFF) << 8
+                        | (data[index + blueOffset] & 0xFF);
+            }
+        }
+    }
+
+    // TYPE_INT_RGB, TYPE_INT_ARGB and TYPE_INT_BGR: one int per pixel with 8-bit components
+    private static final class PackedIntReader extends RgbRasterReader {
+        private final int[] data;
+        private final int origin;
+        private final int scanlineStride;
+        private final int redShift;
+        private final int greenShift;
+        private final int blueShift;
+
+        PackedIntReader(BufferedImage image, WritableRaster raster) {
+            super(image.getWidth(), image.getHeight());
+            SinglePixelPackedSampleModel sampleModel = (SinglePixelPackedSampleModel) raster.getSampleModel();
+            DataBufferInt buffer = (DataBufferInt) raster.getDataBuffer();
+            int[] bitOffsets = sampleModel.getBitOffsets();
+
+            this.data = buffer.getData();
+            this.scanlineStride = sampleModel.getScanlineStride();
+            this.origin = buffer.getOffset()
+                    - raster.getSampleModelTranslateY() * scanlineStride
+                    - raster.getSampleModelTranslateX();
+
+            this.redShift = bitOffsets[0];
+            this.greenShift = bitOffsets[1];
+            this.blueShift = bitOffsets[2];
+        }
+
+        @Override
+        public boolean isDirect() {
+            return true;
+        }
+
+        @Override
+        public void readRow(int y, int[] rgbRow) {
+            int index = origin + y * scanlineStride;
+            if (redShift == 16 && greenShift == 8 && blueShift == 0) {
+                // RGB and ARGB already hold 0x(AA)RRGGBB, so the alpha just needs to be masked out
+                for (int x = 0; x < width; x++) {
+                    rgbRow[x] = data[index + x] & 0xFFFFFF;
+                }
+                return;
+            }
+            for (int x = 0; x < width; x++) {
+                int pixel = data[index + x];
+                rgbRow[x] = (pixel >>> redShift & 0xFF) << 16
+                        | (pixel >>> greenShift & 0xFF) << 8
+                        | (pixel >>> blueShift & 0xFF);
+            }
+        }
+    }
+
+    // 8-bit interleaved frames, read from the frame's own buffer
+    private static final class FrameBufferReader extends RgbRasterReader {
+        private final ByteBuffer buffer;
+        private final int origin;
+        private final int scanlineStride;
+        private final int pixelStride;
+        private final int redOffset;
+        private final int greenOffset;
+        private final int blueOffset;
+
+        // Bulk-reading a row is much faster than a bounds-checked get per byte from native memory
+        private final byte[] bytes;
+
+        FrameBufferReader(Frame frame, ByteBuffer buffer, Rectangle region) {
+            super(region.width, region.height);
+            this.buffer = buffer;
+            this.scanlineStride = frame.imageStride;
+            this.pixelStride = frame.imageChannels;
+            this.origin = region.y * scanlineStride + region.x * pixelStride;
+
+            // BGR, or ABGR with the alpha first
+            this.blueOffset = pixelStride - 3;
+            this.greenOffset = pixelStride - 2;
+            this.redOffset = pixelStride - 1;
+
+            this.bytes = new byte[width * pixelStride];
+        }
+
+        @Override
+        public boolean isDirect() {
+            return true;
+        }
+
+        @Override
+        public void readRow(int y, int[] rgbRow) {
+            buffer.get(origin + y * scanlineStride, bytes, 0, bytes.length);
+            for (int x = 0, index = 0; x < width; x++, index += pixelStride) {
+                rgbRow[x] = (bytes[index + redOffset] & 0xFF) << 16
+                        | (bytes[index + greenOffset] & 0xFF) << 8
+                        | (bytes[index + blueOffset] & 0xFF);
+            }
+        }
+    }
+
+    // Any other image type goes through the ColorModel, one row at a time
+    private static final class ColorModelReader extends RgbRasterReader {
+        private final BufferedImage image;
+
+        ColorModelReader(BufferedImage image) {
+            super(image.getWidth(), image.getHeight());
+            this.image = image;
+        }
+
+        @Override
+        public boolean isDirect() {
+            return false;
+        }
+
+        @Override
+        public void readRow(int y, int[] rgbRow) {
+            image.getRGB(0, y, width, 1, rgbRow, 0, width);
+            for (int x = 0; x < width; x++) {
+                rgbRow[x] &= 0xFFFFFF;
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * Classifies a whole row of pixels at once and writes the matches into a row of a BinaryMask.
+ *
+ * A ColorPredicate answers for one color at a time. Working on a full row lets an implementation
+ * test many pixels per instruction, which is what the Vector API classifier does. Rows are read
+ * with an RgbRasterReader, so every pixel is a 24-bit RGB integer (0xRRGGBB) with no alpha. A
+ * classifier built from a YUV table (ColorLookupTable.forYuvDistance) reads 0xYYUUVV rows from a
+ * YuvFrameReader instead.
+ */
+@FunctionalInterface
+public interface RowClassifier {
+    /** The incubator module that holds the Java Vector API. */
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Tests every pixel of a row and stores the result in row y of the mask. Every bit of the
+     * row is written, so the mask does not need to be cleared first.
+     *
+     * @param rgbRow the row's pixels as 0xRRGGBB values, at least mask.width() long
+     * @param mask the mask to write the matches into
+     * @param y the row of the mask to write
+     */
+    public void classifyRow(int[] rgbRow, BinaryMask mask, int y);
+
+    /**
+     * Returns a classifier that tests each pixel with the given predicate and packs the answers
+     * 64 pixels to a mask word.
+     *
+     * @param colorPredicate the test that decides whether a pixel's color is a match
+     * @return a classifier that applies the predicate to every pixel
+     */
+    public static RowClassifier of(ColorPredicate colorPredicate) {
+        return (rgbRow, mask, y) -> {
+            int width = mask.width();
+
+            // Pack 64 pixels at a time into one word of the mask
+            for (int wordIndex = 0, x = 0; x < width; wordIndex++) {
+                long bits = 0L;
+                int end = Math.min(width, x + 64);
+
+                for (int bit = 0; x < end; x++, bit++) {
+                    if (colorPredicate.matches(rgbRow[x])) {
+                        bits |= 1L << bit;
+                    }
+                }
+                mask.setWord(y, wordIndex, bits);
+            }
+        };
+    }
+
+    /**
+     * Returns a classifier that matches every color whose Euclidean distance to the target color
+     * is at most the threshold, the same rule as EuclideanColorDistance with ColorPredicate.withinDistance.
+     *
+     * When vectorize is true and the jdk.incubator.vector module has been added to the JVM
+     * (java --add-modules jdk.incubator.vector), the distances are computed with the Vector API
+     * several pixels at a time. Otherwise the classifier falls back to a cached ColorLookupTable.
+     * Both give exactly the same mask.
+     *
+     * @param targetColor the reference color as a 24-bit hex RGB integer (0xRRGGBB)
+     * @param threshold the largest distance that still counts as a match
+     * @param vectorize whether to use the Vector API when it is available
+     * @return a classifier for the given color and threshold
+     */
+    public static RowClassifier withinEuclideanDistance(int targetColor, int threshold, boolean vectorize) {
+        if (vectorize && isVectorApiAvailable()) {
+            return new VectorRowClassifier(targetColor, threshold);
+        }
+        return of(ColorLookupTable.forDistance(new EuclideanColorDistance(), targetColor, threshold));
+    }
+
+    /**
+     * @return true if the jdk.incubator.vector module is present in this JVM
+     */
+    public static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
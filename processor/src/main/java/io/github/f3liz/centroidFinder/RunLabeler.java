@@ -0,0 +1,330 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.function.Consumer;
+
+/**
+ * Streams connected components out of an image that is fed in one row of runs at a time.
+ *
+ * A run is a horizontal stretch of white pixels [start, end) on a single row. Runs on adjacent
+ * rows belong to the same component when they share at least one column. Each finished row is
+ * matched against the previous row with a two-pointer sweep, so the work per row is proportional
+ * to the number of runs on the two rows, not to the width.
+ *
+ * Only the previous row's runs and the statistics of the components that reach it are kept. A
+ * component that does not continue into the next row is complete and is handed to the sink
+ * right away. The labeler's memory is O(width) no matter how tall the image is or how many
+ * components it has.
+ *
+ * A labeler built with a blob sink also keeps the second-order sums (x*x, x*y, y*y) and the
+ * bounding box of each live component, each in closed form per run like the first-order sums, and
+ * reports finished components as Blobs. The plain ComponentSink mode skips that work.
+ *
+ * Usage: call addRun for each run of a row in increasing x order, then endRow, and repeat for
+ * every row. Call finish after the last row.
+ */
+final class RunLabeler {
+    private final ComponentSink sink;
+    private final Consumer<Blob> blobSink;
+
+    // Runs on the previous row and the live component each one belongs to
+    private int[] previousStart;
+    private int[] previousEnd;
+    private int[] previousComponent;
+    private int previousCount;
+
+    // Runs on the row being built
+    private int[] currentStart;
+    private int[] currentEnd;
+    private int[] currentComponent;
+    private int currentCount;
+
+    // Statistics of the live components, indexed by component
+    private long[] size;
+    private long[] sumX;
+    private long[] sumY;
+    private int liveCount;
+
+    // Moments and bounds of the live components, only allocated when reporting Blobs
+    private long[] sumXX;
+    private long[] sumXY;
+    private long[] sumYY;
+    private int[] minX;
+    private int[] maxX;
+    private int[] minY;
+
+    // Statistics being gathered for the next row's live components
+    private long[] nextSize;
+    private long[] nextSumX;
+    private long[] nextSumY;
+    private long[] nextSumXX;
+    private long[] nextSumXY;
+    private long[] nextSumYY;
+    private int[] nextMinX;
+    private int[] nextMaxX;
+    private int[] nextMinY;
+
+    // Per-row union-find over live components (0..liveCount-1) and new runs (liveCount..)
+    private final int[] parent;
+    private final int[] compactId;
+
+    private int y;
+
+    /**
+     * @param width the width of the rows that will be fed in
+     * @param sink receives every component once it is complete
+     */
+    RunLabeler(int width, ComponentSink sink) {
+        this(width, sink, null);
+    }
+
+    /**
+     * @param width the width of the rows that will be fed in
+     * @param blobSink receives every component as a Blob once it is complete
+     */
+    RunLabeler(int width, Consumer<Blob> blobSink) {
+        this(width, null, blobSink);
+    }
+
+    private RunLabeler(int width, ComponentSink sink, Consumer<Blob> blobSink) {
+        this.sink = sink;
+        this.blobSink = blobSink;
+
+        // Runs are separated by at least one black pixel
+        int maxRuns = (width + 1) / 2;
+
+        previousStart = new int[maxRuns];
+        previousEnd = new int[maxRuns];
+        previousComponent = new int[maxRuns];
+        currentStart = new int[maxRuns];
+        currentEnd = new int[maxRuns];
+        currentComponent = new int[maxRuns];
+
+        size = new long[maxRuns];
+        sumX = new long[maxRuns];
+        sumY = new long[maxRuns];
+        nextSize = new long[maxRuns];
+        nextSumX = new long[maxRuns];
+        nextSumY = new long[maxRuns];
+
+        if (blobSink != null) {
+            sumXX = new long[maxRuns];
+            sumXY = new long[maxRuns];
+            sumYY = new long[maxRuns];
+            minX = new int[maxRuns];
+            maxX = new int[maxRuns];
+            minY = new int[maxRuns];
+            nextSumXX = new long[maxRuns];
+            nextSumXY = new long[maxRuns];
+            nextSumYY = new long[maxRuns];
+            nextMinX = new int[maxRuns];
+            nextMaxX = new int[maxRuns];
+            nextMinY = new int[maxRuns];
+        }
+
+        parent = new int[2 * maxRuns];
+        compactId = new int[2 * maxRuns];
+    }
+
+    /**
+     * Adds a run of white pixels [start, end) to the current row. Runs must be added from left to
+     * right and must not touch each other.
+     */
+    void addRun(int start, int end) {
+        currentStart[currentCount] = start;
+        currentEnd[currentCount] = end;
+        currentCount++;
+    }
+
+    /**
+     * Connects the current row's runs to the previous row, emits every component that ended on
+     * the previous row, and moves on to the next row.
+     */
+    void endRow() {
+        int nodes = liveCount + currentCount;
+        for (int node = 0; node < nodes; node++) {
+            parent[node] = node;
+        }
+
+        // Sweep both rows from left to right and join runs that share a column
+        int i = 0;
+        int j = 0;
+        while (i < previousCount && j < currentCount) {
+            if (previousStart[i] < currentEnd[j] && currentStart[j] < previousEnd[i]) {
+                union(previousComponent[i], liveCount + j);
+            }
+            if (previousEnd[i] < currentEnd[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        // Every set that contains a run on this row becomes a live component for the next row
+        for (int node = 0; node < nodes; node++) {
+            compactId[node] = -1;
+        }
+
+        int nextLive = 0;
+        for (int run = 0; run < currentCount; run++) {
+            int root = find(liveCount + run);
+            if (compactId[root] < 0) {
+                compactId[root] = nextLive;
+                nextSize[nextLive] = 0;
+                nextSumX[nextLive] = 0;
+                nextSumY[nextLive] = 0;
+                if (blobSink != null) {
+                    nextSumXX[nextLive] = 0;
+                    nextSumXY[nextLive] = 0;
+                    nextSumYY[nextLive] = 0;
+                    nextMinX[nextLive] = Integer.MAX_VALUE;
+                    nextMaxX[nextLive] = Integer.MIN_VALUE;
+                    nextMinY[nextLive] = y;
+                }
+                nextLive++;
+            }
+            int component = compactId[root];
+            currentComponent[run] = component;
+
+            // Closed-form sums for the run's pixels: x goes from start to end - 1 on row y
+            long length = currentEnd[run] - currentStart[run];
+            long runSumX = (currentStart[run] + currentEnd[run] - 1L) * length / 2;
+            nextSize[component] += length;
+            nextSumX[component] += runSumX;
+            nextSumY[component] += y * length;
+
+            if (blobSink != null) {
+                // Sum of squares from start to end - 1 is the difference of two prefix sums
+                nextSumXX[component] += sumOfSquares(currentEnd[run] - 1L) - sumOfSquares(currentStart[run] - 1L);
+                nextSumXY[component] += y * runSumX;
+                nextSumYY[component] += (long) y * y * length;
+                nextMinX[component] = Math.min(nextMinX[component], currentStart[run]);
+                nextMaxX[component] = Math.max(nextMaxX[component], currentEnd[run] - 1);
+            }
+        }
+
+        // Old components either carry on into a live component or are finished
+        for (int component = 0; component < liveCount; component++) {
+            int next = compactId[find(component)];
+            if (next >= 0) {
+                nextSize[next] += size[component];
+                nextSumX[next] += sumX[component];
+                nextSumY[next] += sumY[component];
+                if (blobSink != null) {
+                    nextSumXX[next] += sumXX[component];
+                    nextSumXY[next] += sumXY[component];
+                    nextSumYY[next] += sumYY[component];
+                    nextMinX[next] = Math.min(nextMinX[next], minX[component]);
+                    nextMaxX[next] = Math.max(nextMaxX[next], maxX[component]);
+                    nextMinY[next] = Math.min(nextMinY[next], minY[component]);
+                }
+            } else {
+                // Old components are only ever joined through a run on this row, so this one is on its own
+                emit(component);
+            }
+        }
+
+        swapRows();
+        liveCount = nextLive;
+        y++;
+    }
+
+    /**
+     * Emits every component that is still live. Call once after the last row.
+     */
+    void finish() {
+        for (int component = 0; component < liveCount; component++) {
+            emit(component);
+        }
+        liveCount = 0;
+        previousCount = 0;
+    }
+
+    // Hands a finished live component to the sink. Its last row is always the one before y.
+    private void emit(int component) {
+        if (blobSink == null) {
+            sink.accept(size[component], sumX[component], sumY[component]);
+        } else {
+            blobSink.accept(Blob.of(size[component], sumX[component], sumY[component],
+                    sumXX[component], sumXY[component], sumYY[component],
+                    minX[component], minY[component], maxX[component], y - 1));
+        }
+    }
+
+    // 0^2 + 1^2 + ... + n^2, which is 0 for n = -1
+    private static long sumOfSquares(long n) {
+        return n * (n + 1) * (2 * n + 1) / 6;
+    }
+
+    private void swapRows() {
+        int[] swap = previousStart;
+        previousStart = currentStart;
+        currentStart = swap;
+
+        swap = previousEnd;
+        previousEnd = currentEnd;
+        currentEnd = swap;
+
+        swap = previousComponent;
+        previousComponent = currentComponent;
+        currentComponent = swap;
+
+        previousCount = currentCount;
+        currentCount = 0;
+
+        long[] stats = size;
+        size = nextSize;
+        nextSize = stats;
+
+        stats = sumX;
+        sumX = nextSumX;
+        nextSumX = stats;
+
+        stats = sumY;
+        sumY = nextSumY;
+        nextSumY = stats;
+
+        if (blobSink != null) {
+            stats = sumXX;
+            sumXX = nextSumXX;
+            nextSumXX = stats;
+
+            stats = sumXY;
+            sumXY = nextSumXY;
+            nextSumXY = stats;
+
+            stats = sumYY;
+            sumYY = nextSumYY;
+            nextSumYY = stats;
+
+            int[] bounds = minX;
+            minX = nextMinX;
+            nextMinX = bounds;
+
+            bounds = maxX;
+            maxX = nextMaxX;
+            nextMaxX = bounds;
+
+            bounds = minY;
+            minY = nextMinY;
+            nextMinY = bounds;
+        }
+    }
+
+    private int find(int node) {
+        while (parent[node] != node) {
+            parent[node] = parent[parent[node]];
+            node = parent[node];
+        }
+        return node;
+    }
+
+    private void union(int a, int b) {
+        a = find(a);
+        b = find(b);
+        if (a < b) {
+            parent[b] = a;
+        } else if (b < a) {
+            parent[a] = b;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * Decides which frames of a video VideoProcessor analyzes.
+ *
+ * Every policy is a rising series of sample times, and the frame used for a sample time is the
+ * first one at or after it (see FrameSampler). A frame is never used twice: when several sample
+ * times fall before the same frame, only the first of them produces a sample. Policies that
+ * count frames turn frame numbers into times with the video's nominal frame rate.
+ *
+ * The default is one sample per second, targetFps(1).
+ */
+public sealed interface SamplingPolicy {
+
+    /**
+     * @param k the index of the sample, starting at 0
+     * @param frameRate the video's nominal frame rate
+     * @return the time of sample k in microseconds
+     */
+    public long sampleTime(long k, double frameRate);
+
+    /**
+     * @param frameRate the video's nominal frame rate
+     * @return the average time between two samples in microseconds
+     */
+    public double interval(double frameRate);
+
+    /**
+     * Samples at a fixed rate, independent of the video's frame rate. A rate above the frame rate
+     * gives every frame once.
+     *
+     * @param fps the number of samples per second, greater than 0
+     * @return the policy
+     */
+    public static SamplingPolicy targetFps(double fps) {
+        return new TargetFps(fps);
+    }
+
+    /**
+     * Samples frame 0, frame n, frame 2n and so on.
+     *
+     * @param n the number of frames from one sample to the next, at least 1
+     * @return the policy
+     */
+    public static SamplingPolicy everyNthFrame(int n) {
+        return new EveryNthFrame(n);
+    }
+
+    /**
+     * @return a policy that samples every frame of the video
+     */
+    public static SamplingPolicy everyFrame() {
+        return new EveryNthFrame(1);
+    }
+
+    /**
+     * Samples at fps samples per second, at k / fps seconds.
+     */
+    public record TargetFps(double fps) implements SamplingPolicy {
+        public TargetFps {
+            if (!(fps > 0) || Double.isInfinite(fps)) throw new IllegalArgumentException("Sample rate must be a positive number");
+        }
+
+        @Override
+        public long sampleTime(long k, double frameRate) {
+            return Math.round(k * 1_000_000.0 / fps);
+        }
+
+        @Override
+        public double interval(double frameRate) {
+            return 1_000_000.0 / fps;
+        }
+    }
+
+    /**
+     * Samples every nth frame.
+     */
+    public record EveryNthFrame(int n) implements SamplingPolicy {
+        public EveryNthFrame {
+            if (n < 1) throw new IllegalArgumentException("Frame step must be at least 1");
+        }
+
+        @Override
+        public long sampleTime(long k, double frameRate) {
+            // Half a frame before frame k * n is due, so timestamps rounded down by the container still count
+            return Math.max(0, Math.round((k * n - 0.5) * 1_000_000.0 / frameRate));
+        }
+
+        @Override
+        public double interval(double frameRate) {
+            return n * 1_000_000.0 / frameRate;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Finds each target's largest group by searching a window around where it was in the previous
+ * frame, instead of the whole frame.
+ *
+ * The window is centered on the previous centroid and reaches the margin plus the square root
+ * of the previous group's size past it in every direction, which covers the blob itself and
+ * the distance it can move between samples. If any matching pixel touches an edge of the
+ * window that is not also an edge of the frame, a group may continue outside it, so the window
+ * is doubled and searched again. Once the window's edges are clear, every group inside it is
+ * complete and the largest of them is the answer.
+ *
+ * The whole frame is searched instead, for all targets in one pass (see MultiTargetGroupFinder),
+ * on the first frame, every rescanInterval frames, whenever a target was not found in the
+ * previous frame, and whenever a window turns up nothing. A search window can still miss a
+ * larger group that appears elsewhere in the frame; the periodic full scan bounds how long that
+ * lasts.
+ *
+ * With prediction on, each target also has a MotionPredictor. Once it has seen the target twice,
+ * the window is centered on where the target should be at the new frame's time instead of where
+ * it was, and reaches three standard deviations of that guess further, so the window follows a
+ * fast target and widens as its motion gets harder to predict or the samples get further apart.
+ * A predicted window that turns up nothing is doubled up to WIDEN_STEPS times before the whole
+ * frame is searched, since a target that swerved is usually still close by.
+ *
+ * Windows are placed from the centroids and motion of earlier samples, so a tracker is only
+ * correct when it sees the samples in time order with no two calls at once (see
+ * VideoProcessor.FrameSearch).
+ */
+final class SearchWindowTracker {
+    /**
+     * Reads the pixels of any rectangle of the current frame.
+     */
+    @FunctionalInterface
+    interface WindowReader {
+        /**
+         * @param window the rectangle to read, in frame pixels
+         * @return a reader over exactly that rectangle
+         */
+        PixelRowReader read(Rectangle window);
+    }
+
+    // How many times an empty predicted window is doubled before the whole frame is searched
+    static final int WIDEN_STEPS = 2;
+
+    // The variance of a measured centroid around the target's true position, in square pixels
+    private static final double CENTROID_VARIANCE = 4;
+
+    private final List<RowClassifier> rowClassifiers;
+    private final MultiTargetGroupFinder fullScan;
+    private final Rectangle bounds;
+    private final int margin;
+    private final int rescanInterval;
+
+    // Each target's group in the previous frame, relative to bounds, or null if there was none
+    private final Group[] previous;
+    private int framesSinceFullScan;
+
+    // Each target's motion, or null without prediction
+    private final MotionPredictor[] predictors;
+
+    private long pixelsRead;
+    private long fullScans;
+    private long frames;
+    private long widenedWindows;
+
+    /**
+     * @param rowClassifiers one classifier per target
+     * @param bounds the part of each frame to search, in frame pixels
+     * @param margin how many pixels a target may move between frames before its window must grow
+     * @param rescanInterval search the whole frame every this many frames, at least 1
+     */
+    SearchWindowTracker(List<RowClassifier> rowClassifiers, Rectangle bounds, int margin, int rescanInterval) {
+        this(rowClassifiers, bounds, margin, rescanInterval, false, 0);
+    }
+
+    /**
+     * @param rowClassifiers one classifier per target
+     * @param bounds the part of each frame to search, in frame pixels
+     * @param margin how many pixels a target may move between frames before its window must grow
+     * @param rescanInterval search the whole frame every this many frames, at least 1
+     * @param predict whether to center each window on the target's predicted position
+     * @param acceleration with prediction, how much a target's speed may change, in pixels per second squared
+     */
+    SearchWindowTracker(List<RowClassifier> rowClassifiers, Rectangle bounds, int margin, int rescanInterval,
+            boolean predict, double acceleration) {
+        if (margin < 0) throw new IllegalArgumentException("Margin must not be negative");
+        if (rescanInterval < 1) throw new IllegalArgumentException("Rescan interval must be at least 1");
+
+        this.rowClassifiers = List.copyOf(rowClassifiers);
+        this.fullScan = new MultiTargetGroupFinder(rowClassifiers);
+        this.bounds = new Rectangle(bounds);
+        this.margin = margin;
+        this.rescanInterval = rescanInterval;
+        this.previous = new Group[rowClassifiers.size()];
+        this.framesSinceFullScan = rescanInterval;
+
+        if (predict) {
+            predictors = new MotionPredictor[rowClassifiers.size()];
+            for (int t = 0; t < predictors.length; t++) {
+                predictors[t] = new MotionPredictor(acceleration, CENTROID_VARIANCE);
+            }
+        } else {
+            predictors = null;
+        }
+    }
+
+    /**
+     * Finds the largest group of each target in the next frame.
+     *
+     * @param frameTime the frame's time in microseconds, which the predictions are made for
+     * @param frame the pixels of the frame
+     * @return one result per target, with centroids relative to the bounds' corner
+     */
+    List<Optional<Group>> findLargestGroups(long frameTime, WindowReader frame) {
+        frames++;
+
+        List<Optional<Group>> results = null;
+        if (framesSinceFullScan < rescanInterval && allFound()) {
+            results = searchWindows(frameTime, frame);
+        }
+
+        if (results == null) {
+            results = fullScan.findLargestGroups(frame.read(new Rectangle(bounds)));
+            pixelsRead += (long) bounds.width * bounds.height;
+            fullScans++;
+            framesSinceFullScan = 0;
+        }
+        framesSinceFullScan++;
+
+        for (int t = 0; t < previous.length; t++) {
+            previous[t] = results.get(t).orElse(null);
+            if (predictors != null) {
+                if (previous[t] == null) {
+                    predictors[t].reset();
+                } else {
+                    predictors[t].update(frameTime, previous[t].centroid().x(), previous[t].centroid().y());
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return the number of pixels read so far, over all windows and full scans
+     */
+    long pixelsRead() {
+        return pixelsRead;
+    }
+
+    /**
+     * @return how many frames so far were searched in full
+     */
+    long fullScans() {
+        return fullScans;
+    }
+
+    /**
+     * @return how many frames have been searched so far
+     */
+    long frames() {
+        return frames;
+    }
+
+    /**
+     * @return how many times a predicted window that found nothing was doubled
+     */
+    long widenedWindows() {
+        return widenedWindows;
+    }
+
+    private boolean allFound() {
+        for (Group group : previous) {
+            if (group == null) return false;
+        }
+        return true;
+    }
+
+    // Searches every target's window, or returns null if any of them needs a full scan
+    private List<Optional<Group>> searchWindows(long frameTime, WindowReader frame) {
+        List<Optional<Group>> results = new ArrayList<>(previous.length);
+        for (int t = 0; t < previous.length; t++) {
+            MotionPredictor.Prediction prediction = predictors == null ? null : predictors[t].predict(frameTime);
+            Group group = searchWindow(rowClassifiers.get(t), previous[t], prediction, frame);
+            if (group == null) return null;
+            results.add(Optional.of(group));
+        }
+        return results;
+    }
+
+    // Grows a window around the previous group, or where it is predicted to be, until its edges
+    // are clear; null if that finds nothing
+    private Group searchWindow(RowClassifier rowClassifier, Group previousGroup, MotionPredictor.Prediction prediction,
+            WindowReader frame) {
+        int centerX = bounds.x + previousGroup.centroid().x();
+        int centerY = bounds.y + previousGroup.centroid().y();
+        long reach = margin + (long) Math.ceil(Math.sqrt(previousGroup.size()));
+        int widenings = 0;
+
+        if (prediction != null) {
+            // Keep the center inside the bounds so the window always overlaps them
+            centerX = (int) Math.max(bounds.x, Math.min(bounds.x + bounds.width - 1, bounds.x + Math.round(prediction.x())));
+            centerY = (int) Math.max(bounds.y, Math.min(bounds.y + bounds.height - 1, bounds.y + Math.round(prediction.y())));
+            reach += (long) Math.ceil(3 * prediction.sigma());
+            widenings = WIDEN_STEPS;
+        }
+
+        while (true) {
+            Rectangle window = new Rectangle(
+                    (int) Math.max(bounds.x, centerX - reach),
+                    (int) Math.max(bounds.y, centerY - reach),
+                    0, 0);
+            window.width = (int) Math.min(bounds.x + bounds.width, centerX + reach + 1) - window.x;
+            window.height = (int) Math.min(bounds.y + bounds.height, centerY + reach + 1) - window.y;
+
+            // A window as big as the bounds is a full scan, which is done for all targets at once
+            if (window.equals(bounds)) return null;
+
+            Window result = scan(rowClassifier, frame.read(window));
+            pixelsRead += (long) window.width * window.height;
+
+            boolean grow = (result.touchesLeft && window.x > bounds.x)
+                    || (result.touchesTop && window.y > bounds.y)
+                    || (result.touchesRight && window.x + window.width < bounds.x + bounds.width)
+                    || (result.touchesBottom && window.y + window.height < bounds.y + bounds.height);
+            if (!grow) {
+                Optional<Group> largest = result.largest.result();
+                if (largest.isEmpty()) {
+                    if (widenings-- == 0) return null;
+                    widenedWindows++;
+                    reach *= 2;
+                    continue;
+                }
+
+                // Shift the centroid from the window's corner to the bounds' corner
+                Coordinate centroid = largest.get().centroid();
+                return new Group(largest.get().size(), new Coordinate(
+                        centroid.x() + window.x - bounds.x,
+                        centroid.y() + window.y - bounds.y));
+            }
+            reach *= 2;
+        }
+    }
+
+    // Labels one window and notes which of its edges have matching pixels on them
+    private static Window scan(RowClassifier rowClassifier, PixelRowReader reader) {
+        Window result = new Window();
+        int width = reader.width();
+        int height = reader.height();
+        int[] row = new int[width];
+        BinaryMask rowMask = new BinaryMask(width, 1);
+        RunLabeler labeler = new RunLabeler(width, result.largest);
+
+        for (int y = 0; y < height; y++) {
+            reader.readRow(y, row);
+            rowClassifier.classifyRow(row, rowMask, 0);
+
+            int first = rowMask.nextSetBit(0, 0);
+            if (first >= 0) {
+                if (y == 0) result.touchesTop = true;
+                if (y == height - 1) result.touchesBottom = true;
+                if (first == 0) result.touchesLeft = true;
+                if (rowMask.get(width - 1, 0)) result.touchesRight = true;
+            }
+
+            for (int start = first; start >= 0; ) {
+                int end = rowMask.nextClearBit(0, start);
+                labeler.addRun(start, end);
+                start = rowMask.nextSetBit(0, end);
+            }
+            labeler.endRow();
+        }
+        labeler.finish();
+        return result;
+    }
+
+    // The largest group in a window and which edges its matching pixels reach
+    private static final class Window {
+        final LargestComponent largest = new LargestComponent();
+        boolean touchesLeft;
+        boolean touchesTop;
+        boolean touchesRight;
+        boolean touchesBottom;
+    }
+}
@@ -0,0 +1,135 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An ImageGroupFinder that classifies pixels and labels connected groups in a single pass.
+ *
+ * BinarizingImageGroupFinder builds a full binary mask and then walks it again to find groups.
+ * This class skips the mask: each row is read from the raster, its pixels are tested with a
+ * RowClassifier, and the matching pixels are turned straight into runs for a RunLabeler. Only
+ * one row of pixels and the previous row's runs are kept, so the working memory is O(width)
+ * instead of O(width x height).
+ *
+ * The groups are the same as BinarizingImageGroupFinder with a DistanceImageBinarizer using the
+ * same predicate, sorted in DESCENDING order.
+ */
+public class StreamingImageGroupFinder implements ImageGroupFinder {
+    private final RowClassifier rowClassifier;
+
+    /**
+     * Constructs a StreamingImageGroupFinder that treats pixels matching the predicate as white.
+     *
+     * @param colorPredicate the test that decides whether a pixel's color is a match
+     */
+    public StreamingImageGroupFinder(ColorPredicate colorPredicate) {
+        this(RowClassifier.of(colorPredicate));
+    }
+
+    /**
+     * Constructs a StreamingImageGroupFinder that classifies a whole row of pixels at a time.
+     *
+     * @param rowClassifier the test that marks each row's matching pixels
+     */
+    public StreamingImageGroupFinder(RowClassifier rowClassifier) {
+        this.rowClassifier = rowClassifier;
+    }
+
+    /**
+     * Finds connected groups of matching pixels in the given image.
+     *
+     * @param image the input BufferedImage to process
+     * @return connected groups in the image sorted in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BufferedImage image) {
+        return findConnectedGroups(RgbRasterReader.of(image));
+    }
+
+    /**
+     * Finds connected groups of matching pixels in the rows of the given reader. Use this with
+     * RgbRasterReader.of(Frame) to search a decoded frame without converting it to a BufferedImage,
+     * or with YuvFrameReader and a YUV classifier to skip the conversion to RGB as well.
+     *
+     * @param reader the pixels to process
+     * @return connected groups in the image sorted in descending order
+     */
+    public List<Group> findConnectedGroups(PixelRowReader reader) {
+        List<Group> groups = new ArrayList<>();
+        RunLabeler labeler = new RunLabeler(reader.width(),
+                (size, sumX, sumY) -> groups.add(ComponentSink.toGroup(size, sumX, sumY)));
+
+        scan(reader, labeler);
+
+        // Sort the groups in descending order
+        groups.sort(Collections.reverseOrder());
+        return groups;
+    }
+
+    /**
+     * Finds the largest connected group of matching pixels in the given image.
+     *
+     * Components are compared as soon as the labeler finishes them, so only the best one is
+     * kept and nothing is sorted.
+     *
+     * @param image the input BufferedImage to process
+     * @return the largest group, or an empty Optional if no pixel matched
+     */
+    @Override
+    public Optional<Group> findLargestGroup(BufferedImage image) {
+        return findLargestGroup(RgbRasterReader.of(image));
+    }
+
+    /**
+     * Finds the largest connected group of matching pixels in the rows of the given reader.
+     *
+     * @param reader the pixels to process
+     * @return the largest group, or an empty Optional if no pixel matched
+     */
+    public Optional<Group> findLargestGroup(PixelRowReader reader) {
+        LargestComponent largest = new LargestComponent();
+        scan(reader, new RunLabeler(reader.width(), largest));
+        return largest.result();
+    }
+
+    /**
+     * Finds connected groups of matching pixels in the rows of the given reader and describes
+     * each one as a Blob, with a sub-pixel centroid and its shape, in the same single pass.
+     *
+     * @param reader the pixels to process
+     * @return the found blobs in descending order
+     */
+    public List<Blob> findBlobs(PixelRowReader reader) {
+        List<Blob> blobs = new ArrayList<>();
+        scan(reader, new RunLabeler(reader.width(), blobs::add));
+
+        blobs.sort(Collections.reverseOrder());
+        return blobs;
+    }
+
+    // Reads every row, turns its matching pixels into runs and feeds them to the labeler
+    private void scan(PixelRowReader reader, RunLabeler labeler) {
+        int width = reader.width();
+        int[] row = new int[width];
+
+        // A single-row mask holds the current row's matches so runs can be found a word at a time
+        BinaryMask rowMask = new BinaryMask(width, 1);
+
+        for (int y = 0; y < reader.height(); y++) {
+            reader.readRow(y, row);
+            rowClassifier.classifyRow(row, rowMask, 0);
+
+            for (int start = rowMask.nextSetBit(0, 0); start >= 0; ) {
+                int end = rowMask.nextClearBit(0, start);
+                labeler.addRun(start, end);
+                start = rowMask.nextSetBit(0, end);
+            }
+            labeler.endRow();
+        }
+        labeler.finish();
+    }
+}
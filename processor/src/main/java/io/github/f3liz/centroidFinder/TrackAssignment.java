@@ -0,0 +1,20 @@
+package io.github.f3liz.centroidFinder;
+
+/**
+ * How MultiObjectTracker matches the groups of a sample to the tracks of the samples before.
+ */
+public enum TrackAssignment {
+    /**
+     * Each group, largest first, takes the nearest track within the max jump that no larger
+     * group took. Takes O(groups x tracks) steps.
+     */
+    GREEDY,
+
+    /**
+     * Takes the matching with the most pairs within the max jump and, among those, the smallest
+     * sum of squared distances (the Hungarian method). This keeps the ids of two animals that
+     * pass close by each other apart where GREEDY may swap them. Takes O(n^3) steps for n groups
+     * or tracks.
+     */
+    HUNGARIAN
+}
@@ -0,0 +1,147 @@
+package io.github.f3liz.centroidFinder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A BinaryGroupFinder that uses two-pass connected-component labeling with a union-find table.
+ *
+ * The first pass walks the mask one row at a time. Every white pixel gets a provisional label,
+ * taken from the pixel above or to the left when there is one. When two different labels touch,
+ * they are merged in a primitive int[] union-find table. Each label also keeps a running pixel
+ * count and coordinate sums, so no pixel lists are built. Only the labels of the current and
+ * previous rows are kept.
+ *
+ * The second pass runs over the label table instead of the pixels. Every label is resolved to
+ * its root and its counts and sums are added to the root, which gives one Group per component.
+ *
+ * The result is the same list of Groups that DfsBinaryGroupFinder returns.
+ */
+public class UnionFindBinaryGroupFinder implements BinaryGroupFinder {
+
+    /**
+     * Finds connected pixel groups of 1s in an integer array representing a binary image.
+     *
+     * Follows the same rules as DfsBinaryGroupFinder: pixels are connected vertically and
+     * horizontally, centroids use integer division, and the groups are sorted in DESCENDING order.
+     *
+     * @param image a rectangular 2D array containing only 1s and 0s
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(int[][] image) {
+        // Validation the image
+        if (image == null) throw new NullPointerException("Null array or subarray");
+        if (image.length == 0) throw new IllegalArgumentException("Invalid array");
+
+        // Validation for subarrays
+        for (int[] row : image) {
+            if (row == null) throw new NullPointerException("Null array or subarray");
+        }
+
+        if (image[0].length == 0) throw new IllegalArgumentException("Invalid array");
+
+        return findConnectedGroups(BinaryMask.fromArray(image));
+    }
+
+    /**
+     * Finds connected pixel groups of white pixels in a bit-packed binary mask.
+     *
+     * @param mask the binary mask to search
+     * @return the found groups of connected pixels in descending order
+     */
+    @Override
+    public List<Group> findConnectedGroups(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
+
+        LabelTable labels = new LabelTable();
+
+        // First pass: assign provisional labels row by row and record equivalences
+        labelRows(mask, 0, mask.height(), labels, null, null);
+
+        // Second pass: fold every label into its root and build one Group per root
+        return labels.resolveGroups();
+    }
+
+    /**
+     * Finds the largest connected group of white pixels in a bit-packed binary mask.
+     *
+     * Runs the same labeling pass as findConnectedGroups, but the second pass keeps only the
+     * running maximum instead of building and sorting a list.
+     *
+     * @param mask the binary mask to search
+     * @return the largest group, or an empty Optional if the mask has no white pixels
+     */
+    @Override
+    public Optional<Group> findLargestGroup(BinaryMask mask) {
+        if (mask == null) throw new NullPointerException("Null mask");
+
+        LabelTable labels = new LabelTable();
+        labelRows(mask, 0, mask.height(), labels, null, null);
+
+        LargestComponent largest = new LargestComponent();
+        labels.resolve(largest);
+        return largest.result();
+    }
+
+    /**
+     * Runs the first labeling pass over rows [startY, endY) of the mask.
+     *
+     * Rows above startY are treated as background, so a horizontal strip of the mask can be
+     * labeled on its own. The provisional labels of the strip's first and last rows are copied
+     * into the given arrays when they are not null, so strips can be stitched together later.
+     *
+     * @param mask the binary mask to label
+     * @param startY the first row to label
+     * @param endY one past the last row to label
+     * @param labels the table that receives the labels, equivalences and statistics
+     * @param firstRowLabels receives the labels of row startY, or null
+     * @param lastRowLabels receives the labels of row endY - 1, or null
+     */
+    static void labelRows(BinaryMask mask, int startY, int endY, LabelTable labels,
+            int[] firstRowLabels, int[] lastRowLabels) {
+        int width = mask.width();
+        int[] previousRow = new int[width];
+        int[] currentRow = new int[width];
+
+        for (int y = startY; y < endY; y++) {
+            // Walk the row one run of white pixels at a time so black pixels are skipped in bulk
+            int runEnd = 0;
+            for (int runStart = mask.nextSetBit(y, 0); runStart >= 0; runStart = mask.nextSetBit(y, runEnd)) {
+                // Pixels between runs are background
+                Arrays.fill(currentRow, runEnd, runStart, 0);
+                runEnd = mask.nextClearBit(y, runStart);
+
+                // Every pixel in a run is connected to its left neighbor, so the run shares one label
+                int label = 0;
+                int lastAbove = 0;
+                for (int x = runStart; x < runEnd; x++) {
+                    int above = previousRow[x];
+                    if (above != 0 && above != lastAbove) {
+                        label = label == 0 ? labels.find(above) : labels.union(label, above);
+                        lastAbove = above;
+                    }
+                }
+                if (label == 0) label = labels.newLabel();
+
+                Arrays.fill(currentRow, runStart, runEnd, label);
+                labels.addRun(label, y, runStart, runEnd);
+            }
+            Arrays.fill(currentRow, runEnd, width, 0);
+
+            if (y == startY && firstRowLabels != null) {
+                System.arraycopy(currentRow, 0, firstRowLabels, 0, width);
+            }
+
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+
+        // After the last swap the previous row holds the strip's last row
+        if (lastRowLabels != null && endY > startY) {
+            System.arraycopy(previousRow, 0, lastRowLabels, 0, width);
+        }
+    }
+}
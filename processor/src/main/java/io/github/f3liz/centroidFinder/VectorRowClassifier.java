@@ -0,0 +1,83 @@
+package io.github.f3liz.centroidFinder;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * A RowClassifier that tests the Euclidean color distance of many pixels per instruction with the
+ * Java Vector API.
+ *
+ * Each vector of pixels is split into red, green and blue lanes with shifts and masks, and the
+ * squared distance to the target color is compared with threshold². For an integer threshold t
+ * and an integer squared distance d, sqrt(d) <= t exactly when d <= t², so the result matches
+ * EuclideanColorDistance without taking any square roots. The comparison mask is turned straight
+ * into mask bits with VectorMask.toLong.
+ *
+ * This is the only class that touches jdk.incubator.vector. It must only be created after
+ * RowClassifier.isVectorApiAvailable() has returned true.
+ */
+final class VectorRowClassifier implements RowClassifier {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    // No two colors are more than sqrt(3 * 255²) ≈ 441.7 apart, so larger thresholds match everything
+    private static final int MAX_USEFUL_THRESHOLD = 442;
+
+    private final int red;
+    private final int green;
+    private final int blue;
+    private final int thresholdSquared;
+
+    VectorRowClassifier(int targetColor, int threshold) {
+        this.red = (targetColor >> 16) & 0xff;
+        this.green = (targetColor >> 8) & 0xff;
+        this.blue = targetColor & 0xff;
+
+        // A negative threshold matches nothing, and clamping keeps threshold² from overflowing
+        int clamped = Math.min(threshold, MAX_USEFUL_THRESHOLD);
+        this.thresholdSquared = threshold < 0 ? -1 : clamped * clamped;
+    }
+
+    @Override
+    public void classifyRow(int[] rgbRow, BinaryMask mask, int y) {
+        int width = mask.width();
+        int lanes = SPECIES.length();
+
+        for (int wordIndex = 0, x = 0; x < width; wordIndex++) {
+            long bits = 0L;
+            int bit = 0;
+            int end = Math.min(width, x + 64);
+
+            // Whole vectors of pixels that fit inside the current word
+            for (; x + lanes <= end; x += lanes, bit += lanes) {
+                IntVector pixels = IntVector.fromArray(SPECIES, rgbRow, x);
+                IntVector redDifference = pixels.lanewise(VectorOperators.LSHR, 16).and(0xff).sub(red);
+                IntVector greenDifference = pixels.lanewise(VectorOperators.LSHR, 8).and(0xff).sub(green);
+                IntVector blueDifference = pixels.and(0xff).sub(blue);
+
+                IntVector squaredDistance = redDifference.mul(redDifference)
+                        .add(greenDifference.mul(greenDifference))
+                        .add(blueDifference.mul(blueDifference));
+
+                bits |= squaredDistance.compare(VectorOperators.LE, thresholdSquared).toLong() << bit;
+            }
+
+            // Pixels left over at the end of the row
+            for (; x < end; x++, bit++) {
+                if (matches(rgbRow[x])) {
+                    bits |= 1L << bit;
+                }
+            }
+            mask.setWord(y, wordIndex, bits);
+        }
+    }
+
+    // The same test as one vector lane, for the pixels that do not fill a whole vector
+    private boolean matches(int rgb) {
+        int redDifference = ((rgb >> 16) & 0xff) - red;
+        int greenDifference = ((rgb >> 8) & 0xff) - green;
+        int blueDifference = (rgb & 0xff) - blue;
+        return redDifference * redDifference + greenDifference * greenDifference
+                + blueDifference * blueDifference <= thresholdSquared;
+    }
+}
@@ -1,51 +1,132 @@
 package io.github.f3liz.centroidFinder;
 
-import java.awt.image.BufferedImage;
+import java.awt.Rectangle;
 import java.io.File;
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import org.bytedeco.javacv.FFmpegFrameGrabber;
 import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
 
 /**
- * Class contains method/logic to process one frame
- * per second of an MP4 video file to find the largest centroid and write
+ * Class contains method/logic to process sampled frames
+ * of an MP4 video file to find the largest centroid and write
  * to a CSV that contains centroids' x and y coordinates by time
+ *
+ * Which frames are analyzed is set by a SamplingPolicy, one per second by default. They are
+ * picked by a FrameSampler that either seeks or decodes straight through (see DecodeMode). The
+ * time column is each frame's own timestamp in seconds, with millisecond precision.
+ *
+ * Frames go through an OrderedPipeline: one thread decodes, a pool of workers analyzes the
+ * frames straight from their native pixel buffers, and the calling thread writes the rows in
+ * time order. The CSV is the same for any number of workers.
+ *
+ * With more than one segment (see ProcessingOptions) the video is split into equal time ranges
+ * instead. Each range gets its own grabber, which seeks to the keyframe before the range and
+ * decodes and analyzes it on its own thread, so decoding is no longer a single-threaded stage.
+ * Where a range's last sample lands on the next range's first frame, the repeated row is
+ * dropped, so the CSV is the same as with one segment.
+ *
+ * A region of interest and a scale factor (see FrameRegion) shrink the pixels analyzed per frame.
+ * The coordinates in the CSV are always full-frame pixels.
+ *
+ * With the yuv option the decoder's YUV frames are tested as they are, through a lookup table
+ * that folds the conversion to RGB into the color test (see ColorLookupTable.forYuvDistance), so
+ * swscale never runs.
+ *
+ * Extra targets (see ProcessingOptions.addTarget) are tracked from the same decoded frames, with
+ * each row of pixels read once for all of them (see MultiTargetGroupFinder). The CSV then has
+ * one x,y column pair per target, numbered from 1 in order, with the constructor's target first.
+ *
+ * With the tracking option each target is looked for in a window around where it was in the
+ * previous sample (see SearchWindowTracker), and the whole frame is only searched now and then.
+ * Adding the predict option places each window where a motion model expects the target at the
+ * sample's time (see MotionPredictor), which keeps fast targets inside it at sparse sampling.
+ * With the incremental option only the tiles of a frame that changed since the previous sample
+ * are classified again, for fixed cameras where most of the picture stays still (see
+ * DirtyTileGroupFinder).
  */
 public class VideoProcessor {
     private final String inputPath;
     private final String outputCsv;
     private final int targetColor;
     private final int threshold;
+    private final ProcessingOptions options;
 
     public VideoProcessor(String inputPath, String outputCsv, int targetColor, int threshold) {
+        this(inputPath, outputCsv, targetColor, threshold, new ProcessingOptions());
+    }
+
+    public VideoProcessor(String inputPath, String outputCsv, int targetColor, int threshold, ProcessingOptions options) {
         this.inputPath = inputPath;
         this.outputCsv = outputCsv;
         this.targetColor = targetColor;
         this.threshold = threshold;
+        this.options = options;
     }
 
     // Main logic for processing video and writing centroid coordinates to CSV
     public void processVideo() throws Exception {
-        // Create the DistanceImageBinarizer with a EuclideanColorDistance instance.
-        ColorDistanceFinder distanceFinder = new EuclideanColorDistance();
-        ImageBinarizer binarizer = new DistanceImageBinarizer(distanceFinder, targetColor, threshold);
-
-        // Set up the logic to find largest group
-        ImageGroupFinder groupFinder = new BinarizingImageGroupFinder(binarizer, new DfsBinaryGroupFinder());
-
-        // Conversion for Frame to BufferedImage
-        FrameToBufferedImageConverter converter = new FrameToBufferedImageConverter();
+        if (options.yuv() && options.scale() != 1) {
+            throw new IllegalArgumentException("--yuv reads the decoder's frames as they are, so it cannot be combined with --scale");
+        }
+        if (options.tracking() && options.incremental()) {
+            throw new IllegalArgumentException("--track only reads part of each frame, so it cannot be combined with --incremental");
+        }
+        if (options.objects() > 0 && (!options.targets().isEmpty() || options.tracking() || options.incremental())) {
+            throw new IllegalArgumentException("--objects follows one color in whole frames, so it cannot be combined with --target, --track or --incremental");
+        }
+        if (options.segments() > 1 && options.workerPool() != null) {
+            throw new IllegalArgumentException("--segments decodes and analyzes on threads of its own, so it cannot be used with a shared worker pool");
+        }
 
         // Grabber to read frames and writer to write to the output CSV
         try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(new File(inputPath));
              PrintWriter writer = new PrintWriter(outputCsv)) {
 
+            // Raw mode hands out the decoder's own YUV frames without converting them to BGR
+            if (options.yuv()) grabber.setImageMode(FrameGrabber.ImageMode.RAW);
             grabber.start();
 
+            YuvColorSpace colorSpace = null;
+            if (options.yuv()) {
+                if (YuvFrameReader.isSupported(grabber.getPixelFormat())) {
+                    colorSpace = YuvColorSpace.forPixelFormat(grabber.getPixelFormat());
+                    System.out.println("Matching in YUV: " + colorSpace);
+                } else {
+                    System.out.println("--yuv ignored: the video is not planar 4:2:0 YUV, using RGB frames");
+                    grabber.stop();
+                    grabber.setImageMode(FrameGrabber.ImageMode.COLOR);
+                    grabber.start();
+                }
+            }
+            boolean raw = colorSpace != null;
+
+            // Test the EuclideanColorDistance on the YUV samples through a table built for the
+            // video's color space, or on RGB with the Vector API when asked to, otherwise with a shared lookup table
+            List<ColorTarget> targets = targets();
+            List<RowClassifier> rowClassifiers = new ArrayList<>(targets.size());
+            for (ColorTarget target : targets) {
+                rowClassifiers.add(raw
+                        ? RowClassifier.of(ColorLookupTable.forYuvDistance(new EuclideanColorDistance(), target.color(), target.threshold(), colorSpace))
+                        : RowClassifier.withinEuclideanDistance(target.color(), target.threshold(), options.vectorize()));
+            }
+
+            // Set up the logic to find the largest group of every target, classifying and labeling each
+            // frame in one pass (the finder keeps no state between calls, so the workers can share it)
+            MultiTargetGroupFinder groupFinder = new MultiTargetGroupFinder(rowClassifiers);
+
             // Write header line in required format
-            writer.println("time,x,y");
+            writer.println(options.objects() > 0 ? "time,id,x,y,size" : "time," + String.join(",", columnNames(targets.size())));
 
             double frameRate = grabber.getFrameRate();
             double durationSeconds = grabber.getLengthInTime() / 1_000_000.0; // microseconds to seconds
@@ -53,37 +134,368 @@ public class VideoProcessor {
             System.out.println("Video duration: " + durationSeconds + " seconds");
             System.out.println("Frame rate: " + frameRate + " fps");
 
+            // Have the decoder downscale the frames and only read the region of interest out of them
+            FrameRegion region = FrameRegion.of(grabber.getImageWidth(), grabber.getImageHeight(), options.roi(), options.scale());
+            region.configure(grabber);
+            if (options.roi() != null || region.isScaled()) {
+                Rectangle crop = region.crop();
+                System.out.println("Analyzed region: " + crop.width + "x" + crop.height + " pixels per frame");
+            }
+
             // Gets rid of pixel warning in terminal
             org.bytedeco.ffmpeg.global.avutil.av_log_set_level(org.bytedeco.ffmpeg.global.avutil.AV_LOG_ERROR);
 
-            // Process one frame per second
-            for (int sec = 0; sec < (int) durationSeconds; sec++) {
-                // Set grabber to correct timestamp (in microseconds)
-                grabber.setTimestamp(sec * 1_000_000L); // 1 second = 1,000,000 µs
+            SamplingPolicy samplingPolicy = options.samplingPolicy();
 
-                Frame frame = grabber.grabImage();
-                if (frame == null) continue; // skip if no frame at that timestamp
+            // Seek to each sample or decode straight through, whichever decodes fewer frames for this video
+            DecodeMode decodeMode = options.decodeMode();
+            if (decodeMode == DecodeMode.AUTO) {
+                int keyframeInterval = FrameSampler.probeKeyframeInterval(inputPath);
+                decodeMode = FrameSampler.choose(frameRate, samplingPolicy.interval(frameRate), keyframeInterval);
+                System.out.println("Keyframe interval: " + keyframeInterval + " frames");
+            }
+            System.out.println("Decode mode: " + decodeMode.name().toLowerCase());
 
-                BufferedImage image = converter.convert(frame);
-                List<Group> groups = groupFinder.findConnectedGroups(image);
+            // Search the whole frame each time, a window around the previous centroids, or only the
+            // tiles that changed; the last two keep state between frames, so every run of frames gets its own
+            Rectangle crop = region.crop();
+            List<SearchWindowTracker> trackers = Collections.synchronizedList(new ArrayList<>());
+            List<DirtyTileGroupFinder> tileFinders = Collections.synchronizedList(new ArrayList<>());
+            Supplier<FrameSearch> searches;
+            if (options.tracking()) {
+                searches = () -> {
+                    SearchWindowTracker tracker = new SearchWindowTracker(rowClassifiers, crop, options.trackMargin(), options.trackRescan(),
+                            options.predict(), options.predictAcceleration());
+                    trackers.add(tracker);
+                    return tracker::findLargestGroups;
+                };
+                System.out.println("Tracking: frames are analyzed in order on one thread"
+                        + (options.predict() ? ", with windows placed by a motion model" : ""));
+            } else if (options.incremental()) {
+                searches = () -> {
+                    DirtyTileGroupFinder finder = new DirtyTileGroupFinder(rowClassifiers, crop.width, crop.height,
+                            options.tileSize(), options.tileTolerance());
+                    tileFinders.add(finder);
+                    return (frameTime, frame) -> finder.findLargestGroups(frame.read(crop));
+                };
+                System.out.println("Incremental: frames are analyzed in order on one thread");
+            } else {
+                searches = () -> (frameTime, frame) -> groupFinder.findLargestGroups(frame.read(crop));
+            }
+            boolean inOrder = options.tracking() || options.incremental();
 
-                int xCoord = -1;
-                int yCoord = -1;
+            // With --objects each frame's largest groups are found on the workers, and only matching
+            // them to ids, which depends on the frame before, is done in order as the rows are written
+            long length = grabber.getLengthInTime();
+            Supplier<OrderedPipeline.Analyzer<FrameSample, Centroid>> analyzers;
+            OrderedPipeline.Sink<Centroid> rows;
+            if (options.objects() > 0) {
+                analyzers = () -> objectAnalyzer(groupFinder, options.objects(), options.minSize(), raw, region);
+                rows = new ObjectRows(writer, options.progressListener(), length,
+                        new MultiObjectTracker(options.maxJump(), options.keepLost(), options.assignment()));
+                System.out.println("Objects: up to " + options.objects() + " per sample, matched "
+                        + options.assignment().name().toLowerCase(Locale.ROOT));
+            } else {
+                analyzers = () -> analyzer(searches.get(), raw, region);
+                rows = new CsvRows(writer, options.progressListener(), length);
+            }
 
-                // Only update coordinates if a group was found
-                if (!groups.isEmpty()) {
-                    Group biggest = groups.get(0);
-                    xCoord = biggest.centroid().x();
-                    yCoord = biggest.centroid().y();
+            if (options.segments() > 1 && length > 0) {
+                System.out.println("Segments: " + options.segments());
+                processSegments(length, raw, region, decodeMode, samplingPolicy, analyzers, rows);
+            } else {
+                // A tracker or tile finder needs its frames in order, which a single worker of the pipeline's own gives it
+                OrderedPipeline<FrameSample, Centroid> pipeline = inOrder
+                        ? new OrderedPipeline<>(1, options.queueDepth())
+                        : new OrderedPipeline<>(options.workers(), options.queueDepth(), options.workerPool());
+                // If a stage fails, samples that were decoded but never analyzed still hold native frames
+                pipeline.run(FrameSampler.create(grabber, decodeMode, samplingPolicy), analyzers.get(), rows,
+                        sample -> sample.frame().close());
+            }
+            if (!trackers.isEmpty()) printTrackingSummary(trackers, (long) crop.width * crop.height);
+            if (!tileFinders.isEmpty()) printIncrementalSummary(tileFinders);
+
+            grabber.stop();
+        }
+    }
+
+    // Reports how much of the frames the search windows saved
+    private static void printTrackingSummary(List<SearchWindowTracker> trackers, long framePixels) {
+        long frames = 0;
+        long fullScans = 0;
+        long pixelsRead = 0;
+        long widenedWindows = 0;
+        for (SearchWindowTracker tracker : trackers) {
+            frames += tracker.frames();
+            fullScans += tracker.fullScans();
+            pixelsRead += tracker.pixelsRead();
+            widenedWindows += tracker.widenedWindows();
+        }
+        if (frames == 0) return;
+
+        System.out.printf(Locale.ROOT, "Tracking: read %.1f%% of the pixels of a full scan; %d of %d frames searched in full%n",
+                100.0 * pixelsRead / (frames * framePixels), fullScans, frames);
+        if (widenedWindows > 0) System.out.println("Tracking: " + widenedWindows + " empty predicted windows were widened");
+    }
+
+    // Reports how many tiles had to be classified again and how many frames had no change at all
+    private static void printIncrementalSummary(List<DirtyTileGroupFinder> finders) {
+        long frames = 0;
+        long reusedFrames = 0;
+        long tilesClassified = 0;
+        long tiles = 0;
+        for (DirtyTileGroupFinder finder : finders) {
+            frames += finder.frames();
+            reusedFrames += finder.reusedFrames();
+            tilesClassified += finder.tilesClassified();
+            tiles += finder.frames() * finder.tilesPerFrame();
+        }
+        if (frames == 0) return;
+
+        System.out.printf(Locale.ROOT, "Incremental: classified %.1f%% of the tiles; %d of %d frames reused the previous result%n",
+                100.0 * tilesClassified / tiles, reusedFrames, frames);
+    }
+
+    // Analyzes one sample: finds each target's largest group and maps its centroid to full-frame pixels
+    private static OrderedPipeline.Analyzer<FrameSample, Centroid> analyzer(FrameSearch search, boolean raw, FrameRegion region) {
+        // Each sample owns a copy of the decoded frame, which is released once it is analyzed
+        return sample -> {
+            try (Frame frame = sample.frame()) {
+                // Read the pixels in place from the frame's native buffer instead of copying them into a BufferedImage
+                SearchWindowTracker.WindowReader pixels = window -> raw ? YuvFrameReader.of(frame, window) : RgbRasterReader.of(frame, window);
+
+                // Only the largest group of each target is needed, so skip building and sorting the full lists
+                List<Optional<Group>> largest = search.findLargestGroups(sample.frameTime(), pixels);
+
+                // Coordinates stay -1 where no group was found, otherwise they are mapped back to the full frame
+                int[] coordinates = new int[2 * largest.size()];
+                Arrays.fill(coordinates, -1);
+                for (int t = 0; t < largest.size(); t++) {
+                    if (largest.get(t).isPresent()) {
+                        Coordinate centroid = region.toFullFrame(largest.get(t).get().centroid());
+                        coordinates[2 * t] = centroid.x();
+                        coordinates[2 * t + 1] = centroid.y();
+                    }
                 }
+                return new Centroid(sample.frameTime(), coordinates);
+            }
+        };
+    }
+
+    // Finds the largest groups of the single target in one sample, as x,y,size triples in full-frame pixels
+    private static OrderedPipeline.Analyzer<FrameSample, Centroid> objectAnalyzer(MultiTargetGroupFinder groupFinder, int count,
+            int minSize, boolean raw, FrameRegion region) {
+        Rectangle crop = region.crop();
+        return sample -> {
+            try (Frame frame = sample.frame()) {
+                PixelRowReader pixels = raw ? YuvFrameReader.of(frame, crop) : RgbRasterReader.of(frame, crop);
+                List<Group> groups = groupFinder.findLargestGroups(pixels, count).get(0);
 
-                // Write the time and coordinates to CSV
-                writer.printf("%d,%d,%d%n", sec, xCoord, yCoord);
+                // The groups are largest first, so the ones that are too small are all at the end
+                int kept = 0;
+                while (kept < groups.size() && groups.get(kept).size() >= minSize) kept++;
 
-                System.out.println("Processed second " + sec + " (timestamp: " + (sec) + "s)");
+                int[] objects = new int[3 * kept];
+                for (int i = 0; i < kept; i++) {
+                    Coordinate centroid = region.toFullFrame(groups.get(i).centroid());
+                    objects[3 * i] = centroid.x();
+                    objects[3 * i + 1] = centroid.y();
+                    objects[3 * i + 2] = groups.get(i).size();
+                }
+                return new Centroid(sample.frameTime(), objects);
             }
+        };
+    }
 
-            grabber.stop();
+    // Splits the video into equal time ranges and decodes each with its own grabber on its own thread
+    private void processSegments(long length, boolean raw, FrameRegion region, DecodeMode decodeMode, SamplingPolicy samplingPolicy,
+            Supplier<OrderedPipeline.Analyzer<FrameSample, Centroid>> analyzers, OrderedPipeline.Sink<Centroid> rows) throws Exception {
+        int segments = options.segments();
+        Iterator<Segment> ranges = IntStream.range(0, segments).mapToObj(i -> new Segment(
+                length * i / segments,
+                // The last range is open-ended in case the container underreports the length
+                i == segments - 1 ? Long.MAX_VALUE : length * (i + 1) / segments)).iterator();
+
+        // One worker per segment and no queue, so every segment starts at once and the
+        // segments' rows are written in order as each finishes
+        OrderedPipeline<Segment, List<Centroid>> pipeline = new OrderedPipeline<>(segments, 0);
+        pipeline.run(() -> ranges.hasNext() ? ranges.next() : null, segment -> {
+            List<Centroid> centroids = new ArrayList<>();
+            OrderedPipeline.Analyzer<FrameSample, Centroid> analyzer = analyzers.get();
+            try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(new File(inputPath))) {
+                if (raw) grabber.setImageMode(FrameGrabber.ImageMode.RAW);
+                grabber.start();
+                region.configure(grabber);
+
+                FrameSampler sampler = FrameSampler.create(grabber, decodeMode, samplingPolicy,
+                        segment.startTime(), segment.endTime());
+                for (FrameSample sample = sampler.next(); sample != null; sample = sampler.next()) {
+                    centroids.add(analyzer.analyze(sample));
+                }
+
+                grabber.stop();
+            }
+            return centroids;
+        }, centroids -> {
+            for (Centroid centroid : centroids) {
+                rows.accept(centroid);
+            }
+        });
+    }
+
+    /**
+     * Formats a timestamp in microseconds as seconds with three decimals, e.g. 1001000 as "1.001".
+     * The format does not depend on the default locale, so the decimal separator is always a dot.
+     */
+    static String formatTime(long micros) {
+        return String.format(Locale.ROOT, "%.3f", micros / 1_000_000.0);
+    }
+
+    // The constructor's target followed by any extra targets from the options
+    private List<ColorTarget> targets() {
+        List<ColorTarget> targets = new ArrayList<>();
+        targets.add(new ColorTarget(targetColor, threshold));
+        targets.addAll(options.targets());
+        return targets;
+    }
+
+    /**
+     * Names the coordinate columns of the CSV: x,y for a single target, or x1,y1,x2,y2,... for
+     * several targets.
+     *
+     * @param targets the number of targets
+     * @return the column names after the time column
+     */
+    static List<String> columnNames(int targets) {
+        if (targets == 1) return List.of("x", "y");
+
+        List<String> names = new ArrayList<>(2 * targets);
+        for (int t = 1; t <= targets; t++) {
+            names.add("x" + t);
+            names.add("y" + t);
+        }
+        return names;
+    }
+
+    // Finds the largest group of every target in the frame at frameTime (µs), relative to the region's crop.
+    // The searches backed by a SearchWindowTracker or a DirtyTileGroupFinder remember the frame before,
+    // so processVideo runs them on a pipeline with a single worker: each search then gets its frames
+    // one at a time and in decode order. The plain search keeps nothing between frames, so any worker may run it.
+    @FunctionalInterface
+    private interface FrameSearch {
+        List<Optional<Group>> findLargestGroups(long frameTime, SearchWindowTracker.WindowReader frame);
+    }
+
+    // The largest group's centroid of each target in the frame at frameTime (µs), as x,y pairs
+    // in target order, with -1, -1 where there was none; with --objects, the frame's largest
+    // groups as x,y,size triples, largest first
+    private record Centroid(long frameTime, int[] coordinates) {
+    }
+
+    // A range of sample times in µs, from startTime up to but not including endTime
+    private record Segment(long startTime, long endTime) {
+    }
+
+    /**
+     * Is told about every row as it is written to the CSV, for example to report progress to a
+     * client (see ProcessorDaemon). Rows are reported in time order on the thread that writes them.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * @param frameTime the time of the frame the row is for, in microseconds
+         * @param length the length of the video in microseconds, or 0 if it is not known
+         * @param coordinates the row's x,y pairs, one per target in column order, with -1 where no
+         *                    group was found; the array must not be kept or changed. With
+         *                    --objects this is called once per sample with an empty array, since
+         *                    the sample's rows are id,x,y,size instead
+         */
+        void rowWritten(long frameTime, long length, int[] coordinates);
+    }
+
+    // Writes one CSV row per analyzed frame, in the order they arrive
+    private static final class CsvRows implements OrderedPipeline.Sink<Centroid> {
+        private final PrintWriter writer;
+        private final ProgressListener listener;
+        private final long length;
+        private long lastFrameTime = -1;
+
+        CsvRows(PrintWriter writer, ProgressListener listener, long length) {
+            this.writer = writer;
+            this.listener = listener;
+            this.length = Math.max(0, length);
+        }
+
+        @Override
+        public void accept(Centroid centroid) {
+            // The last sample of a segment can land on the frame the next segment starts with
+            if (centroid.frameTime() <= lastFrameTime) return;
+            lastFrameTime = centroid.frameTime();
+
+            // Write the time and coordinates to CSV
+            String time = formatTime(centroid.frameTime());
+            StringBuilder row = new StringBuilder(time);
+            for (int coordinate : centroid.coordinates()) {
+                row.append(',').append(coordinate);
+            }
+            writer.println(row);
+
+            System.out.println("Processed frame at " + time + "s");
+            if (listener != null) listener.rowWritten(centroid.frameTime(), length, centroid.coordinates());
+        }
+    }
+
+    // Gives the groups of each frame their ids and writes one time,id,x,y,size row per group, in id order
+    private static final class ObjectRows implements OrderedPipeline.Sink<Centroid> {
+        private static final int[] NO_COORDINATES = new int[0];
+
+        private final PrintWriter writer;
+        private final ProgressListener listener;
+        private final long length;
+        private final MultiObjectTracker tracker;
+        private long lastFrameTime = -1;
+
+        ObjectRows(PrintWriter writer, ProgressListener listener, long length, MultiObjectTracker tracker) {
+            this.writer = writer;
+            this.listener = listener;
+            this.length = Math.max(0, length);
+            this.tracker = tracker;
+        }
+
+        @Override
+        public void accept(Centroid centroid) {
+            // The last sample of a segment can land on the frame the next segment starts with
+            if (centroid.frameTime() <= lastFrameTime) return;
+            lastFrameTime = centroid.frameTime();
+
+            int[] objects = centroid.coordinates();
+            int count = objects.length / 3;
+            int[] xs = new int[count];
+            int[] ys = new int[count];
+            for (int i = 0; i < count; i++) {
+                xs[i] = objects[3 * i];
+                ys[i] = objects[3 * i + 1];
+            }
+            int[] ids = tracker.update(count, xs, ys);
+
+            // Sorting by id lists the animals in the same order in every sample; K is small, so an insertion sort does
+            int[] order = new int[count];
+            for (int i = 0; i < count; i++) {
+                int j = i;
+                while (j > 0 && ids[order[j - 1]] > ids[i]) {
+                    order[j] = order[j - 1];
+                    j--;
+                }
+                order[j] = i;
+            }
+
+            String time = formatTime(centroid.frameTime());
+            for (int i : order) {
+                writer.println(time + "," + ids[i] + "," + xs[i] + "," + ys[i] + "," + objects[3 * i + 2]);
+            }
+
+            System.out.println("Processed frame at " + time + "s");
+            if (listener != null) listener.rowWritten(centroid.frameTime(), length, NO_COORDINATES);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,7 @@
 package io.github.f3liz.centroidFinder;
 
+import java.util.Arrays;
+
 /**
  * Command-line tool to process each frame of an MP4 video file to find the
  * largest centroid and write
@@ -7,9 +9,9 @@ package io.github.f3liz.centroidFinder;
  */
 public class VideoSummaryApp {
     public static void main(String[] args) {
-        // Logic to make sure only 4 arguments are given
+        // Logic to make sure the 4 required arguments are given
         if (args.length < 4) {
-            System.out.println("Usage: java -jar videoprocessor.jar <inputPath> <outputCsv> <targetColor> <threshold>");
+            printUsage();
             return;
         }
 
@@ -21,8 +23,23 @@ public class VideoSummaryApp {
         int targetColor = Integer.parseInt(args[2], 16);
         int threshold = Integer.parseInt(args[3]);
 
+        // Everything after the required arguments is an --option
+        ProcessingOptions options;
         try {
-            VideoProcessor processor = new VideoProcessor(inputPath, outputCsv, targetColor, threshold);
+            options = ProcessingOptions.parse(Arrays.copyOfRange(args, 4, args.length));
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            printUsage();
+            return;
+        }
+
+        // The flag only takes effect when the incubator module has been added to the JVM
+        if (options.vectorize() && !RowClassifier.isVectorApiAvailable()) {
+            System.out.println("--simd ignored: " + RowClassifier.VECTOR_MODULE + " is not available, using the scalar path");
+        }
+
+        try {
+            VideoProcessor processor = new VideoProcessor(inputPath, outputCsv, targetColor, threshold, options);
 
             processor.processVideo();
             System.out.println("Processing complete, saved to: " + outputCsv);
@@ -38,4 +55,36 @@ public class VideoSummaryApp {
             e.printStackTrace();
         }
     }
+
+    private static void printUsage() {
+        System.out.println("Usage: java -jar videoprocessor.jar <inputPath> <outputCsv> <targetColor> <threshold> [options]");
+        System.out.println("  --workers=N      frame analysis threads (default: available processors)");
+        System.out.println("  --queue-depth=N  decoded frames that may wait beyond one per worker (default: workers)");
+        System.out.println("  --simd           use the Vector API color test (run java with --add-modules jdk.incubator.vector)");
+        System.out.println("  --decode=MODE    auto, seek or sequential (default: auto, picked from the keyframe interval)");
+        System.out.println("  --sample-fps=F   analyze F frames per second of video (default: 1)");
+        System.out.println("  --sample-every=N analyze every Nth frame");
+        System.out.println("  --sample-all     analyze every frame");
+        System.out.println("  --segments=K     decode K time ranges of the video at the same time (default: 1)");
+        System.out.println("  --roi=X,Y,W,H    only analyze this rectangle of each frame; centroids stay in full-frame pixels");
+        System.out.println("  --scale=F        shrink frames by F in (0, 1] while decoding (default: 1)");
+        System.out.println("  --yuv            match colors on the decoder's YUV frames, skipping the RGB conversion");
+        System.out.println("  --target=RRGGBB,T also track this color with threshold T from the same decode; repeatable");
+        System.out.println("                   (the CSV then has x1,y1 for the main target, x2,y2 for the first --target, ...)");
+        System.out.println("  --track          search around each target's previous centroid instead of the whole frame");
+        System.out.println("  --track-margin=P pixels a target may move between samples before its window grows (default: 48)");
+        System.out.println("  --track-rescan=N with --track, search the whole frame every N samples (default: 30)");
+        System.out.println("  --predict        with --track, place each window where a motion model expects the target");
+        System.out.println("  --predict-accel=A with --predict, how fast a target's speed may change in pixels/s^2 (default: 200)");
+        System.out.println("  --objects=K      write the K largest groups per sample as time,id,x,y,size rows, with ids");
+        System.out.println("                   that follow each animal from sample to sample");
+        System.out.println("  --min-size=S     with --objects, leave out groups of fewer than S pixels (default: 1)");
+        System.out.println("  --max-jump=P     with --objects, farthest an animal may move between samples and keep its id (default: 100)");
+        System.out.println("  --match=M        with --objects, greedy or hungarian matching of groups to ids (default: greedy)");
+        System.out.println("  --keep-lost=N    with --objects, samples an animal may go unseen and keep its id (default: 5)");
+        System.out.println("  --incremental    only re-classify the tiles that changed since the previous sample");
+        System.out.println("  --tile-size=N    with --incremental, tile width and height in pixels (default: 32)");
+        System.out.println("  --tile-tolerance=T with --incremental, channel change a tile may have and still be reused;");
+        System.out.println("                   0 keeps the results exact (default: 0)");
+    }
 }
@@ -0,0 +1,63 @@
+package io.github.f3liz.centroidFinder;
+
+import static org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUVJ420P;
+
+/**
+ * How 8-bit Y'CbCr samples map to 24-bit RGB.
+ *
+ * FFmpegFrameGrabber converts frames to BGR with swscale's defaults: the BT.601 matrix whatever
+ * the stream is tagged with, full range for the "J" pixel formats and studio range (Y' from 16
+ * to 235, chroma from 16 to 240) for everything else. These constants use the same rules, so a
+ * color converted here is what the RGB pipeline would have seen, up to swscale's fixed-point
+ * rounding.
+ */
+public enum YuvColorSpace {
+    /** BT.601 with studio-range samples, as in yuv420p. */
+    BT601_LIMITED(255.0 / 219, 255.0 / 224, 16),
+    /** BT.601 with full-range samples, as in yuvj420p. */
+    BT601_FULL(1, 1, 0);
+
+    // BT.601 luma weights
+    private static final double KR = 0.299;
+    private static final double KB = 0.114;
+    private static final double KG = 1 - KR - KB;
+
+    private final double lumaScale;
+    private final double chromaScale;
+    private final int lumaOffset;
+
+    YuvColorSpace(double lumaScale, double chromaScale, int lumaOffset) {
+        this.lumaScale = lumaScale;
+        this.chromaScale = chromaScale;
+        this.lumaOffset = lumaOffset;
+    }
+
+    /**
+     * @param pixelFormat an FFmpeg AV_PIX_FMT_* value
+     * @return the color space swscale assumes for that pixel format
+     */
+    public static YuvColorSpace forPixelFormat(int pixelFormat) {
+        return pixelFormat == AV_PIX_FMT_YUVJ420P ? BT601_FULL : BT601_LIMITED;
+    }
+
+    /**
+     * Converts a packed sample to RGB, rounding each channel and clamping it to 0..255.
+     *
+     * @param yuv the sample as 0xYYUUVV, with U for Cb and V for Cr
+     * @return the color as a 24-bit hex RGB integer (0xRRGGBB)
+     */
+    public int toRgb(int yuv) {
+        double y = ((yuv >>> 16 & 0xFF) - lumaOffset) * lumaScale;
+        double cb = ((yuv >>> 8 & 0xFF) - 128) * chromaScale;
+        double cr = ((yuv & 0xFF) - 128) * chromaScale;
+
+        int r = clamp(y + 2 * (1 - KR) * cr);
+        int g = clamp(y - 2 * (1 - KB) * KB / KG * cb - 2 * (1 - KR) * KR / KG * cr);
+        int b = clamp(y + 2 * (1 - KB) * cb);
+        return r << 16 | g << 8 | b;
+    }
+
+    private static int clamp(double channel) {
+        return (int) Math.max(0, Math.min(255, Math.round(channel)));
+    }
+}
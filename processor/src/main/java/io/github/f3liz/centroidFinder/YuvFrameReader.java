@@ -0,0 +1,156 @@
+package io.github.f3liz.centroidFinder;
+
+import static org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUV420P;
+import static org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUVJ420P;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+
+import org.bytedeco.ffmpeg.avutil.AVFrame;
+import org.bytedeco.javacv.Frame;
+
+/**
+ * Reads rows of a planar 4:2:0 YUV frame as packed 0xYYUUVV values, with U for Cb and V for Cr.
+ *
+ * With FrameGrabber.ImageMode.RAW, FFmpegFrameGrabber hands out the decoder's own frames and
+ * skips swscale, so the frame is never converted to BGR. The planes of such a frame live in the
+ * decoder's AVFrame (frame.opaque), which the decoder reuses, so copy takes them out into a
+ * frame of our own: the Y plane, then the U plane, then the V plane, each with no row padding.
+ * That is 1.5 bytes per pixel against 3 for a BGR frame.
+ *
+ * Each chroma sample covers a 2x2 block of luma samples and is repeated for all four pixels,
+ * the same way swscale upsamples chroma when it converts to BGR without scaling.
+ */
+public final class YuvFrameReader implements PixelRowReader {
+    private final ByteBuffer buffer;
+    private final int frameWidth;
+    private final int originX;
+    private final int originY;
+    private final int width;
+    private final int height;
+    private final int uOffset;
+    private final int vOffset;
+    private final int chromaStride;
+    private final byte[] luma;
+    private final byte[] u;
+    private final byte[] v;
+
+    private YuvFrameReader(Frame frame, ByteBuffer buffer, Rectangle region) {
+        this.buffer = buffer;
+        this.frameWidth = frame.imageWidth;
+        this.originX = region.x;
+        this.originY = region.y;
+        this.width = region.width;
+        this.height = region.height;
+
+        this.chromaStride = (frame.imageWidth + 1) / 2;
+        this.uOffset = frame.imageWidth * frame.imageHeight;
+        this.vOffset = uOffset + chromaStride * ((frame.imageHeight + 1) / 2);
+
+        // Chroma samples from the one under the first pixel to the one under the last
+        int chromaSamples = (originX + width - 1) / 2 - originX / 2 + 1;
+        this.luma = new byte[width];
+        this.u = new byte[chromaSamples];
+        this.v = new byte[chromaSamples];
+    }
+
+    /**
+     * @param pixelFormat an FFmpeg AV_PIX_FMT_* value
+     * @return true if copy can take the planes out of frames in that format
+     */
+    public static boolean isSupported(int pixelFormat) {
+        return pixelFormat == AV_PIX_FMT_YUV420P || pixelFormat == AV_PIX_FMT_YUVJ420P;
+    }
+
+    /**
+     * Copies the planes of a frame grabbed with FrameGrabber.ImageMode.RAW into a new frame that
+     * stays valid after the grabber moves on. The new frame should be closed once it is read.
+     *
+     * @param raw a frame in one of the supported pixel formats, with its AVFrame in opaque
+     * @return a frame holding the three planes back to back
+     */
+    static Frame copy(Frame raw) {
+        AVFrame source = (AVFrame) raw.opaque;
+        if (!isSupported(source.format())) {
+            throw new IllegalArgumentException("Not a planar 4:2:0 YUV frame: pixel format " + source.format());
+        }
+
+        int width = raw.imageWidth;
+        int height = raw.imageHeight;
+        int chromaWidth = (width + 1) / 2;
+        int chromaHeight = (height + 1) / 2;
+        int size = width * height + 2 * chromaWidth * chromaHeight;
+
+        // A single-channel frame tall enough to hold all three planes, cut back to the image height
+        Frame copy = new Frame(width, (size + width - 1) / width, Frame.DEPTH_UBYTE, 1, width);
+        copy.imageHeight = height;
+        copy.timestamp = raw.timestamp;
+        copy.keyFrame = raw.keyFrame;
+
+        ByteBuffer target = (ByteBuffer) copy.image[0];
+        int offset = 0;
+        for (int plane = 0; plane < 3; plane++) {
+            int rowBytes = plane == 0 ? width : chromaWidth;
+            int rows = plane == 0 ? height : chromaHeight;
+            int stride = source.linesize(plane);
+            ByteBuffer planeBuffer = source.data(plane).capacity((long) stride * rows).asByteBuffer();
+
+            for (int row = 0; row < rows; row++, offset += rowBytes) {
+                target.put(offset, planeBuffer, row * stride, rowBytes);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Creates a reader for a frame made by copy.
+     *
+     * @param frame the copied frame
+     * @return a reader for the whole frame
+     */
+    public static YuvFrameReader of(Frame frame) {
+        return of(frame, new Rectangle(0, 0, frame.imageWidth, frame.imageHeight));
+    }
+
+    /**
+     * Creates a reader for a rectangle of a frame made by copy, with row 0 and column 0 at the
+     * rectangle's top-left corner.
+     *
+     * @param frame the copied frame
+     * @param region the part of the frame to read
+     * @return a reader for the pixels inside the region
+     * @throws IllegalArgumentException if the region does not lie inside the frame
+     */
+    public static YuvFrameReader of(Frame frame, Rectangle region) {
+        if (region.isEmpty() || !new Rectangle(0, 0, frame.imageWidth, frame.imageHeight).contains(region)) {
+            throw new IllegalArgumentException("Region does not lie inside the frame");
+        }
+        return new YuvFrameReader(frame, (ByteBuffer) frame.image[0], region);
+    }
+
+    @Override
+    public void readRow(int y, int[] row) {
+        int frameY = originY + y;
+        int firstChroma = originX / 2;
+        int chromaRow = frameY / 2 * chromaStride + firstChroma;
+
+        buffer.get(frameY * frameWidth + originX, luma, 0, width);
+        buffer.get(uOffset + chromaRow, u, 0, u.length);
+        buffer.get(vOffset + chromaRow, v, 0, v.length);
+
+        for (int x = 0; x < width; x++) {
+            int chroma = (originX + x) / 2 - firstChroma;
+            row[x] = (luma[x] & 0xFF) << 16 | (u[chroma] & 0xFF) << 8 | (v[chroma] & 0xFF);
+        }
+    }
+
+    @Override
+    public int width() {
+        return width;
+    }
+
+    @Override
+    public int height() {
+        return height;
+    }
+}
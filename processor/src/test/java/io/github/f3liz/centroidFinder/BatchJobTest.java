@@ -0,0 +1,28 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchJobTest {
+
+    @Test
+    public void testParse_ValidRow() {
+        BatchJob job = BatchJob.parse(3, " videos/a.mp4 , results/a.csv , 2D0508 , 90 ");
+
+        assertEquals(new BatchJob(3, "videos/a.mp4", "results/a.csv", 0x2D0508, 90), job);
+    }
+
+    @Test
+    public void testParse_WrongNumberOfValues() {
+        assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(1, "a.mp4,a.csv,2D0508"));
+        assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(1, "a.mp4,a.csv,2D0508,90,extra"));
+    }
+
+    @Test
+    public void testParse_InvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(1, "a.mp4,a.csv,red,90"));
+        assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(1, "a.mp4,a.csv,2D0508,high"));
+        assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(1, ",a.csv,2D0508,90"));
+        assertThrows(IllegalArgumentException.class, () -> BatchJob.parse(1, "a.mp4, ,2D0508,90"));
+    }
+}
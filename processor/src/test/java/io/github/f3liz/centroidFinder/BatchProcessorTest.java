@@ -0,0 +1,114 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+public class BatchProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String row(Path input, Path output) {
+        return input + "," + output + "," + Integer.toHexString(SyntheticFrames.TARGET_COLOR) + "," + SyntheticFrames.THRESHOLD;
+    }
+
+    @Test
+    public void testRun_SameCsvAsOneVideoAtATime() throws Exception {
+        Path first = SyntheticVideos.clip(tempDir.resolve("first.mp4"), 160, 120, 24, 30, 12);
+        Path second = SyntheticVideos.clip(tempDir.resolve("second.mp4"), 320, 240, 24, 40, 24);
+        ProcessingOptions options = new ProcessingOptions().workers(2).samplingPolicy(SamplingPolicy.everyFrame());
+
+        Path manifest = Files.write(tempDir.resolve("manifest.csv"), List.of(
+                "input,output,color,threshold",
+                "# the second clip is listed twice",
+                row(first, tempDir.resolve("first.csv")),
+                "",
+                row(second, tempDir.resolve("second.csv")),
+                row(second, tempDir.resolve("again.csv"))));
+
+        List<BatchProcessor.JobStatus> statuses = new BatchProcessor(2, options).run(manifest);
+
+        assertEquals(3, statuses.size());
+        assertEquals(List.of(3, 5, 6), statuses.stream().map(BatchProcessor.JobStatus::line).toList());
+        for (BatchProcessor.JobStatus status : statuses) {
+            assertEquals(BatchProcessor.EXIT_OK, status.exitCode(), status.message());
+        }
+
+        // Each CSV matches processing the video on its own
+        for (String name : List.of("first", "second")) {
+            Path single = tempDir.resolve(name + "-single.csv");
+            new VideoProcessor(tempDir.resolve(name + ".mp4").toString(), single.toString(),
+                    SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD,
+                    new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame())).processVideo();
+            assertEquals(Files.readAllLines(single), Files.readAllLines(tempDir.resolve(name + ".csv")));
+        }
+        assertEquals(Files.readAllLines(tempDir.resolve("second.csv")), Files.readAllLines(tempDir.resolve("again.csv")));
+    }
+
+    @Test
+    public void testRun_FailuresGetTheirOwnStatus() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 24, 24, 12);
+
+        Path manifest = Files.write(tempDir.resolve("manifest.csv"), List.of(
+                row(tempDir.resolve("missing.mp4"), tempDir.resolve("missing.csv")),
+                "clip.mp4,clip.csv,not-a-color,60",
+                row(clip, tempDir.resolve("clip.csv"))));
+
+        List<BatchProcessor.JobStatus> statuses = new BatchProcessor(1, new ProcessingOptions()).run(manifest);
+
+        assertEquals(3, statuses.size());
+        assertEquals(BatchProcessor.EXIT_FAILED, statuses.get(0).exitCode());
+        assertFalse(statuses.get(0).message().isEmpty());
+        assertEquals(BatchProcessor.EXIT_INVALID, statuses.get(1).exitCode());
+        assertEquals("clip.mp4,clip.csv,not-a-color,60", statuses.get(1).input());
+        assertEquals(BatchProcessor.EXIT_OK, statuses.get(2).exitCode());
+        assertTrue(Files.exists(tempDir.resolve("clip.csv")));
+    }
+
+    @Test
+    public void testRun_FirstJobStartingWithInputIsNotAHeader() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 24, 24, 12);
+
+        Path manifest = Files.write(tempDir.resolve("manifest.csv"), List.of(
+                "inputs/missing.mp4," + tempDir.resolve("missing.csv") + ",FF0000,60",
+                row(clip, tempDir.resolve("clip.csv"))));
+
+        List<BatchProcessor.JobStatus> statuses = new BatchProcessor(1, new ProcessingOptions()).run(manifest);
+
+        // The first row is a real job, so it gets a status instead of being skipped
+        assertEquals(List.of(1, 2), statuses.stream().map(BatchProcessor.JobStatus::line).toList());
+        assertEquals("inputs/missing.mp4", statuses.get(0).input());
+        assertEquals(BatchProcessor.EXIT_FAILED, statuses.get(0).exitCode());
+        assertEquals(BatchProcessor.EXIT_OK, statuses.get(1).exitCode());
+    }
+
+    @Test
+    public void testRun_HeaderIgnoresCaseAndSpaces() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 24, 24, 12);
+
+        Path manifest = Files.write(tempDir.resolve("manifest.csv"), List.of(
+                "Input, Output, Color, Threshold",
+                row(clip, tempDir.resolve("clip.csv"))));
+
+        List<BatchProcessor.JobStatus> statuses = new BatchProcessor(1, new ProcessingOptions()).run(manifest);
+
+        assertEquals(1, statuses.size());
+        assertEquals(2, statuses.get(0).line());
+        assertEquals(BatchProcessor.EXIT_OK, statuses.get(0).exitCode());
+    }
+
+    @Test
+    public void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BatchProcessor(0, new ProcessingOptions()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new BatchProcessor(1, new ProcessingOptions().workerPool(Executors.newSingleThreadExecutor())));
+        // Segments would start their own threads instead of sharing the batch's pool
+        assertThrows(IllegalArgumentException.class, () -> new BatchProcessor(1, new ProcessingOptions().segments(2)));
+    }
+}
@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.awt.image.BufferedImage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class BinarizingImageGroupFinderTest {
 
@@ -440,4 +441,16 @@ public class BinarizingImageGroupFinderTest {
         assertEquals(new Coordinate(1, 1), result.get(1).centroid());
         assertEquals(new Coordinate(2, 2), result.get(2).centroid());
     }
+
+    @Test
+    public void testFindLargestGroup_UsesGroupFinderOnBinarizedImage() {
+        BufferedImage image = SyntheticFrames.frame(300, 200, BufferedImage.TYPE_3BYTE_BGR, 5, 400, 3);
+        ImageBinarizer binarizer = new DistanceImageBinarizer(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        BinarizingImageGroupFinder finder = new BinarizingImageGroupFinder(binarizer, new RunLengthBinaryGroupFinder());
+
+        List<Group> expected = new BinarizingImageGroupFinder(binarizer, new DfsBinaryGroupFinder()).findConnectedGroups(image);
+
+        assertEquals(Optional.of(expected.get(0)), finder.findLargestGroup(image));
+    }
 }
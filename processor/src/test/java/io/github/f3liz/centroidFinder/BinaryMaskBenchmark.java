@@ -0,0 +1,72 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the per-frame cost of the int[][] binary array against the bit-packed BinaryMask.
+ *
+ * Run with the GC profiler to see the allocated bytes per frame (gc.alloc.rate.norm):
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="BinaryMaskBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryMaskBenchmark {
+    @Param({ "1920x1080", "3840x2160" })
+    public String resolution;
+
+    private BufferedImage frame;
+    private DistanceImageBinarizer binarizer;
+    private DfsBinaryGroupFinder groupFinder;
+    private int[][] array;
+    private BinaryMask mask;
+
+    @Setup
+    public void setUp() {
+        String[] size = resolution.split("x");
+        frame = SyntheticFrames.frame(Integer.parseInt(size[0]), Integer.parseInt(size[1]),
+                BufferedImage.TYPE_3BYTE_BGR, 6, 2000, 42);
+        binarizer = new DistanceImageBinarizer(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        groupFinder = new DfsBinaryGroupFinder();
+        mask = binarizer.toBinaryMask(frame);
+        array = mask.toArray();
+    }
+
+    @Benchmark
+    public int[][] binarizeToArray() {
+        return binarizer.toBinaryArray(frame);
+    }
+
+    @Benchmark
+    public BinaryMask binarizeToMask() {
+        return binarizer.toBinaryMask(frame);
+    }
+
+    @Benchmark
+    public List<Group> labelArray() {
+        return groupFinder.findConnectedGroups(array);
+    }
+
+    @Benchmark
+    public List<Group> labelMask() {
+        return groupFinder.findConnectedGroups(mask);
+    }
+}
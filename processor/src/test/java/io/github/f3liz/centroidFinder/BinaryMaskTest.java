@@ -0,0 +1,125 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryMaskTest {
+
+    @Test
+    public void testFromArrayAndToArray_RoundTrip() {
+        int[][] image = new int[][]{
+            {1, 0, 0, 1},
+            {0, 1, 0, 0},
+            {0, 0, 0, 0},
+            {1, 0, 1, 1}
+        };
+
+        BinaryMask mask = BinaryMask.fromArray(image);
+
+        assertEquals(4, mask.width());
+        assertEquals(4, mask.height());
+        assertEquals(6, mask.cardinality());
+        assertTrue(mask.get(3, 0));
+        assertFalse(mask.get(2, 0));
+        assertArrayEquals(image, mask.toArray());
+    }
+
+    @Test
+    public void testWideRowsSpanMultipleWords() {
+        BinaryMask mask = new BinaryMask(130, 2);
+        mask.set(0, 0);
+        mask.set(63, 0);
+        mask.set(64, 0);
+        mask.set(129, 1);
+
+        assertEquals(3, mask.wordsPerRow());
+        assertTrue(mask.get(63, 0));
+        assertTrue(mask.get(64, 0));
+        assertFalse(mask.get(129, 0));
+        assertTrue(mask.get(129, 1));
+
+        mask.clear(63, 0);
+        assertFalse(mask.get(63, 0));
+        assertEquals(3, mask.cardinality());
+    }
+
+    @Test
+    public void testNextSetBitAndNextClearBit() {
+        BinaryMask mask = new BinaryMask(200, 1);
+        for (int x = 60; x < 140; x++) {
+            mask.set(x, 0);
+        }
+
+        assertEquals(60, mask.nextSetBit(0, 0));
+        assertEquals(100, mask.nextSetBit(0, 100));
+        assertEquals(-1, mask.nextSetBit(0, 140));
+        assertEquals(-1, mask.nextSetBit(0, 200));
+
+        assertEquals(0, mask.nextClearBit(0, 0));
+        assertEquals(140, mask.nextClearBit(0, 60));
+        assertEquals(200, mask.nextClearBit(0, 200));
+    }
+
+    @Test
+    public void testNextClearBit_FullRowReturnsWidth() {
+        BinaryMask mask = new BinaryMask(70, 1);
+        for (int x = 0; x < 70; x++) {
+            mask.set(x, 0);
+        }
+
+        assertEquals(70, mask.nextClearBit(0, 0));
+    }
+
+    @Test
+    public void testSetWord_IgnoresBitsPastWidth() {
+        BinaryMask mask = new BinaryMask(70, 1);
+        mask.setWord(0, 1, -1L);
+
+        assertEquals(6, mask.cardinality());
+        assertEquals(70, mask.nextClearBit(0, 64));
+    }
+
+    @Test
+    public void testClear() {
+        BinaryMask mask = BinaryMask.fromArray(new int[][]{{1, 1}, {1, 1}});
+        mask.clear();
+
+        assertEquals(0, mask.cardinality());
+        assertEquals(new BinaryMask(2, 2), mask);
+    }
+
+    @Test
+    public void testFromArray_NullSubArray() {
+        int[][] image = new int[][]{{1, 0}, null};
+
+        Exception exception = assertThrows(NullPointerException.class, () -> {
+            BinaryMask.fromArray(image);
+        });
+        assertEquals("Null array or subarray", exception.getMessage());
+    }
+
+    @Test
+    public void testFromArray_RaggedArray() {
+        int[][] image = new int[][]{{1, 0}, {1}};
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            BinaryMask.fromArray(image);
+        });
+        assertEquals("Invalid array", exception.getMessage());
+    }
+
+    @Test
+    public void testFromArray_EmptyArray() {
+        BinaryMask mask = BinaryMask.fromArray(new int[0][0]);
+
+        assertEquals(0, mask.width());
+        assertEquals(0, mask.height());
+        assertEquals(0, mask.toArray().length);
+    }
+
+    @Test
+    public void testConstructor_InvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BinaryMask(-1, 5));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryMask(5, -1));
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BlobTest {
+
+    private static final RunLengthBinaryGroupFinder FINDER = new RunLengthBinaryGroupFinder();
+
+    private static Blob onlyBlob(int[][] image) {
+        List<Blob> blobs = FINDER.findBlobs(BinaryMask.fromArray(image));
+        assertEquals(1, blobs.size());
+        return blobs.get(0);
+    }
+
+    @Test
+    public void testBlob_SinglePixel() {
+        Blob blob = onlyBlob(new int[][]{
+            {0, 0, 0},
+            {0, 0, 1},
+        });
+
+        assertEquals(new Blob(1, 2, 1, 2, 1, 2, 1, 0, 0), blob);
+        assertEquals(new Group(1, new Coordinate(2, 1)), blob.toGroup());
+    }
+
+    @Test
+    public void testBlob_SubPixelCentroid() {
+        Blob blob = onlyBlob(new int[][]{
+            {0, 1, 1, 0},
+            {0, 1, 1, 1},
+        });
+
+        assertEquals(5, blob.area());
+        assertEquals(9.0 / 5, blob.centroidX(), 1e-12);
+        assertEquals(3.0 / 5, blob.centroidY(), 1e-12);
+        assertEquals(3, blob.width());
+        assertEquals(2, blob.height());
+        assertEquals(new Group(5, new Coordinate(1, 0)), blob.toGroup());
+    }
+
+    @Test
+    public void testBlob_SquareHasNoDirection() {
+        int[][] image = new int[6][6];
+        for (int y = 1; y < 5; y++) {
+            for (int x = 1; x < 5; x++) {
+                image[y][x] = 1;
+            }
+        }
+
+        Blob blob = onlyBlob(image);
+
+        assertEquals(2.5, blob.centroidX(), 1e-12);
+        assertEquals(2.5, blob.centroidY(), 1e-12);
+        assertEquals(0, blob.orientation(), 1e-12);
+        assertEquals(0, blob.eccentricity(), 1e-12);
+    }
+
+    @Test
+    public void testBlob_LinesPointAlongTheirAxis() {
+        Blob horizontal = onlyBlob(new int[][]{
+            {0, 0, 0, 0, 0},
+            {1, 1, 1, 1, 1},
+        });
+        assertEquals(0, horizontal.orientation(), 1e-12);
+        assertEquals(1, horizontal.eccentricity(), 1e-12);
+
+        Blob vertical = onlyBlob(new int[][]{
+            {0, 1},
+            {0, 1},
+            {0, 1},
+        });
+        assertEquals(Math.PI / 2, vertical.orientation(), 1e-12);
+        assertEquals(1, vertical.eccentricity(), 1e-12);
+
+        // A band going down and to the right, which is clockwise on screen
+        Blob diagonal = onlyBlob(new int[][]{
+            {1, 1, 0, 0, 0},
+            {1, 1, 1, 0, 0},
+            {0, 1, 1, 1, 0},
+            {0, 0, 1, 1, 1},
+            {0, 0, 0, 1, 1},
+        });
+        assertEquals(Math.PI / 4, diagonal.orientation(), 1e-12);
+        assertTrue(diagonal.eccentricity() > 0.9);
+    }
+
+    @Test
+    public void testBlob_TiltedEllipse() {
+        // Rasterize an ellipse with semi-axes 40 and 10 turned 30 degrees and check both readings
+        double angle = Math.toRadians(30);
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        int[][] image = new int[120][120];
+        for (int y = 0; y < 120; y++) {
+            for (int x = 0; x < 120; x++) {
+                double dx = x - 60.3;
+                double dy = y - 59.6;
+                double u = dx * cos + dy * sin;
+                double v = -dx * sin + dy * cos;
+                if ((u / 40) * (u / 40) + (v / 10) * (v / 10) <= 1) {
+                    image[y][x] = 1;
+                }
+            }
+        }
+
+        Blob blob = onlyBlob(image);
+
+        assertEquals(60.3, blob.centroidX(), 0.05);
+        assertEquals(59.6, blob.centroidY(), 0.05);
+        assertEquals(angle, blob.orientation(), 0.01);
+        assertEquals(Math.sqrt(1 - 1.0 / 16), blob.eccentricity(), 0.01);
+    }
+
+    @Test
+    public void testBlob_ToGroupMatchesIntegerDivision() {
+        double[] densities = { 0.1, 0.5, 0.7 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(97, 61, densities[i], i);
+            List<Group> fromBlobs = new ArrayList<>(FINDER.findBlobs(mask).stream().map(Blob::toGroup).toList());
+
+            // Blobs sort by their exact centroid, so put the rounded ones back in Group order
+            fromBlobs.sort(Collections.reverseOrder());
+            assertEquals(FINDER.findConnectedGroups(mask), fromBlobs, "density " + densities[i]);
+        }
+    }
+}
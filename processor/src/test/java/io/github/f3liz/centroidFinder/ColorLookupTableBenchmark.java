@@ -0,0 +1,58 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the one-off cost of compiling a ColorLookupTable and the per-frame cost of binarizing
+ * a 1080p frame with the table against computing the distance for every pixel.
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="ColorLookupTableBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColorLookupTableBenchmark {
+    private BufferedImage frame;
+    private ColorPredicate distancePredicate;
+    private DistanceImageBinarizer distanceBinarizer;
+    private DistanceImageBinarizer tableBinarizer;
+
+    @Setup
+    public void setUp() {
+        frame = SyntheticFrames.frame(1920, 1080, BufferedImage.TYPE_3BYTE_BGR, 6, 2000, 42);
+        distancePredicate = ColorPredicate.withinDistance(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        distanceBinarizer = new DistanceImageBinarizer(distancePredicate);
+        tableBinarizer = new DistanceImageBinarizer(ColorLookupTable.compile(distancePredicate));
+    }
+
+    @Benchmark
+    public ColorLookupTable compileTable() {
+        return ColorLookupTable.compile(distancePredicate);
+    }
+
+    @Benchmark
+    public BinaryMask binarizeWithDistance() {
+        return distanceBinarizer.toBinaryMask(frame);
+    }
+
+    @Benchmark
+    public BinaryMask binarizeWithTable() {
+        return tableBinarizer.toBinaryMask(frame);
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ColorLookupTableTest {
+
+    @Test
+    public void testCompile_MatchesPredicateForEveryColor() {
+        ColorPredicate predicate = ColorPredicate.withinDistance(new EuclideanColorDistance(), 0x2D0508, 90);
+        ColorLookupTable table = ColorLookupTable.compile(predicate);
+
+        for (int rgb = 0; rgb < (1 << 24); rgb++) {
+            if (table.matches(rgb) != predicate.matches(rgb)) {
+                fail("Mismatch for color " + Integer.toHexString(rgb));
+            }
+        }
+    }
+
+    @Test
+    public void testMatches_ThresholdIsInclusive() {
+        // (0, 3, 4) is exactly 5 away from black
+        ColorLookupTable table = ColorLookupTable.compile(
+                ColorPredicate.withinDistance(new EuclideanColorDistance(), 0x000000, 5));
+
+        assertTrue(table.matches(0x000304));
+        assertFalse(table.matches(0x000305));
+    }
+
+    @Test
+    public void testMatches_IgnoresAlpha() {
+        ColorLookupTable table = ColorLookupTable.compile(rgb -> rgb == 0x123456);
+
+        assertTrue(table.matches(0x123456));
+        assertTrue(table.matches(0xFF123456));
+        assertEquals(1, table.matchingColorCount());
+    }
+
+    @Test
+    public void testForDistance_ReusesCachedTable() {
+        ColorLookupTable first = ColorLookupTable.forDistance(new EuclideanColorDistance(), 0xFF0000, 40);
+        ColorLookupTable second = ColorLookupTable.forDistance(new EuclideanColorDistance(), 0xFF0000, 40);
+        ColorLookupTable other = ColorLookupTable.forDistance(new EuclideanColorDistance(), 0xFF0000, 41);
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    @Test
+    public void testForDistance_BuildDoesNotHoldUpOtherTables() throws Exception {
+        ColorLookupTable cached = ColorLookupTable.forDistance(new EuclideanColorDistance(), 0x00FF00, 30);
+
+        // A distance that stalls until released, so its table's build stays in progress
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ColorDistanceFinder stalled = (colorA, colorB) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 0;
+        };
+
+        AtomicReference<ColorLookupTable> built = new AtomicReference<>();
+        Thread builder = new Thread(() -> built.set(ColorLookupTable.forDistance(stalled, 0x000000, 0)));
+        builder.start();
+        try {
+            assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+            // The table that is already cached comes straight back while the other one is built
+            assertSame(cached, assertTimeoutPreemptively(Duration.ofSeconds(5),
+                    () -> ColorLookupTable.forDistance(new EuclideanColorDistance(), 0x00FF00, 30)));
+        } finally {
+            release.countDown();
+            builder.join();
+        }
+        assertEquals(1 << 24, built.get().matchingColorCount());
+        assertSame(built.get(), ColorLookupTable.forDistance(stalled, 0x000000, 0));
+    }
+
+    @Test
+    public void testForYuvDistance_MatchesRgbTestOnConvertedColor() {
+        ColorPredicate rgbTest = ColorPredicate.withinDistance(new EuclideanColorDistance(), 0x2D0508, 90);
+
+        for (YuvColorSpace colorSpace : YuvColorSpace.values()) {
+            ColorLookupTable table = ColorLookupTable.forYuvDistance(new EuclideanColorDistance(), 0x2D0508, 90, colorSpace);
+
+            for (int yuv = 0; yuv < (1 << 24); yuv += 97) {
+                if (table.matches(yuv) != rgbTest.matches(colorSpace.toRgb(yuv))) {
+                    fail(colorSpace + " mismatch for sample " + Integer.toHexString(yuv));
+                }
+            }
+            assertSame(table, ColorLookupTable.forYuvDistance(new EuclideanColorDistance(), 0x2D0508, 90, colorSpace));
+        }
+        assertNotSame(ColorLookupTable.forDistance(new EuclideanColorDistance(), 0x2D0508, 90),
+                ColorLookupTable.forYuvDistance(new EuclideanColorDistance(), 0x2D0508, 90, YuvColorSpace.BT601_FULL));
+    }
+
+    @Test
+    public void testBinarizerWithTableMatchesDistanceBinarizer() {
+        BufferedImage image = SyntheticFrames.frame(200, 120, BufferedImage.TYPE_3BYTE_BGR, 4, 300, 3);
+
+        DistanceImageBinarizer direct = new DistanceImageBinarizer(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        DistanceImageBinarizer lookup = new DistanceImageBinarizer(ColorLookupTable.forDistance(
+                new EuclideanColorDistance(), SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD));
+
+        assertEquals(direct.toBinaryMask(image), lookup.toBinaryMask(image));
+    }
+}
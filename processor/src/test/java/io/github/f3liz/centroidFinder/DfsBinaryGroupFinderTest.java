@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 
 import java.util.List;
+import java.util.Optional;
 
 public class DfsBinaryGroupFinderTest {
 
@@ -189,4 +190,76 @@ public class DfsBinaryGroupFinderTest {
         assertEquals(0, group6.centroid().x());
         assertEquals(7, group6.centroid().y());
     }
+
+    @Test
+    public void testDfsBinaryGroupFinder_MaskMatchesArray() {
+        int[][] image = new int[][]{
+            {0, 1, 0, 0, 1, 0, 0, 0, 0, 1},
+            {1, 1, 1, 0, 1, 0, 0, 0, 0, 1},
+            {0, 1, 0, 1, 1, 1, 0, 0, 0, 1},
+            {0, 0, 0, 0, 1, 0, 0, 0, 0, 0},
+            {1, 1, 1, 0, 0, 1, 1, 1, 1, 1},
+        };
+
+        DfsBinaryGroupFinder finder = new DfsBinaryGroupFinder();
+
+        assertEquals(finder.findConnectedGroups(image), finder.findConnectedGroups(BinaryMask.fromArray(image)));
+    }
+
+    @Test
+    public void testDfsBinaryGroupFinder_NullMask() {
+        DfsBinaryGroupFinder finder = new DfsBinaryGroupFinder();
+
+        assertThrows(NullPointerException.class, () -> {
+            finder.findConnectedGroups((BinaryMask) null);
+        });
+    }
+
+    @Test
+    public void testDfsBinaryGroupFinder_FindLargestGroupMatchesFirstGroup() {
+        DfsBinaryGroupFinder finder = new DfsBinaryGroupFinder();
+
+        // Sparse masks are full of single-pixel groups, so ties on size are common
+        double[] densities = { 0.02, 0.3, 0.6 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(101, 67, densities[i], i);
+            List<Group> groups = finder.findConnectedGroups(mask);
+            assertEquals(Optional.of(groups.get(0)), finder.findLargestGroup(mask), "density " + densities[i]);
+        }
+
+        assertEquals(Optional.empty(), finder.findLargestGroup(new BinaryMask(10, 10)));
+    }
+
+    // Coordinate sums of a 3840 x 300 block pass Integer.MAX_VALUE
+    @Test
+    public void testDfsBinaryGroupFinder_LargeGroupDoesNotOverflow() {
+        BinaryMask mask = new BinaryMask(3840, 300);
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 3840; x++) {
+                mask.set(x, y);
+            }
+        }
+
+        DfsBinaryGroupFinder finder = new DfsBinaryGroupFinder();
+
+        assertEquals(List.of(new Group(3840 * 300, new Coordinate(1919, 149))), finder.findConnectedGroups(mask));
+
+        Blob blob = finder.findBlobs(mask).get(0);
+        assertEquals(1919.5, blob.centroidX(), 1e-9);
+        assertEquals(149.5, blob.centroidY(), 1e-9);
+        assertEquals(0, blob.orientation(), 1e-12);
+    }
+
+    @Test
+    public void testDfsBinaryGroupFinder_FindBlobsMatchesRunLength() {
+        DfsBinaryGroupFinder dfs = new DfsBinaryGroupFinder();
+        RunLengthBinaryGroupFinder runLength = new RunLengthBinaryGroupFinder();
+
+        // The two finders sum the same moments in different ways: pixel by pixel and run by run
+        double[] densities = { 0.05, 0.4, 0.6, 0.9 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(113, 71, densities[i], i);
+            assertEquals(runLength.findBlobs(mask), dfs.findBlobs(mask), "density " + densities[i]);
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+public class DirtyTileGroupFinderTest {
+    private static final RowClassifier TARGET =
+            RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, false);
+    private static final RowClassifier GREEN = RowClassifier.withinEuclideanDistance(0x00FF00, 60, false);
+
+    @Test
+    public void testFindLargestGroups_MatchesFullScanOnMovingDiscs() {
+        // 100 is not a multiple of the tile size or of 64, so the last tiles and mask words are partial
+        DirtyTileGroupFinder finder = new DirtyTileGroupFinder(List.of(TARGET, GREEN), 330, 100, 24, 0);
+
+        for (int i = 0; i < 40; i++) {
+            BufferedImage image = SyntheticFrames.discs(330, 100,
+                    new int[] {20 + 7 * i, 50, 30},
+                    new int[] {300 - 3 * i, 20 + i, 16, 0x00FF00});
+
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image), SyntheticFrames.fullScan(GREEN, image)),
+                    finder.findLargestGroups(RgbRasterReader.of(image)));
+        }
+
+        // Only the tiles around the two discs change after the first frame
+        assertEquals(40, finder.frames());
+        assertEquals(0, finder.reusedFrames());
+        assertTrue(finder.tilesClassified() < finder.tilesPerFrame() + 39 * finder.tilesPerFrame() / 4,
+                "tiles classified: " + finder.tilesClassified());
+    }
+
+    @Test
+    public void testFindLargestGroups_ReusesResultOfUnchangedFrame() {
+        DirtyTileGroupFinder finder = new DirtyTileGroupFinder(List.of(TARGET), 200, 150, 32, 0);
+        BufferedImage image = SyntheticFrames.discs(200, 150, new int[] {60, 70, 40});
+
+        List<Optional<Group>> first = finder.findLargestGroups(RgbRasterReader.of(image));
+        long tiles = finder.tilesClassified();
+
+        assertSame(first, finder.findLargestGroups(RgbRasterReader.of(image)));
+        assertEquals(1, finder.reusedFrames());
+        assertEquals(tiles, finder.tilesClassified());
+
+        // A single changed pixel is enough to classify its tile again
+        image.setRGB(199, 149, SyntheticFrames.TARGET_COLOR);
+        assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image)), finder.findLargestGroups(RgbRasterReader.of(image)));
+        assertEquals(tiles + 1, finder.tilesClassified());
+    }
+
+    @Test
+    public void testFindLargestGroups_ToleranceSkipsSmallChanges() {
+        DirtyTileGroupFinder finder = new DirtyTileGroupFinder(List.of(TARGET), 64, 64, 16, 8);
+        BufferedImage image = SyntheticFrames.discs(64, 64, new int[] {32, 32, 20});
+        finder.findLargestGroups(RgbRasterReader.of(image));
+
+        // Every channel of the background moves by 8, which the tolerance allows
+        BufferedImage noisy = SyntheticFrames.discs(64, 64, new int[] {32, 32, 20});
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                if (noisy.getRGB(x, y) == (0xFF000000 | SyntheticFrames.BACKGROUND)) noisy.setRGB(x, y, 0x283830);
+            }
+        }
+        finder.findLargestGroups(RgbRasterReader.of(noisy));
+        assertEquals(1, finder.reusedFrames());
+
+        // A change of 9 is past it
+        noisy.setRGB(3, 3, 0x313830);
+        finder.findLargestGroups(RgbRasterReader.of(noisy));
+        assertEquals(1, finder.reusedFrames());
+        assertEquals(16 + 1, finder.tilesClassified());
+    }
+
+    @Test
+    public void testFindLargestGroups_RejectsOtherFrameSize() {
+        DirtyTileGroupFinder finder = new DirtyTileGroupFinder(List.of(TARGET), 64, 64, 16, 0);
+        assertThrows(IllegalArgumentException.class, () -> finder.findLargestGroups(RgbRasterReader.of(SyntheticFrames.discs(64, 32))));
+        assertThrows(IllegalArgumentException.class, () -> new DirtyTileGroupFinder(List.of(TARGET), 64, 64, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new DirtyTileGroupFinder(List.of(TARGET), 64, 64, 16, -1));
+    }
+}
@@ -276,4 +276,37 @@ public void testToBufferedImage_LargerImage() {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testToBinaryMask_MatchesToBinaryArray() {
+        BufferedImage image = new BufferedImage(70, 3, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < 70; x += 3) {
+            image.setRGB(x, x % 3, new Color(255, 0, 0).getRGB());
+        }
+
+        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(new EuclideanColorDistance(), 0xFF0000, 50);
+
+        BinaryMask mask = binarizer.toBinaryMask(image);
+
+        assertEquals(70, mask.width());
+        assertEquals(3, mask.height());
+        assertEquals(24, mask.cardinality());
+        assertArrayEquals(binarizer.toBinaryArray(image), mask.toArray());
+    }
+
+    @Test
+    public void testToBufferedImage_FromMask() {
+        BinaryMask mask = BinaryMask.fromArray(new int[][]{
+                { 1, 0 },
+                { 0, 1 }
+        });
+
+        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(new EuclideanColorDistance(), 0xFFFFFF, 100);
+        BufferedImage image = binarizer.toBufferedImage(mask);
+
+        assertEquals(0xFFFFFF, image.getRGB(0, 0) & 0xFFFFFF);
+        assertEquals(0x000000, image.getRGB(1, 0) & 0xFFFFFF);
+        assertEquals(0x000000, image.getRGB(0, 1) & 0xFFFFFF);
+        assertEquals(0xFFFFFF, image.getRGB(1, 1) & 0xFFFFFF);
+    }
+}
@@ -0,0 +1,61 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+
+public class FrameRegionTest {
+
+    @Test
+    public void testWholeFrame_NothingChanges() {
+        FrameRegion region = FrameRegion.of(816, 720, null, 1);
+
+        assertFalse(region.isScaled());
+        assertEquals(new Rectangle(0, 0, 816, 720), region.crop());
+        assertEquals(new Coordinate(0, 0), region.toFullFrame(new Coordinate(0, 0)));
+        assertEquals(new Coordinate(815, 719), region.toFullFrame(new Coordinate(815, 719)));
+    }
+
+    @Test
+    public void testRegionOfInterest_OffsetIsAddedBack() {
+        FrameRegion region = FrameRegion.of(816, 720, new Rectangle(100, 50, 400, 300), 1);
+
+        assertEquals(new Rectangle(100, 50, 400, 300), region.crop());
+        assertEquals(new Coordinate(100, 50), region.toFullFrame(new Coordinate(0, 0)));
+        assertEquals(new Coordinate(350, 199), region.toFullFrame(new Coordinate(250, 149)));
+    }
+
+    @Test
+    public void testScale_CropCoversTheRegionInDownscaledPixels() {
+        FrameRegion region = FrameRegion.of(800, 600, new Rectangle(101, 51, 399, 299), 0.25);
+
+        assertTrue(region.isScaled());
+        // 101 / 4 = 25.25 rounds down and 350 / 4 = 87.5 rounds up, so the crop covers every overlapping pixel
+        assertEquals(new Rectangle(25, 12, 100, 76), region.crop());
+    }
+
+    @Test
+    public void testScale_MapsToTheCenterOfTheDownscaledPixel() {
+        FrameRegion region = FrameRegion.of(800, 600, null, 0.5);
+
+        assertEquals(new Rectangle(0, 0, 400, 300), region.crop());
+        assertEquals(new Coordinate(1, 1), region.toFullFrame(new Coordinate(0, 0)));
+        assertEquals(new Coordinate(201, 101), region.toFullFrame(new Coordinate(100, 50)));
+    }
+
+    @Test
+    public void testScale_MappedCoordinatesStayInsideTheRegion() {
+        FrameRegion region = FrameRegion.of(800, 600, new Rectangle(101, 51, 399, 299), 0.25);
+
+        // The centers of the corner pixels, (25.5 * 4, 12.5 * 4) and (124.5 * 4, 87.5 * 4), pulled inside
+        assertEquals(new Coordinate(102, 51), region.toFullFrame(new Coordinate(0, 0)));
+        assertEquals(new Coordinate(498, 349), region.toFullFrame(new Coordinate(99, 75)));
+    }
+
+    @Test
+    public void testRegionOutsideTheFrame() {
+        assertThrows(IllegalArgumentException.class, () -> FrameRegion.of(816, 720, new Rectangle(500, 0, 400, 100), 1));
+        assertThrows(IllegalArgumentException.class, () -> FrameRegion.of(816, 720, new Rectangle(0, 0, 0, 100), 1));
+    }
+}
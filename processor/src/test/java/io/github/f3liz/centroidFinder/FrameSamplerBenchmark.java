@@ -0,0 +1,86 @@
+package io.github.f3liz.centroidFinder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to pick one frame per second out of a whole clip by seeking to
+ * each second against decoding every frame in order. Only the decoding is timed; the frames
+ * are not analyzed.
+ *
+ * The synthetic clips are 60 seconds of 1280x720 at 30 fps, with a keyframe every 12 or every
+ * 250 frames (the usual libx264 default).
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="FrameSamplerBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FrameSamplerBenchmark {
+    @Param({ "salamander", "gop12", "gop250" })
+    public String clip;
+
+    @Param({ "seek", "sequential" })
+    public String mode;
+
+    private Path tempDir;
+    private String inputPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        avutil.av_log_set_level(avutil.AV_LOG_ERROR);
+
+        if (clip.equals("salamander")) {
+            inputPath = VideoProcessorTest.SAMPLE_VIDEO.toString();
+            return;
+        }
+
+        tempDir = Files.createTempDirectory("frame-sampler");
+        int keyframeInterval = Integer.parseInt(clip.substring("gop".length()));
+        inputPath = SyntheticVideos.clip(tempDir.resolve(clip + ".mp4"), 1280, 720, 30, 60 * 30, keyframeInterval).toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (tempDir != null) {
+            Files.deleteIfExists(tempDir.resolve(clip + ".mp4"));
+            Files.deleteIfExists(tempDir);
+        }
+    }
+
+    @Benchmark
+    public int sampleEverySecond() throws Exception {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(inputPath)) {
+            grabber.start();
+
+            FrameSampler sampler = FrameSampler.create(grabber, DecodeMode.valueOf(mode.toUpperCase()), SamplingPolicy.targetFps(1));
+
+            int samples = 0;
+            for (FrameSample sample = sampler.next(); sample != null; sample = sampler.next()) {
+                sample.frame().close();
+                samples++;
+            }
+            return samples;
+        }
+    }
+}
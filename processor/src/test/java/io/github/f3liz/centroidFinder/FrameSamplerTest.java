@@ -0,0 +1,188 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+
+public class FrameSamplerTest {
+    private static final int FRAME_RATE = 30;
+    private static final long FRAME_DURATION = 1_000_000L / FRAME_RATE;
+
+    @TempDir
+    static Path tempDir;
+
+    // 4 seconds at 30 fps with a keyframe every 25 frames
+    private static Path clip;
+
+    @BeforeAll
+    static void writeClip() throws Exception {
+        clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, FRAME_RATE, 120, 25);
+    }
+
+    // Runs a sampler to the end and collects {sampleTime, frameTime} for every sample
+    private static List<long[]> sampleAll(DecodeMode mode, SamplingPolicy policy) throws Exception {
+        return sampleRange(mode, policy, 0, Long.MAX_VALUE);
+    }
+
+    // Same as sampleAll, for the sample times in [startTime, endTime) only
+    private static List<long[]> sampleRange(DecodeMode mode, SamplingPolicy policy, long startTime, long endTime) throws Exception {
+        List<long[]> samples = new ArrayList<>();
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(clip.toFile())) {
+            grabber.start();
+
+            FrameSampler sampler = FrameSampler.create(grabber, mode, policy, startTime, endTime);
+            for (FrameSample sample = sampler.next(); sample != null; sample = sampler.next()) {
+                samples.add(new long[]{ sample.sampleTime(), sample.frameTime() });
+                sample.frame().close();
+            }
+        }
+        return samples;
+    }
+
+    @Test
+    public void testSequential_FirstFrameAtOrAfterEachSampleTime() throws Exception {
+        List<long[]> samples = sampleAll(DecodeMode.SEQUENTIAL, SamplingPolicy.targetFps(2));
+
+        assertEquals(8, samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            long sampleTime = samples.get(i)[0];
+            long frameTime = samples.get(i)[1];
+
+            assertEquals(i * 500_000L, sampleTime);
+            assertTrue(frameTime >= sampleTime, "frame before sample " + i);
+            assertTrue(frameTime - sampleTime < FRAME_DURATION, "skipped a frame at sample " + i);
+        }
+    }
+
+    @Test
+    public void testSeekAndSequential_PickTheSameFrames() throws Exception {
+        SamplingPolicy[] policies = {
+            SamplingPolicy.targetFps(1), SamplingPolicy.targetFps(3), SamplingPolicy.targetFps(7.5),
+            SamplingPolicy.targetFps(100), SamplingPolicy.everyNthFrame(7), SamplingPolicy.everyFrame()
+        };
+        for (SamplingPolicy policy : policies) {
+            List<long[]> seek = sampleAll(DecodeMode.SEEK, policy);
+            List<long[]> sequential = sampleAll(DecodeMode.SEQUENTIAL, policy);
+
+            assertEquals(sequential.size(), seek.size(), policy.toString());
+            for (int i = 0; i < seek.size(); i++) {
+                assertArrayEquals(sequential.get(i), seek.get(i), policy + ", sample " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testEveryFrame_EachFrameOnce() throws Exception {
+        List<long[]> samples = sampleAll(DecodeMode.SEQUENTIAL, SamplingPolicy.everyFrame());
+
+        assertEquals(120, samples.size());
+        for (int i = 1; i < samples.size(); i++) {
+            long step = samples.get(i)[1] - samples.get(i - 1)[1];
+            assertTrue(Math.abs(step - FRAME_DURATION) <= 1, "gap before frame " + i);
+        }
+    }
+
+    @Test
+    public void testEveryNthFrame_FramesAreNApart() throws Exception {
+        List<long[]> samples = sampleAll(DecodeMode.SEQUENTIAL, SamplingPolicy.everyNthFrame(10));
+
+        assertEquals(12, samples.size());
+        for (int i = 0; i < samples.size(); i++) {
+            assertEquals(Math.round(i * 10 * 1_000_000.0 / FRAME_RATE), samples.get(i)[1], 1, "sample " + i);
+        }
+    }
+
+    @Test
+    public void testTargetFpsAboveFrameRate_NoFrameTwice() throws Exception {
+        // 100 sample times a second against 30 frames a second: every frame once, nothing repeated
+        assertEquals(120, sampleAll(DecodeMode.SEQUENTIAL, SamplingPolicy.targetFps(100)).size());
+        assertEquals(120, sampleAll(DecodeMode.SEEK, SamplingPolicy.targetFps(100)).size());
+    }
+
+    @Test
+    public void testSamplingStopsAtTheEnd() throws Exception {
+        // Samples at 0, 1, 2 and 3 seconds of a 4 second clip; there is no frame at or after 4 seconds
+        assertEquals(4, sampleAll(DecodeMode.SEQUENTIAL, SamplingPolicy.targetFps(1)).size());
+        assertEquals(4, sampleAll(DecodeMode.SEEK, SamplingPolicy.targetFps(1)).size());
+    }
+
+    @Test
+    public void testRange_SampleTimesInsideTheRange() throws Exception {
+        for (DecodeMode mode : new DecodeMode[]{ DecodeMode.SEEK, DecodeMode.SEQUENTIAL }) {
+            // 1.3 s falls between keyframes, so the sampler has to decode forward from the one before it
+            List<long[]> samples = sampleRange(mode, SamplingPolicy.targetFps(2), 1_300_000, 3_000_000);
+
+            assertEquals(3, samples.size(), mode.toString());
+            assertEquals(1_500_000, samples.get(0)[0]);
+            assertEquals(2_500_000, samples.get(2)[0]);
+        }
+    }
+
+    @Test
+    public void testRanges_JoinToTheWholeClip() throws Exception {
+        SamplingPolicy[] policies = { SamplingPolicy.targetFps(3), SamplingPolicy.everyNthFrame(7), SamplingPolicy.everyFrame() };
+        long[] edges = { 0, 900_000, 1_650_000, 2_999_999, Long.MAX_VALUE };
+
+        for (SamplingPolicy policy : policies) {
+            List<long[]> whole = sampleAll(DecodeMode.SEQUENTIAL, policy);
+
+            for (DecodeMode mode : new DecodeMode[]{ DecodeMode.SEEK, DecodeMode.SEQUENTIAL }) {
+                // Join the ranges the way VideoProcessor does, dropping a frame the previous range already used
+                List<long[]> joined = new ArrayList<>();
+                for (int i = 0; i + 1 < edges.length; i++) {
+                    for (long[] sample : sampleRange(mode, policy, edges[i], edges[i + 1])) {
+                        if (joined.isEmpty() || sample[1] > joined.get(joined.size() - 1)[1]) joined.add(sample);
+                    }
+                }
+
+                assertEquals(whole.size(), joined.size(), policy + " " + mode);
+                for (int i = 0; i < whole.size(); i++) {
+                    assertEquals(whole.get(i)[1], joined.get(i)[1], policy + " " + mode + ", sample " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testFirstSampleAtOrAfter() {
+        assertEquals(0, FrameSampler.firstSampleAtOrAfter(SamplingPolicy.targetFps(2), 30, 0));
+        assertEquals(3, FrameSampler.firstSampleAtOrAfter(SamplingPolicy.targetFps(2), 30, 1_000_001));
+        assertEquals(2, FrameSampler.firstSampleAtOrAfter(SamplingPolicy.targetFps(2), 30, 1_000_000));
+        assertEquals(30, FrameSampler.firstSampleAtOrAfter(SamplingPolicy.everyFrame(), 30, 983_000));
+    }
+
+    @Test
+    public void testProbeKeyframeInterval() throws Exception {
+        assertEquals(25, FrameSampler.probeKeyframeInterval(clip.toString()));
+    }
+
+    @Test
+    public void testChoose_SequentialWhenSamplesAreCloserThanKeyframes() {
+        // 30 frames between samples against half of a 250 frame GOP
+        assertEquals(DecodeMode.SEQUENTIAL, FrameSampler.choose(30, 1_000_000L, 250));
+        // Every frame is a sample
+        assertEquals(DecodeMode.SEQUENTIAL, FrameSampler.choose(30, 33_333L, 12));
+    }
+
+    @Test
+    public void testChoose_SeekWhenSamplesAreFarApart() {
+        // 30 frames between samples against half of a 12 frame GOP
+        assertEquals(DecodeMode.SEEK, FrameSampler.choose(30, 1_000_000L, 12));
+        // One sample a minute
+        assertEquals(DecodeMode.SEEK, FrameSampler.choose(30, 60_000_000L, 250));
+    }
+
+    @Test
+    public void testCreate_AutoMustBeResolved() throws Exception {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(clip.toFile())) {
+            assertThrows(IllegalArgumentException.class, () -> FrameSampler.create(grabber, DecodeMode.AUTO, SamplingPolicy.everyFrame()));
+        }
+    }
+}
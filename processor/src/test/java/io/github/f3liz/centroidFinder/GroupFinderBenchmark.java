@@ -0,0 +1,73 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the BinaryGroupFinder implementations on a 1080p mask.
+ *
+ * "blobs" is a binarized synthetic frame with a few large blobs and scattered noise, which is what
+ * our footage looks like. "noise" is a uniformly random mask at 40% density, which produces a huge
+ * number of small groups.
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="GroupFinderBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupFinderBenchmark {
+    @Param({ "dfs", "unionFind", "runLength", "parallel" })
+    public String finder;
+
+    @Param({ "blobs", "noise" })
+    public String scene;
+
+    private BinaryGroupFinder groupFinder;
+    private BinaryMask mask;
+
+    @Setup
+    public void setUp() {
+        groupFinder = switch (finder) {
+            case "dfs" -> new DfsBinaryGroupFinder();
+            case "unionFind" -> new UnionFindBinaryGroupFinder();
+            case "runLength" -> new RunLengthBinaryGroupFinder();
+            case "parallel" -> new ParallelBinaryGroupFinder();
+            default -> throw new IllegalArgumentException("Unknown finder: " + finder);
+        };
+
+        if (scene.equals("blobs")) {
+            BufferedImage frame = SyntheticFrames.frame(1920, 1080, BufferedImage.TYPE_3BYTE_BGR, 6, 2000, 42);
+            mask = new DistanceImageBinarizer(new EuclideanColorDistance(),
+                    SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD).toBinaryMask(frame);
+        } else {
+            mask = SyntheticFrames.randomMask(1920, 1080, 0.4, 42);
+        }
+    }
+
+    @Benchmark
+    public List<Group> findConnectedGroups() {
+        return groupFinder.findConnectedGroups(mask);
+    }
+
+    @Benchmark
+    public Optional<Group> findLargestGroup() {
+        return groupFinder.findLargestGroup(mask);
+    }
+}
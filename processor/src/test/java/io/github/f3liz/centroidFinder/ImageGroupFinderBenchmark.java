@@ -0,0 +1,70 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares whole-frame ImageGroupFinder pipelines on a synthetic TYPE_3BYTE_BGR frame, all using
+ * the same cached color lookup table. The pyramid pipelines skip most of the noise pixels, so
+ * they return fewer groups than the others (see PyramidImageGroupFinderTest for their recall).
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="ImageGroupFinderBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageGroupFinderBenchmark {
+    @Param({ "binarizeThenRunLength", "streaming", "pyramid4", "pyramid8" })
+    public String pipeline;
+
+    @Param({ "1920x1080", "3840x2160" })
+    public String resolution;
+
+    private ImageGroupFinder groupFinder;
+    private BufferedImage frame;
+
+    @Setup
+    public void setUp() {
+        String[] size = resolution.split("x");
+        frame = SyntheticFrames.frame(Integer.parseInt(size[0]), Integer.parseInt(size[1]),
+                BufferedImage.TYPE_3BYTE_BGR, 6, 2000, 42);
+
+        ColorPredicate predicate = ColorLookupTable.forDistance(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        groupFinder = switch (pipeline) {
+            case "binarizeThenRunLength" -> new BinarizingImageGroupFinder(
+                    new DistanceImageBinarizer(predicate), new RunLengthBinaryGroupFinder());
+            case "streaming" -> new StreamingImageGroupFinder(predicate);
+            case "pyramid4", "pyramid8" -> new PyramidImageGroupFinder(new DistanceImageBinarizer(predicate),
+                    new RunLengthBinaryGroupFinder(), pipeline.equals("pyramid4") ? 4 : 8);
+            default -> throw new IllegalArgumentException("Unknown pipeline: " + pipeline);
+        };
+    }
+
+    @Benchmark
+    public List<Group> findConnectedGroups() {
+        return groupFinder.findConnectedGroups(frame);
+    }
+
+    @Benchmark
+    public Optional<Group> findLargestGroup() {
+        return groupFinder.findLargestGroup(frame);
+    }
+}
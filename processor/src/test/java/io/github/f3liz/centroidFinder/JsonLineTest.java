@@ -0,0 +1,56 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class JsonLineTest {
+
+    @Test
+    public void testParse_FlatObject() {
+        Map<String, Object> members = JsonLine.parse(
+                " {\"id\": \"a\\\"b\", \"threshold\": 90, \"scale\": -1.5e0, \"yuv\": true, \"roi\": null, \"path\": \"C:\\\\v\\u00e9\"} ");
+
+        assertEquals("a\"b", members.get("id"));
+        assertEquals(90.0, members.get("threshold"));
+        assertEquals(-1.5, members.get("scale"));
+        assertEquals(Boolean.TRUE, members.get("yuv"));
+        assertTrue(members.containsKey("roi"));
+        assertNull(members.get("roi"));
+        assertEquals("C:\\v\u00e9", members.get("path"));
+    }
+
+    @Test
+    public void testParse_EmptyObject() {
+        assertTrue(JsonLine.parse("{}").isEmpty());
+    }
+
+    @Test
+    public void testParse_Invalid() {
+        assertThrows(IllegalArgumentException.class, () -> JsonLine.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> JsonLine.parse("[1, 2]"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLine.parse("{\"a\": 1"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLine.parse("{\"a\": {\"b\": 1}}"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLine.parse("{\"a\": 1} trailing"));
+        assertThrows(IllegalArgumentException.class, () -> JsonLine.parse("{\"a\": nope}"));
+    }
+
+    @Test
+    public void testFormat_RoundTrips() {
+        Map<String, Object> members = new LinkedHashMap<>();
+        members.put("id", "line\nbreak \"quoted\"");
+        members.put("event", "progress");
+        members.put("time", 1.0010001);
+        members.put("x", 412);
+        members.put("open", false);
+
+        String json = JsonLine.format(members);
+
+        assertEquals("{\"id\":\"line\\nbreak \\\"quoted\\\"\",\"event\":\"progress\",\"time\":1.001,\"x\":412,\"open\":false}", json);
+        Map<String, Object> parsed = JsonLine.parse(json);
+        assertEquals("line\nbreak \"quoted\"", parsed.get("id"));
+        assertEquals(1.001, parsed.get("time"));
+    }
+}
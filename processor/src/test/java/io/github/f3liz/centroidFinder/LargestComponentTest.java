@@ -0,0 +1,60 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+public class LargestComponentTest {
+
+    @Test
+    public void testResult_EmptyWhenNothingOffered() {
+        assertEquals(Optional.empty(), new LargestComponent().result());
+    }
+
+    @Test
+    public void testAccept_UsesIntegerDivisionForCentroid() {
+        LargestComponent largest = new LargestComponent();
+
+        // Three pixels at x = 0, 1, 1 and y = 2, 2, 3
+        largest.accept(3, 2, 7);
+
+        assertEquals(Optional.of(new Group(3, new Coordinate(0, 2))), largest.result());
+    }
+
+    @Test
+    public void testOffer_BreaksTiesByXThenY() {
+        LargestComponent largest = new LargestComponent();
+
+        largest.offer(5, 3, 9);
+        largest.offer(5, 4, 1);
+        largest.offer(5, 4, 0);
+        largest.offer(4, 9, 9);
+
+        assertEquals(Optional.of(new Group(5, new Coordinate(4, 1))), largest.result());
+    }
+
+    @Test
+    public void testOffer_MatchesFirstOfDescendingSort() {
+        Random random = new Random(5);
+
+        for (int round = 0; round < 100; round++) {
+            LargestComponent largest = new LargestComponent();
+            List<Group> groups = new ArrayList<>();
+
+            // Small ranges so equal sizes and equal x values come up often
+            for (int i = 0; i < 20; i++) {
+                Group group = new Group(1 + random.nextInt(3), new Coordinate(random.nextInt(3), random.nextInt(3)));
+                groups.add(group);
+                largest.offer(group.size(), group.centroid().x(), group.centroid().y());
+            }
+            groups.sort(Collections.reverseOrder());
+
+            assertEquals(Optional.of(groups.get(0)), largest.result());
+        }
+    }
+}
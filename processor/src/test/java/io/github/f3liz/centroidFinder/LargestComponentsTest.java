@@ -0,0 +1,51 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class LargestComponentsTest {
+
+    @Test
+    public void testResult_FewerComponentsThanCapacity() {
+        LargestComponents largest = new LargestComponents(5);
+        assertEquals(List.of(), largest.result());
+
+        // Three pixels at x = 0, 1, 1 and y = 2, 2, 3, then one pixel at (7, 7)
+        largest.accept(3, 2, 7);
+        largest.accept(1, 7, 7);
+
+        assertEquals(List.of(new Group(3, new Coordinate(0, 2)), new Group(1, new Coordinate(7, 7))), largest.result());
+    }
+
+    @Test
+    public void testOffer_MatchesStartOfDescendingSort() {
+        Random random = new Random(7);
+
+        for (int capacity : new int[] {1, 3, 10}) {
+            for (int round = 0; round < 100; round++) {
+                LargestComponents largest = new LargestComponents(capacity);
+                List<Group> groups = new ArrayList<>();
+
+                // Small ranges so equal sizes and equal x values come up often
+                for (int i = 0; i < 20; i++) {
+                    Group group = new Group(1 + random.nextInt(4), new Coordinate(random.nextInt(3), random.nextInt(3)));
+                    groups.add(group);
+                    largest.offer(group.size(), group.centroid().x(), group.centroid().y());
+                }
+                groups.sort(Collections.reverseOrder());
+
+                assertEquals(groups.subList(0, capacity), largest.result());
+            }
+        }
+    }
+
+    @Test
+    public void testConstructor_NeedsCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new LargestComponents(0));
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MotionPredictorTest {
+
+    @Test
+    public void testPredict_NeedsTwoCentroids() {
+        MotionPredictor predictor = new MotionPredictor(100, 4);
+        assertNull(predictor.predict(0));
+
+        predictor.update(0, 10, 20);
+        assertNull(predictor.predict(1_000_000));
+
+        predictor.update(1_000_000, 40, 20);
+        assertNotNull(predictor.predict(2_000_000));
+
+        predictor.reset();
+        assertNull(predictor.predict(3_000_000));
+    }
+
+    @Test
+    public void testPredict_ConstantVelocity() {
+        MotionPredictor predictor = new MotionPredictor(100, 4);
+        predictor.update(0, 10, 20);
+        predictor.update(1_000_000, 40, 15);
+
+        MotionPredictor.Prediction next = predictor.predict(2_000_000);
+        assertEquals(70, next.x(), 1e-9);
+        assertEquals(10, next.y(), 1e-9);
+
+        // Half a second ahead is half the distance and less uncertain than a whole second
+        MotionPredictor.Prediction half = predictor.predict(1_500_000);
+        assertEquals(55, half.x(), 1e-9);
+        assertTrue(half.sigma() < next.sigma());
+    }
+
+    @Test
+    public void testPredict_SteadyMotionSettles() {
+        MotionPredictor predictor = new MotionPredictor(20, 4);
+        double[] sigmas = new double[40];
+        for (int i = 0; i < sigmas.length; i++) {
+            predictor.update(i * 1_000_000L, 50 * i, -25 * i);
+            if (i > 0) sigmas[i] = predictor.predict((i + 1) * 1_000_000L).sigma();
+        }
+
+        // The prediction stays on the line, and its spread settles to a fixed size one second ahead
+        MotionPredictor.Prediction next = predictor.predict(40_000_000);
+        assertEquals(2000, next.x(), 1e-6);
+        assertEquals(-1000, next.y(), 1e-6);
+        assertEquals(sigmas[39], sigmas[20], 1e-3);
+        assertTrue(sigmas[39] < 20, "sigma: " + sigmas[39]);
+    }
+
+    @Test
+    public void testUpdate_JumpStartsOver() {
+        MotionPredictor predictor = new MotionPredictor(10, 4);
+        for (int i = 0; i < 5; i++) {
+            predictor.update(i * 1_000_000L, 10 * i, 0);
+        }
+
+        // Far outside the predicted spread, so the velocity is taken from the last two centroids alone
+        predictor.update(5_000_000, -60, 30);
+        MotionPredictor.Prediction next = predictor.predict(6_000_000);
+        assertEquals(-160, next.x(), 1e-9);
+        assertEquals(60, next.y(), 1e-9);
+    }
+
+    @Test
+    public void testConstructor_RejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new MotionPredictor(-1, 4));
+        assertThrows(IllegalArgumentException.class, () -> new MotionPredictor(Double.NaN, 4));
+        assertThrows(IllegalArgumentException.class, () -> new MotionPredictor(10, 0));
+    }
+}
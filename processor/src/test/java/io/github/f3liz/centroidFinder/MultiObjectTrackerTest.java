@@ -0,0 +1,161 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+public class MultiObjectTrackerTest {
+
+    private static int[] update(MultiObjectTracker tracker, int... centroids) {
+        int count = centroids.length / 2;
+        int[] xs = new int[count];
+        int[] ys = new int[count];
+        for (int i = 0; i < count; i++) {
+            xs[i] = centroids[2 * i];
+            ys[i] = centroids[2 * i + 1];
+        }
+        return tracker.update(count, xs, ys);
+    }
+
+    @Test
+    public void testUpdate_IdsFollowMovingObjects() {
+        for (TrackAssignment assignment : TrackAssignment.values()) {
+            MultiObjectTracker tracker = new MultiObjectTracker(30, 5, assignment);
+
+            assertArrayEquals(new int[] {1, 2, 3}, update(tracker, 10, 10, 200, 10, 100, 150));
+            // The groups come in another order each sample, largest first, but keep their ids
+            assertArrayEquals(new int[] {3, 1, 2}, update(tracker, 110, 160, 20, 15, 190, 20));
+            assertArrayEquals(new int[] {2, 3, 1}, update(tracker, 180, 30, 120, 170, 30, 20));
+            assertEquals(3, tracker.trackCount());
+        }
+    }
+
+    @Test
+    public void testUpdate_JumpPastLimitStartsNewId() {
+        MultiObjectTracker tracker = new MultiObjectTracker(30, 5, TrackAssignment.GREEDY);
+
+        assertArrayEquals(new int[] {1}, update(tracker, 10, 10));
+        assertArrayEquals(new int[] {1}, update(tracker, 40, 10));
+        assertArrayEquals(new int[] {2}, update(tracker, 71, 10));
+    }
+
+    @Test
+    public void testUpdate_LostIdComesBackUntilDropped() {
+        MultiObjectTracker tracker = new MultiObjectTracker(30, 2, TrackAssignment.GREEDY);
+
+        update(tracker, 10, 10, 100, 100);
+        // The second animal is hidden for two samples and comes back where it was
+        assertArrayEquals(new int[] {1}, update(tracker, 12, 10));
+        assertArrayEquals(new int[] {1}, update(tracker, 14, 10));
+        assertArrayEquals(new int[] {1, 2}, update(tracker, 16, 10, 101, 100));
+
+        // After three samples unseen its id is retired
+        update(tracker, 18, 10);
+        update(tracker, 20, 10);
+        update(tracker, 22, 10);
+        assertEquals(1, tracker.trackCount());
+        assertArrayEquals(new int[] {1, 3}, update(tracker, 24, 10, 101, 100));
+    }
+
+    @Test
+    public void testUpdate_HungarianKeepsCrossingIdsApart() {
+        // Two animals meet: the larger one, listed first, has moved next to the other's track
+        MultiObjectTracker greedy = new MultiObjectTracker(50, 5, TrackAssignment.GREEDY);
+        MultiObjectTracker hungarian = new MultiObjectTracker(50, 5, TrackAssignment.HUNGARIAN);
+        update(greedy, 0, 0, 40, 0);
+        update(hungarian, 0, 0, 40, 0);
+
+        // Greedy hands the larger one the nearest track; the smaller one is then too far from
+        // what is left and gets a new id
+        assertArrayEquals(new int[] {2, 3}, update(greedy, 30, 0, 60, 0));
+        // The Hungarian method keeps both pairs within the max jump
+        assertArrayEquals(new int[] {1, 2}, update(hungarian, 30, 0, 60, 0));
+    }
+
+    @Test
+    public void testUpdate_HungarianFindsCheapestMatching() {
+        Random random = new Random(11);
+
+        for (int round = 0; round < 200; round++) {
+            MultiObjectTracker tracker = new MultiObjectTracker(1000, 0, TrackAssignment.HUNGARIAN);
+            int tracks = 1 + random.nextInt(5);
+            int[] before = new int[2 * tracks];
+            for (int i = 0; i < before.length; i++) before[i] = random.nextInt(100);
+            update(tracker, before);
+
+            int groups = 1 + random.nextInt(5);
+            int[] after = new int[2 * groups];
+            for (int i = 0; i < after.length; i++) after[i] = random.nextInt(100);
+            int[] ids = update(tracker, after);
+
+            // Every pair is within the max jump, so min(groups, tracks) pairs with the smallest total
+            long cost = 0;
+            int matched = 0;
+            for (int i = 0; i < groups; i++) {
+                if (ids[i] <= tracks) {
+                    matched++;
+                    cost += distanceSquared(after, i, before, ids[i] - 1);
+                }
+            }
+            assertEquals(Math.min(groups, tracks), matched);
+            assertEquals(cheapest(after, before, 0, new boolean[tracks]), cost, "round " + round);
+        }
+    }
+
+    private static long distanceSquared(int[] a, int i, int[] b, int j) {
+        long dx = a[2 * i] - b[2 * j];
+        long dy = a[2 * i + 1] - b[2 * j + 1];
+        return dx * dx + dy * dy;
+    }
+
+    // The smallest total of a matching that pairs as many groups as possible, by trying them all
+    private static long cheapest(int[] groups, int[] tracks, int group, boolean[] taken) {
+        int groupCount = groups.length / 2;
+        int trackCount = tracks.length / 2;
+        if (group == groupCount) return 0;
+
+        long best = Long.MAX_VALUE;
+        int free = 0;
+        for (boolean t : taken) if (!t) free++;
+        // A group may only stay unmatched when there are more groups left than free tracks
+        if (groupCount - group > free) best = cheapest(groups, tracks, group + 1, taken);
+        for (int j = 0; j < trackCount; j++) {
+            if (taken[j]) continue;
+            taken[j] = true;
+            long rest = cheapest(groups, tracks, group + 1, taken);
+            taken[j] = false;
+            if (rest != Long.MAX_VALUE) best = Math.min(best, rest + distanceSquared(groups, group, tracks, j));
+        }
+        return best;
+    }
+
+    @Test
+    public void testUpdate_ManyObjects() {
+        // Fifty animals on a grid 50 pixels apart drift together with a few pixels of jitter, and
+        // keep their ids under either method
+        for (TrackAssignment assignment : TrackAssignment.values()) {
+            MultiObjectTracker tracker = new MultiObjectTracker(20, 5, assignment);
+            Random random = new Random(3);
+            int[] first = null;
+
+            for (int sample = 0; sample < 20; sample++) {
+                int[] centroids = new int[100];
+                for (int i = 0; i < 50; i++) {
+                    centroids[2 * i] = 50 * (i % 10) + 3 * sample + random.nextInt(9) - 4;
+                    centroids[2 * i + 1] = 50 * (i / 10) + 2 * sample + random.nextInt(9) - 4;
+                }
+                int[] ids = update(tracker, centroids);
+                if (first == null) first = ids;
+                assertArrayEquals(first, ids, assignment + ", sample " + sample);
+            }
+        }
+    }
+
+    @Test
+    public void testConstructor_RejectsInvalidValues() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiObjectTracker(-1, 5, TrackAssignment.GREEDY));
+        assertThrows(IllegalArgumentException.class, () -> new MultiObjectTracker(Double.NaN, 5, TrackAssignment.GREEDY));
+        assertThrows(IllegalArgumentException.class, () -> new MultiObjectTracker(10, -1, TrackAssignment.GREEDY));
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+public class MultiTargetGroupFinderTest {
+
+    @Test
+    public void testFindLargestGroups_SameAsOneFinderPerTarget() {
+        // The blobs, the background and a color that is not in the frame at all
+        List<RowClassifier> classifiers = List.of(
+                RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, false),
+                RowClassifier.withinEuclideanDistance(0x203028, 10, false),
+                RowClassifier.withinEuclideanDistance(0x0000FF, 10, false));
+        MultiTargetGroupFinder finder = new MultiTargetGroupFinder(classifiers);
+
+        for (long seed = 0; seed < 5; seed++) {
+            BufferedImage image = SyntheticFrames.frame(320, 240, BufferedImage.TYPE_3BYTE_BGR, 8, 200, seed);
+
+            List<Optional<Group>> results = finder.findLargestGroups(RgbRasterReader.of(image));
+
+            assertEquals(3, results.size());
+            for (int t = 0; t < classifiers.size(); t++) {
+                assertEquals(new StreamingImageGroupFinder(classifiers.get(t)).findLargestGroup(image), results.get(t));
+            }
+            assertTrue(results.get(0).isPresent());
+            assertTrue(results.get(1).isPresent());
+            assertTrue(results.get(2).isEmpty());
+        }
+    }
+
+    @Test
+    public void testFindLargestGroups_TopGroupsOfEachTarget() {
+        List<RowClassifier> classifiers = List.of(
+                RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, false),
+                RowClassifier.withinEuclideanDistance(0x0000FF, 10, false));
+        MultiTargetGroupFinder finder = new MultiTargetGroupFinder(classifiers);
+
+        for (long seed = 0; seed < 5; seed++) {
+            BufferedImage image = SyntheticFrames.frame(320, 240, BufferedImage.TYPE_3BYTE_BGR, 8, 200, seed);
+            List<Group> all = new StreamingImageGroupFinder(classifiers.get(0)).findConnectedGroups(image);
+
+            List<List<Group>> results = finder.findLargestGroups(RgbRasterReader.of(image), 12);
+
+            assertEquals(all.subList(0, 12), results.get(0));
+            assertEquals(List.of(), results.get(1));
+        }
+    }
+
+    @Test
+    public void testConstructor_NeedsATarget() {
+        assertThrows(IllegalArgumentException.class, () -> new MultiTargetGroupFinder(List.of()));
+        assertEquals(2, new MultiTargetGroupFinder(List.of(RowClassifier.of(rgb -> true), RowClassifier.of(rgb -> false))).targetCount());
+    }
+}
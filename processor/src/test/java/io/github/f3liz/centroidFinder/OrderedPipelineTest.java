@@ -0,0 +1,201 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OrderedPipelineTest {
+
+    // Hands out 0, 1, 2, ... count - 1 and then null
+    private static OrderedPipeline.Source<Integer> counter(int count) {
+        AtomicInteger next = new AtomicInteger();
+        return () -> next.get() < count ? next.getAndIncrement() : null;
+    }
+
+    @Test
+    public void testRun_ResultsArriveInSourceOrder() throws Exception {
+        // Random delays make the workers finish out of order
+        Random random = new Random(1);
+        int[] delays = new int[200];
+        for (int i = 0; i < delays.length; i++) {
+            delays[i] = random.nextInt(3);
+        }
+
+        List<Integer> results = new ArrayList<>();
+        new OrderedPipeline<Integer, Integer>(4, 3).run(counter(delays.length), item -> {
+            Thread.sleep(delays[item]);
+            return item * 10;
+        }, results::add);
+
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < delays.length; i++) {
+            expected.add(i * 10);
+        }
+        assertEquals(expected, results);
+    }
+
+    @Test
+    public void testRun_EmptySource() throws Exception {
+        List<Integer> results = new ArrayList<>();
+        new OrderedPipeline<Integer, Integer>(2, 0).run(() -> null, item -> item, results::add);
+
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    public void testRun_NeverMoreThanWorkersPlusQueueDepthInFlight() throws Exception {
+        int workers = 3;
+        int queueDepth = 2;
+        AtomicInteger produced = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+
+        OrderedPipeline.Source<Integer> source = () -> {
+            int item = produced.get();
+            if (item == 100) return null;
+            produced.incrementAndGet();
+            maxInFlight.accumulateAndGet(produced.get() - consumed.get(), Math::max);
+            return item;
+        };
+
+        new OrderedPipeline<Integer, Integer>(workers, queueDepth).run(source, item -> item, result -> {
+            // A slow writer lets the source run as far ahead as it is allowed to
+            Thread.sleep(1);
+            consumed.incrementAndGet();
+        });
+
+        assertEquals(100, consumed.get());
+        assertTrue(maxInFlight.get() <= workers + queueDepth, "in flight: " + maxInFlight.get());
+    }
+
+    @Test
+    public void testRun_RethrowsAnalyzerFailure() {
+        OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>(2, 1);
+
+        IOException exception = assertThrows(IOException.class, () -> pipeline.run(counter(50), item -> {
+            if (item == 17) throw new IOException("bad frame");
+            return item;
+        }, result -> { }));
+        assertEquals("bad frame", exception.getMessage());
+    }
+
+    @Test
+    public void testRun_RethrowsSourceFailure() {
+        AtomicInteger next = new AtomicInteger();
+        OrderedPipeline.Source<Integer> source = () -> {
+            if (next.get() == 5) throw new IllegalStateException("decoder failed");
+            return next.getAndIncrement();
+        };
+
+        List<Integer> results = new ArrayList<>();
+        OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>(2, 1);
+
+        assertThrows(IllegalStateException.class, () -> pipeline.run(source, item -> item, results::add));
+        assertTrue(results.size() <= 5);
+    }
+
+    @Test
+    public void testRun_SharedPoolStaysUsable() throws Exception {
+        ExecutorService shared = Executors.newFixedThreadPool(2);
+        try {
+            // Two pipelines at once and then a third afterwards, all on the same two threads
+            List<Integer> first = new ArrayList<>();
+            List<Integer> second = new ArrayList<>();
+            Thread other = new Thread(() -> {
+                try {
+                    new OrderedPipeline<Integer, Integer>(2, 1, shared).run(counter(100), item -> item + 1000, second::add);
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            other.start();
+            new OrderedPipeline<Integer, Integer>(2, 1, shared).run(counter(100), item -> item, first::add);
+            other.join();
+
+            List<Integer> third = new ArrayList<>();
+            new OrderedPipeline<Integer, Integer>(2, 1, shared).run(counter(10), item -> item, third::add);
+
+            assertEquals(100, first.size());
+            assertEquals(100, second.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i, first.get(i));
+                assertEquals(i + 1000, second.get(i));
+            }
+            assertEquals(10, third.size());
+            assertFalse(shared.isShutdown());
+        } finally {
+            shared.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRun_FailureDoesNotShutDownSharedPool() throws Exception {
+        ExecutorService shared = Executors.newFixedThreadPool(2);
+        try {
+            OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>(2, 1, shared);
+            assertThrows(IOException.class, () -> pipeline.run(counter(50), item -> {
+                if (item == 3) throw new IOException("bad frame");
+                return item;
+            }, result -> { }));
+
+            assertFalse(shared.isShutdown());
+            assertEquals(7, shared.submit(() -> 7).get());
+        } finally {
+            shared.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConstructor_InvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderedPipeline<Integer, Integer>(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new OrderedPipeline<Integer, Integer>(1, -1));
+    }
+
+    @Test
+    public void testRun_FailureDiscardsItemsThatWereNeverAnalyzed() throws Exception {
+        ExecutorService shared = Executors.newFixedThreadPool(1);
+        try {
+            // Once with a pool of the pipeline's own and once on a shared pool
+            for (ExecutorService pool : Arrays.asList(null, shared)) {
+                Set<Integer> produced = ConcurrentHashMap.newKeySet();
+                Set<Integer> analyzed = ConcurrentHashMap.newKeySet();
+                List<Integer> discarded = new ArrayList<>();
+
+                OrderedPipeline.Source<Integer> source = counter(100);
+                OrderedPipeline<Integer, Integer> pipeline = new OrderedPipeline<>(1, 6, pool);
+                assertThrows(IOException.class, () -> pipeline.run(() -> {
+                    Integer item = source.next();
+                    if (item != null) produced.add(item);
+                    return item;
+                }, item -> {
+                    analyzed.add(item);
+                    // Give the source time to queue items behind the one that fails
+                    Thread.sleep(5);
+                    if (item == 0) throw new IOException("bad frame");
+                    return item;
+                }, result -> { }, discarded::add));
+
+                // Every item is released exactly once, by the analyzer or by the discard
+                Set<Integer> released = new HashSet<>(analyzed);
+                for (Integer item : discarded) {
+                    assertTrue(released.add(item), "released twice: " + item);
+                }
+                assertEquals(produced, released);
+                assertFalse(discarded.isEmpty());
+            }
+        } finally {
+            shared.shutdown();
+        }
+    }
+}
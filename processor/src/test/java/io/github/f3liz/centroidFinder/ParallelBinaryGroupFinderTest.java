@@ -0,0 +1,98 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.Optional;
+
+public class ParallelBinaryGroupFinderTest {
+
+    // A column that runs through every strip boundary must come back as one group
+    @Test
+    public void testParallelBinaryGroupFinder_GroupSpanningAllStrips() {
+        int[][] image = new int[][]{
+            {0, 1, 0},
+            {0, 1, 0},
+            {0, 1, 0},
+            {1, 1, 1},
+            {0, 1, 0},
+            {0, 1, 0},
+        };
+
+        ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(3, ForkJoinPool.commonPool());
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(List.of(new Group(8, new Coordinate(1, 2))), actual);
+    }
+
+    // A U shape whose arms are in one strip and whose base is in the next
+    @Test
+    public void testParallelBinaryGroupFinder_JoinsArmsAcrossBoundary() {
+        int[][] image = new int[][]{
+            {1, 0, 1, 0, 1},
+            {1, 0, 1, 0, 1},
+            {1, 1, 1, 1, 1},
+            {0, 0, 0, 0, 0},
+        };
+
+        ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(2, ForkJoinPool.commonPool());
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(List.of(new Group(11, new Coordinate(2, 1))), actual);
+    }
+
+    @Test
+    public void testParallelBinaryGroupFinder_MoreStripsThanRows() {
+        int[][] image = new int[][]{
+            {1, 1},
+            {0, 1},
+        };
+
+        ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(16, ForkJoinPool.commonPool());
+
+        assertEquals(List.of(new Group(3, new Coordinate(0, 0))), finder.findConnectedGroups(image));
+    }
+
+    @Test
+    public void testParallelBinaryGroupFinder_InvalidStripCount() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelBinaryGroupFinder(0, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    public void testParallelBinaryGroupFinder_MatchesDfsForAnyStripCount() {
+        DfsBinaryGroupFinder dfs = new DfsBinaryGroupFinder();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        try {
+            double[] densities = { 0.1, 0.5, 0.6, 0.9 };
+            for (int i = 0; i < densities.length; i++) {
+                BinaryMask mask = SyntheticFrames.randomMask(97, 61, densities[i], i);
+                List<Group> expected = dfs.findConnectedGroups(mask);
+
+                for (int strips = 1; strips <= 9; strips++) {
+                    ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(strips, pool);
+                    assertEquals(expected, finder.findConnectedGroups(mask), "density " + densities[i] + ", strips " + strips);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelBinaryGroupFinder_FindLargestGroupMatchesFirstGroup() {
+        ParallelBinaryGroupFinder finder = new ParallelBinaryGroupFinder(3, ForkJoinPool.commonPool());
+
+        // Sparse masks are full of single-pixel groups, so ties on size are common
+        double[] densities = { 0.02, 0.3, 0.6 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(101, 67, densities[i], i);
+            List<Group> groups = finder.findConnectedGroups(mask);
+            assertEquals(Optional.of(groups.get(0)), finder.findLargestGroup(mask), "density " + densities[i]);
+        }
+
+        assertEquals(Optional.empty(), finder.findLargestGroup(new BinaryMask(10, 10)));
+    }
+}
@@ -0,0 +1,183 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+import java.util.List;
+
+public class ProcessingOptionsTest {
+
+    @Test
+    public void testParse_Defaults() {
+        ProcessingOptions options = ProcessingOptions.parse();
+
+        assertEquals(Runtime.getRuntime().availableProcessors(), options.workers());
+        assertEquals(options.workers(), options.queueDepth());
+        assertFalse(options.vectorize());
+        assertEquals(DecodeMode.AUTO, options.decodeMode());
+        assertEquals(SamplingPolicy.targetFps(1), options.samplingPolicy());
+        assertEquals(1, options.segments());
+        assertNull(options.roi());
+        assertEquals(1, options.scale());
+        assertFalse(options.yuv());
+    }
+
+    @Test
+    public void testParse_AllOptions() {
+        ProcessingOptions options = ProcessingOptions.parse("--workers=6", "--queue-depth=0", "--simd", "--decode=Sequential", "--segments=4");
+
+        assertEquals(6, options.workers());
+        assertEquals(0, options.queueDepth());
+        assertTrue(options.vectorize());
+        assertEquals(DecodeMode.SEQUENTIAL, options.decodeMode());
+        assertEquals(4, options.segments());
+    }
+
+    @Test
+    public void testParse_QueueDepthFollowsWorkersUntilSet() {
+        assertEquals(3, ProcessingOptions.parse("--workers=3").queueDepth());
+    }
+
+    @Test
+    public void testParse_SamplingPolicies() {
+        assertEquals(SamplingPolicy.targetFps(2.5), ProcessingOptions.parse("--sample-fps=2.5").samplingPolicy());
+        assertEquals(SamplingPolicy.everyNthFrame(4), ProcessingOptions.parse("--sample-every=4").samplingPolicy());
+        assertEquals(SamplingPolicy.everyFrame(), ProcessingOptions.parse("--sample-all").samplingPolicy());
+    }
+
+    @Test
+    public void testParse_RegionAndScale() {
+        ProcessingOptions options = ProcessingOptions.parse("--roi=10,20,300, 200", "--scale=0.5");
+
+        assertEquals(new Rectangle(10, 20, 300, 200), options.roi());
+        assertEquals(0.5, options.scale());
+        assertTrue(ProcessingOptions.parse("--yuv").yuv());
+    }
+
+    @Test
+    public void testParse_Targets() {
+        assertTrue(ProcessingOptions.parse().targets().isEmpty());
+
+        ProcessingOptions options = ProcessingOptions.parse("--target=00ff00,40", "--target=0000FF, 25");
+        assertEquals(List.of(new ColorTarget(0x00FF00, 40), new ColorTarget(0x0000FF, 25)), options.targets());
+        assertEquals("0000FF", options.targets().get(1).hexColor());
+    }
+
+    @Test
+    public void testParse_Tracking() {
+        ProcessingOptions defaults = ProcessingOptions.parse();
+        assertFalse(defaults.tracking());
+        assertEquals(48, defaults.trackMargin());
+        assertEquals(30, defaults.trackRescan());
+
+        ProcessingOptions options = ProcessingOptions.parse("--track", "--track-margin=20", "--track-rescan=10");
+        assertTrue(options.tracking());
+        assertEquals(20, options.trackMargin());
+        assertEquals(10, options.trackRescan());
+        assertTrue(options.copy().tracking());
+    }
+
+    @Test
+    public void testParse_Predict() {
+        ProcessingOptions defaults = ProcessingOptions.parse();
+        assertFalse(defaults.predict());
+        assertEquals(200, defaults.predictAcceleration());
+
+        ProcessingOptions options = ProcessingOptions.parse("--track", "--predict", "--predict-accel=50.5");
+        assertTrue(options.predict());
+        assertEquals(50.5, options.predictAcceleration());
+        assertTrue(options.copy().predict());
+    }
+
+    @Test
+    public void testParse_Objects() {
+        ProcessingOptions defaults = ProcessingOptions.parse();
+        assertEquals(0, defaults.objects());
+        assertEquals(1, defaults.minSize());
+        assertEquals(100, defaults.maxJump());
+        assertEquals(TrackAssignment.GREEDY, defaults.assignment());
+        assertEquals(5, defaults.keepLost());
+
+        ProcessingOptions options = ProcessingOptions.parse("--objects=8", "--min-size=50", "--max-jump=25.5",
+                "--match=Hungarian", "--keep-lost=0");
+        assertEquals(8, options.objects());
+        assertEquals(50, options.minSize());
+        assertEquals(25.5, options.maxJump());
+        assertEquals(TrackAssignment.HUNGARIAN, options.assignment());
+        assertEquals(0, options.keepLost());
+        assertEquals(TrackAssignment.HUNGARIAN, options.copy().assignment());
+    }
+
+    @Test
+    public void testParse_Incremental() {
+        ProcessingOptions defaults = ProcessingOptions.parse();
+        assertFalse(defaults.incremental());
+        assertEquals(32, defaults.tileSize());
+        assertEquals(0, defaults.tileTolerance());
+
+        ProcessingOptions options = ProcessingOptions.parse("--incremental", "--tile-size=16", "--tile-tolerance=4");
+        assertTrue(options.incremental());
+        assertEquals(16, options.tileSize());
+        assertEquals(4, options.tileTolerance());
+        assertEquals(16, options.copy().tileSize());
+    }
+
+    @Test
+    public void testCopy_IsIndependent() {
+        ProcessingOptions options = ProcessingOptions.parse("--workers=3", "--target=00FF00,40", "--roi=1,2,3,4");
+        ProcessingOptions copy = options.copy().addTarget(new ColorTarget(0x0000FF, 25)).workers(5);
+
+        assertEquals(3, options.workers());
+        assertEquals(1, options.targets().size());
+        assertEquals(2, copy.targets().size());
+        assertEquals(options.roi(), copy.roi());
+        assertEquals(3, options.queueDepth());
+    }
+
+    @Test
+    public void testParse_FlagsTakeNoValue() {
+        for (String flag : List.of("--simd", "--sample-all", "--yuv", "--track", "--predict", "--incremental")) {
+            assertDoesNotThrow(() -> ProcessingOptions.parse(flag));
+
+            // --simd=false must not quietly turn SIMD on
+            IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                    () -> ProcessingOptions.parse(flag + "=false"));
+            assertEquals(flag + " takes no value", exception.getMessage());
+            assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse(flag + "="));
+        }
+    }
+
+    @Test
+    public void testParse_InvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--frames=3"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--workers"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--workers=two"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--workers=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--queue-depth=-1"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--decode=fast"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--sample-fps=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--sample-every=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--sample-all", "--sample-fps=2"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--segments=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--roi=1,2,3"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--roi=0,0,0,10"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--roi=-1,0,10,10"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--scale=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--scale=2"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--track-margin=-1"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--track-rescan=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--predict-accel=-1"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--predict-accel=NaN"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--tile-size=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--objects=-1"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--min-size=0"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--max-jump=-2"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--match=nearest"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--keep-lost=-1"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--tile-tolerance=256"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--target=FF0000"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--target=red,40"));
+        assertThrows(IllegalArgumentException.class, () -> ProcessingOptions.parse("--target=FF0000,high"));
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class ProcessorDaemonTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ProcessorDaemon daemon;
+
+    @AfterEach
+    public void stopDaemon() throws Exception {
+        if (daemon != null) daemon.close();
+    }
+
+    private SocketAddress startOnLoopback() throws Exception {
+        daemon = new ProcessorDaemon(2, 2);
+        SocketAddress address = daemon.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        startServing();
+        return address;
+    }
+
+    private void startServing() {
+        Thread server = new Thread(() -> {
+            try {
+                daemon.serve();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        server.setDaemon(true);
+        server.start();
+    }
+
+    private String job(String id, Path input, Path output, String options) {
+        return "{\"id\":\"" + id + "\",\"input\":\"" + input + "\",\"output\":\"" + output + "\",\"targetColor\":\""
+                + Integer.toHexString(SyntheticFrames.TARGET_COLOR) + "\",\"threshold\":" + SyntheticFrames.THRESHOLD
+                + ",\"options\":\"" + options + "\"}";
+    }
+
+    // Sends the lines and reads events until every id has finished or failed
+    private List<Map<String, Object>> submit(SocketAddress address, int finished, String... lines) throws Exception {
+        try (SocketChannel channel = SocketChannel.open(address);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8))) {
+            Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+            for (String line : lines) {
+                writer.write(line + "\n");
+            }
+            writer.flush();
+
+            List<Map<String, Object>> events = new ArrayList<>();
+            int ended = 0;
+            while (ended < finished) {
+                String line = reader.readLine();
+                assertNotNull(line, "connection closed early");
+                Map<String, Object> event = JsonLine.parse(line);
+                events.add(event);
+                if (event.get("event").equals("done") || event.get("event").equals("error")) ended++;
+            }
+            return events;
+        }
+    }
+
+    private static List<Map<String, Object>> eventsFor(List<Map<String, Object>> events, String id) {
+        return events.stream().filter(event -> id.equals(event.get("id"))).toList();
+    }
+
+    @Test
+    public void testServe_StreamsProgressAndWritesSameCsv() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 24, 30, 12);
+        SocketAddress address = startOnLoopback();
+
+        // Two jobs on one connection, run at the same time
+        List<Map<String, Object>> events = submit(address, 2,
+                job("a", clip, tempDir.resolve("a.csv"), "--sample-all"),
+                job("b", clip, tempDir.resolve("b.csv"), "--sample-all --yuv"));
+
+        Path single = tempDir.resolve("single.csv");
+        new VideoProcessor(clip.toString(), single.toString(), SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD,
+                new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame())).processVideo();
+        List<String> expected = Files.readAllLines(single);
+
+        for (String id : List.of("a", "b")) {
+            List<Map<String, Object>> jobEvents = eventsFor(events, id);
+            assertEquals("accepted", jobEvents.get(0).get("event"));
+            assertEquals("done", jobEvents.get(jobEvents.size() - 1).get("event"));
+
+            // One progress event per CSV row, in time order
+            List<Map<String, Object>> progress = jobEvents.subList(1, jobEvents.size() - 1);
+            assertEquals(expected.size() - 1, progress.size());
+            for (int i = 0; i < progress.size(); i++) {
+                assertEquals("progress", progress.get(i).get("event"));
+                String[] row = expected.get(i + 1).split(",");
+                assertEquals(Double.parseDouble(row[0]), (Double) progress.get(i).get("time"), 1e-9);
+                assertEquals(Double.parseDouble(row[1]), (Double) progress.get(i).get("x"));
+            }
+        }
+        assertEquals(expected, Files.readAllLines(tempDir.resolve("a.csv")));
+        assertEquals(expected, Files.readAllLines(tempDir.resolve("b.csv")));
+    }
+
+    @Test
+    public void testServe_ReportsErrors() throws Exception {
+        SocketAddress address = startOnLoopback();
+
+        List<Map<String, Object>> events = submit(address, 5,
+                "not json",
+                "{\"id\":\"no-threshold\",\"input\":\"a.mp4\",\"output\":\"a.csv\",\"targetColor\":\"2D0508\"}",
+                job("bad-option", tempDir.resolve("a.mp4"), tempDir.resolve("a.csv"), "--bogus"),
+                job("segments", tempDir.resolve("a.mp4"), tempDir.resolve("a.csv"), "--segments=2"),
+                job("missing", tempDir.resolve("missing.mp4"), tempDir.resolve("missing.csv"), ""));
+
+        assertEquals(6, events.size());
+        assertFalse(events.get(0).containsKey("id"));
+        assertEquals("error", events.get(0).get("event"));
+        assertEquals("error", eventsFor(events, "no-threshold").get(0).get("event"));
+        assertEquals("Unknown option: --bogus", eventsFor(events, "bad-option").get(0).get("message"));
+        assertEquals(List.of("error"), eventsFor(events, "segments").stream().map(event -> event.get("event")).toList());
+
+        List<Map<String, Object>> missing = eventsFor(events, "missing");
+        assertEquals(List.of("accepted", "error"), missing.stream().map(event -> event.get("event")).toList());
+    }
+
+    @Test
+    public void testServe_UnixDomainSocket() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 24, 24, 12);
+        Path socket = tempDir.resolve("processor.sock");
+
+        daemon = new ProcessorDaemon(1, 1);
+        SocketAddress address = daemon.bind(socket);
+        startServing();
+
+        // The daemon stays up between jobs, so a second connection is served by the same JVM
+        for (String id : List.of("first", "second")) {
+            List<Map<String, Object>> events = submit(address, 1, job(id, clip, tempDir.resolve(id + ".csv"), ""));
+            assertEquals("done", events.get(events.size() - 1).get("event"));
+        }
+        assertEquals(Files.readAllLines(tempDir.resolve("first.csv")), Files.readAllLines(tempDir.resolve("second.csv")));
+
+        daemon.close();
+        assertFalse(Files.exists(socket));
+    }
+}
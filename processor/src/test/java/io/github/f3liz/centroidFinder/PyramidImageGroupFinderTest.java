@@ -0,0 +1,131 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+public class PyramidImageGroupFinderTest {
+    private static final ImageBinarizer BINARIZER = new DistanceImageBinarizer(
+            RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, false));
+    private static final ImageGroupFinder FULL = new BinarizingImageGroupFinder(BINARIZER, new RunLengthBinaryGroupFinder());
+
+    private static PyramidImageGroupFinder pyramid(int factor) {
+        return new PyramidImageGroupFinder(BINARIZER, new RunLengthBinaryGroupFinder(), factor);
+    }
+
+    @Test
+    public void testFindConnectedGroups_BlobsMatchFullResolution() {
+        // Every blob is at least 10 pixels across, which a factor of 4 cannot miss unless the
+        // frame's edge cuts it down to a sliver
+        for (long seed = 1; seed <= 10; seed++) {
+            BufferedImage image = SyntheticFrames.frame(960, 540, BufferedImage.TYPE_3BYTE_BGR, 12, 0, seed);
+
+            assertEquals(atLeast(100, FULL.findConnectedGroups(image)), atLeast(100, pyramid(4).findConnectedGroups(image)), "seed " + seed);
+            assertEquals(FULL.findLargestGroup(image), pyramid(4).findLargestGroup(image), "seed " + seed);
+        }
+    }
+
+    private static List<Group> atLeast(int size, List<Group> groups) {
+        return groups.stream().filter(group -> group.size() >= size).toList();
+    }
+
+    @Test
+    public void testFindConnectedGroups_GrowsRegionAlongThinLine() {
+        BufferedImage image = SyntheticFrames.discs(400, 300);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(SyntheticFrames.TARGET_COLOR));
+        graphics.fillRect(40, 40, 30, 30);
+        // A one-pixel line off the square that no sampled row or column crosses
+        graphics.fillRect(70, 53, 300, 1);
+        graphics.fillRect(369, 53, 1, 200);
+        graphics.dispose();
+
+        List<Group> groups = pyramid(8).findConnectedGroups(image);
+        assertEquals(FULL.findConnectedGroups(image), groups);
+        assertEquals(30 * 30 + 300 + 199, groups.get(0).size());
+    }
+
+    @Test
+    public void testFindConnectedGroups_BlobsAcrossSampleGap() {
+        // Two squares next to each other share one region, and each group is returned once
+        BufferedImage image = SyntheticFrames.discs(128, 64);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(SyntheticFrames.TARGET_COLOR));
+        graphics.fillRect(10, 10, 20, 20);
+        graphics.fillRect(32, 10, 20, 20);
+        graphics.fillRect(100, 40, 20, 20);
+        graphics.dispose();
+
+        assertEquals(FULL.findConnectedGroups(image), pyramid(8).findConnectedGroups(image));
+    }
+
+    @Test
+    public void testFindLargestGroup_EmptyImage() {
+        BufferedImage image = SyntheticFrames.discs(64, 48);
+
+        assertEquals(List.of(), pyramid(4).findConnectedGroups(image));
+        assertEquals(Optional.empty(), pyramid(4).findLargestGroup(image));
+    }
+
+    @Test
+    public void testFindConnectedGroups_FactorOneIsFullResolution() {
+        BufferedImage image = SyntheticFrames.frame(300, 200, BufferedImage.TYPE_INT_RGB, 6, 200, 3);
+
+        assertEquals(FULL.findConnectedGroups(image), pyramid(1).findConnectedGroups(image));
+    }
+
+    @Test
+    public void testRecall_AgainstFullResolution() {
+        // Reports how many of the full-resolution groups each factor finds, split by group size
+        int[] limits = {1, 16, 64, 256, Integer.MAX_VALUE};
+        for (int factor : new int[] {2, 4, 8}) {
+            long[] total = new long[limits.length - 1];
+            long[] found = new long[limits.length - 1];
+            long largestFound = 0;
+            int frames = 20;
+
+            for (long seed = 1; seed <= frames; seed++) {
+                BufferedImage image = SyntheticFrames.frame(960, 540, BufferedImage.TYPE_3BYTE_BGR, 12, 400, seed);
+                List<Group> full = FULL.findConnectedGroups(image);
+                Set<Group> pyramid = new HashSet<>(pyramid(factor).findConnectedGroups(image));
+
+                // Every group that is returned is exact, so it is one of the full-resolution groups
+                assertTrue(new HashSet<>(full).containsAll(pyramid), "factor " + factor + ", seed " + seed);
+
+                for (Group group : full) {
+                    int bucket = 0;
+                    while (group.size() >= limits[bucket + 1]) bucket++;
+                    total[bucket]++;
+                    if (pyramid.contains(group)) found[bucket]++;
+                }
+                if (pyramid.contains(full.get(0))) largestFound++;
+            }
+
+            StringBuilder report = new StringBuilder(String.format(Locale.ROOT, "Pyramid factor %d recall:", factor));
+            for (int b = 0; b < total.length; b++) {
+                String range = limits[b + 1] == Integer.MAX_VALUE ? limits[b] + "+" : limits[b] + "-" + (limits[b + 1] - 1);
+                report.append(String.format(Locale.ROOT, " %s px %d/%d;", range, found[b], total[b]));
+            }
+            report.append(String.format(Locale.ROOT, " largest %d/%d", largestFound, frames));
+            System.out.println(report);
+
+            // Blobs of 256 pixels or more cover a square of 8x8, so no factor up to 8 misses them
+            assertEquals(total[total.length - 1], found[found.length - 1], report.toString());
+            assertEquals(frames, largestFound, report.toString());
+        }
+    }
+
+    @Test
+    public void testConstructor_RejectsFactorBelowOne() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PyramidImageGroupFinder(BINARIZER, new RunLengthBinaryGroupFinder(), 0));
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading a 1080p TYPE_3BYTE_BGR frame pixel by pixel through getRGB against reading it
+ * row by row with RgbRasterReader, and reading a decoded Frame in place against converting it to
+ * a BufferedImage first.
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="RgbRasterReaderBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RgbRasterReaderBenchmark {
+    private BufferedImage frame;
+    private Frame decoded;
+    private Java2DFrameConverter converter;
+    private int[] row;
+
+    @Setup
+    public void setUp() {
+        frame = SyntheticFrames.frame(1920, 1080, BufferedImage.TYPE_3BYTE_BGR, 6, 2000, 42);
+        // Java2DFrameConverter copies into a direct ByteBuffer, like a frame from FFmpegFrameGrabber
+        decoded = new Java2DFrameConverter().convert(frame).clone();
+        converter = new Java2DFrameConverter();
+        row = new int[frame.getWidth()];
+    }
+
+    @Benchmark
+    public long getRgbPerPixel() {
+        long sum = 0;
+        for (int y = 0; y < frame.getHeight(); y++) {
+            for (int x = 0; x < frame.getWidth(); x++) {
+                sum += frame.getRGB(x, y) & 0xFFFFFF;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long rasterRows() {
+        RgbRasterReader reader = RgbRasterReader.of(frame);
+        long sum = 0;
+        for (int y = 0; y < frame.getHeight(); y++) {
+            reader.readRow(y, row);
+            for (int x = 0; x < frame.getWidth(); x++) {
+                sum += row[x];
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long frameConvertedRows() {
+        return sumRows(RgbRasterReader.of(converter.convert(decoded)));
+    }
+
+    @Benchmark
+    public long frameBufferRows() {
+        return sumRows(RgbRasterReader.of(decoded));
+    }
+
+    private long sumRows(RgbRasterReader reader) {
+        long sum = 0;
+        for (int y = 0; y < reader.height(); y++) {
+            reader.readRow(y, row);
+            for (int x = 0; x < reader.width(); x++) {
+                sum += row[x];
+            }
+        }
+        return sum;
+    }
+}
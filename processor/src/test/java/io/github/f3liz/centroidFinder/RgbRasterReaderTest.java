@@ -0,0 +1,204 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+
+public class RgbRasterReaderTest {
+
+    // Fills an image with random opaque colors so every byte position is exercised
+    private static BufferedImage randomImage(int width, int height, int type) {
+        Random random = new Random(7);
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, 0xFF000000 | random.nextInt(0x1000000));
+            }
+        }
+        return image;
+    }
+
+    // Checks every row read by the reader against getRGB
+    private static void assertMatchesGetRgb(BufferedImage image) {
+        RgbRasterReader reader = RgbRasterReader.of(image);
+        int[] row = new int[image.getWidth()];
+
+        for (int y = 0; y < image.getHeight(); y++) {
+            reader.readRow(y, row);
+            for (int x = 0; x < image.getWidth(); x++) {
+                assertEquals(image.getRGB(x, y) & 0xFFFFFF, row[x], "pixel (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testReadRow_3ByteBgr() {
+        BufferedImage image = randomImage(37, 11, BufferedImage.TYPE_3BYTE_BGR);
+
+        assertTrue(RgbRasterReader.of(image).isDirect());
+        assertMatchesGetRgb(image);
+    }
+
+    @Test
+    public void testReadRow_4ByteAbgr() {
+        BufferedImage image = randomImage(37, 11, BufferedImage.TYPE_4BYTE_ABGR);
+
+        assertTrue(RgbRasterReader.of(image).isDirect());
+        assertMatchesGetRgb(image);
+    }
+
+    @Test
+    public void testReadRow_IntRgb() {
+        BufferedImage image = randomImage(37, 11, BufferedImage.TYPE_INT_RGB);
+
+        assertTrue(RgbRasterReader.of(image).isDirect());
+        assertMatchesGetRgb(image);
+    }
+
+    @Test
+    public void testReadRow_IntArgb() {
+        BufferedImage image = randomImage(37, 11, BufferedImage.TYPE_INT_ARGB);
+
+        assertTrue(RgbRasterReader.of(image).isDirect());
+        assertMatchesGetRgb(image);
+    }
+
+    @Test
+    public void testReadRow_IntBgr() {
+        BufferedImage image = randomImage(37, 11, BufferedImage.TYPE_INT_BGR);
+
+        assertTrue(RgbRasterReader.of(image).isDirect());
+        assertMatchesGetRgb(image);
+    }
+
+    @Test
+    public void testReadRow_SubImage() {
+        BufferedImage bgr = randomImage(40, 30, BufferedImage.TYPE_3BYTE_BGR).getSubimage(5, 7, 20, 10);
+        BufferedImage rgb = randomImage(40, 30, BufferedImage.TYPE_INT_RGB).getSubimage(5, 7, 20, 10);
+
+        assertMatchesGetRgb(bgr);
+        assertMatchesGetRgb(rgb);
+    }
+
+    @Test
+    public void testReadRow_FallsBackForOtherTypes() {
+        BufferedImage gray = randomImage(13, 5, BufferedImage.TYPE_BYTE_GRAY);
+        BufferedImage premultiplied = randomImage(13, 5, BufferedImage.TYPE_INT_ARGB_PRE);
+        BufferedImage ushort = randomImage(13, 5, BufferedImage.TYPE_USHORT_565_RGB);
+
+        assertFalse(RgbRasterReader.of(gray).isDirect());
+        assertFalse(RgbRasterReader.of(premultiplied).isDirect());
+        assertFalse(RgbRasterReader.of(ushort).isDirect());
+
+        assertMatchesGetRgb(gray);
+        assertMatchesGetRgb(premultiplied);
+        assertMatchesGetRgb(ushort);
+    }
+
+    // Checks every row read from the frame against the image Java2DFrameConverter makes from it
+    private static void assertMatchesConverter(Frame frame) {
+        BufferedImage image = new Java2DFrameConverter().convert(frame);
+        RgbRasterReader reader = RgbRasterReader.of(frame);
+        int[] row = new int[frame.imageWidth];
+
+        assertEquals(image.getWidth(), reader.width());
+        assertEquals(image.getHeight(), reader.height());
+        for (int y = 0; y < frame.imageHeight; y++) {
+            reader.readRow(y, row);
+            for (int x = 0; x < frame.imageWidth; x++) {
+                assertEquals(image.getRGB(x, y) & 0xFFFFFF, row[x], "pixel (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    @Test
+    public void testReadRow_BgrFrame() {
+        Frame frame = new Java2DFrameConverter().convert(randomImage(37, 11, BufferedImage.TYPE_3BYTE_BGR));
+
+        assertTrue(RgbRasterReader.of(frame).isDirect());
+        assertMatchesConverter(frame);
+    }
+
+    @Test
+    public void testReadRow_AbgrFrame() {
+        Frame frame = new Java2DFrameConverter().convert(randomImage(37, 11, BufferedImage.TYPE_4BYTE_ABGR));
+
+        assertEquals(4, frame.imageChannels);
+        assertTrue(RgbRasterReader.of(frame).isDirect());
+        assertMatchesConverter(frame);
+    }
+
+    @Test
+    public void testReadRow_FrameWithPaddedRows() {
+        // FFmpeg aligns rows, so a row can be longer than width * channels
+        Frame frame = new Frame(37, 11, Frame.DEPTH_UBYTE, 3, 128);
+        ByteBuffer buffer = (ByteBuffer) frame.image[0];
+        Random random = new Random(7);
+        for (int i = 0; i < buffer.capacity(); i++) {
+            buffer.put(i, (byte) random.nextInt(256));
+        }
+
+        assertEquals(128, frame.imageStride);
+        assertMatchesConverter(frame);
+    }
+
+    @Test
+    public void testReadRow_FrameRegion() {
+        BufferedImage image = randomImage(40, 30, BufferedImage.TYPE_3BYTE_BGR);
+        Frame frame = new Java2DFrameConverter().convert(image);
+        Rectangle region = new Rectangle(5, 7, 20, 10);
+
+        RgbRasterReader reader = RgbRasterReader.of(frame, region);
+        int[] row = new int[region.width];
+
+        assertEquals(20, reader.width());
+        assertEquals(10, reader.height());
+        for (int y = 0; y < region.height; y++) {
+            reader.readRow(y, row);
+            for (int x = 0; x < region.width; x++) {
+                assertEquals(image.getRGB(region.x + x, region.y + y) & 0xFFFFFF, row[x], "pixel (" + x + ", " + y + ")");
+            }
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> RgbRasterReader.of(frame, new Rectangle(30, 0, 20, 10)));
+    }
+
+    @Test
+    public void testReadRow_FallsBackForOtherFrames() {
+        Frame gray = new Java2DFrameConverter().convert(randomImage(13, 5, BufferedImage.TYPE_BYTE_GRAY));
+
+        assertFalse(RgbRasterReader.of(gray).isDirect());
+        assertMatchesConverter(gray);
+    }
+
+    @Test
+    public void testBinarizerMatchesPerPixelGetRgb() {
+        int[] types = {
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_BGR,
+            BufferedImage.TYPE_BYTE_GRAY
+        };
+        ColorDistanceFinder distanceFinder = new EuclideanColorDistance();
+        DistanceImageBinarizer binarizer = new DistanceImageBinarizer(distanceFinder, 0x808080, 150);
+
+        for (int type : types) {
+            BufferedImage image = randomImage(70, 9, type);
+            BinaryMask mask = binarizer.toBinaryMask(image);
+
+            for (int y = 0; y < image.getHeight(); y++) {
+                for (int x = 0; x < image.getWidth(); x++) {
+                    boolean expected = 150 >= distanceFinder.distance(image.getRGB(x, y) & 0xFFFFFF, 0x808080);
+                    assertEquals(expected, mask.get(x, y), "type " + type + " pixel (" + x + ", " + y + ")");
+                }
+            }
+        }
+    }
+}
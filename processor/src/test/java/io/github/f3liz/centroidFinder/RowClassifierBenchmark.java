@@ -0,0 +1,55 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares binarizing a frame with the scalar row classifiers against the Vector API one.
+ * The frame is already in packed int form so only the color test is measured.
+ *
+ *   mvn -Pbench test-compile exec:exec -Djmh.args="RowClassifierBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RowClassifierBenchmark {
+    @Param({ "distance", "table", "vector" })
+    public String classifier;
+
+    private BufferedImage frame;
+    private DistanceImageBinarizer binarizer;
+
+    @Setup
+    public void setUp() {
+        frame = SyntheticFrames.frame(1920, 1080, BufferedImage.TYPE_INT_RGB, 6, 2000, 42);
+
+        int target = SyntheticFrames.TARGET_COLOR;
+        int threshold = SyntheticFrames.THRESHOLD;
+        binarizer = new DistanceImageBinarizer(switch (classifier) {
+            case "distance" -> RowClassifier.of(ColorPredicate.withinDistance(new EuclideanColorDistance(), target, threshold));
+            case "table" -> RowClassifier.withinEuclideanDistance(target, threshold, false);
+            case "vector" -> RowClassifier.withinEuclideanDistance(target, threshold, true);
+            default -> throw new IllegalArgumentException(classifier);
+        });
+    }
+
+    @Benchmark
+    public BinaryMask binarize() {
+        return binarizer.toBinaryMask(frame);
+    }
+}
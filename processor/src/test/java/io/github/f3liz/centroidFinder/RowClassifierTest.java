@@ -0,0 +1,102 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+public class RowClassifierTest {
+
+    @Test
+    public void testOf_PacksPredicateMatches() {
+        int[] row = { 0xFF0000, 0x000000, 0xFF0000, 0xFF0000, 0x123456 };
+        BinaryMask mask = new BinaryMask(5, 1);
+
+        RowClassifier.of(rgb -> rgb == 0xFF0000).classifyRow(row, mask, 0);
+
+        assertArrayEquals(new int[][]{ {1, 0, 1, 1, 0} }, mask.toArray());
+    }
+
+    @Test
+    public void testOf_OverwritesPreviousRow() {
+        BinaryMask mask = new BinaryMask(70, 1);
+        RowClassifier classifier = RowClassifier.of(rgb -> rgb == 0xFFFFFF);
+
+        int[] white = new int[70];
+        Arrays.fill(white, 0xFFFFFF);
+        classifier.classifyRow(white, mask, 0);
+        classifier.classifyRow(new int[70], mask, 0);
+
+        assertEquals(0, mask.cardinality());
+    }
+
+    // Surefire adds jdk.incubator.vector, so these run the SIMD path
+    @Test
+    public void testIsVectorApiAvailable_WithModuleAdded() {
+        assertTrue(RowClassifier.isVectorApiAvailable());
+        assertInstanceOf(VectorRowClassifier.class, RowClassifier.withinEuclideanDistance(0xFF0000, 60, true));
+    }
+
+    @Test
+    public void testWithinEuclideanDistance_ScalarWhenNotVectorized() {
+        assertFalse(RowClassifier.withinEuclideanDistance(0xFF0000, 60, false) instanceof VectorRowClassifier);
+    }
+
+    @Test
+    public void testWithinEuclideanDistance_ThresholdIsInclusive() {
+        // (0, 3, 4) is exactly 5 away from black; 20 pixels so both the vector and leftover paths are used
+        int[] row = new int[20];
+        for (int x = 0; x < row.length; x++) {
+            row[x] = x % 2 == 0 ? 0x000304 : 0x000305;
+        }
+        BinaryMask mask = new BinaryMask(row.length, 1);
+
+        RowClassifier.withinEuclideanDistance(0x000000, 5, true).classifyRow(row, mask, 0);
+
+        for (int x = 0; x < row.length; x++) {
+            assertEquals(x % 2 == 0, mask.get(x, 0), "x = " + x);
+        }
+    }
+
+    @Test
+    public void testWithinEuclideanDistance_VectorMatchesScalarForAnyWidthAndThreshold() {
+        Random random = new Random(7);
+        int[] thresholds = { -1, 0, 1, 60, 255, 441, 442, 5000 };
+
+        for (int threshold : thresholds) {
+            int target = random.nextInt(1 << 24);
+            RowClassifier vector = RowClassifier.withinEuclideanDistance(target, threshold, true);
+            RowClassifier scalar = RowClassifier.of(
+                    ColorPredicate.withinDistance(new EuclideanColorDistance(), target, threshold));
+
+            for (int width = 1; width <= 200; width++) {
+                int[] row = new int[width];
+                for (int x = 0; x < width; x++) {
+                    // Half the pixels are close to the target so both outcomes show up
+                    row[x] = random.nextBoolean() ? random.nextInt(1 << 24) : target ^ random.nextInt(0x404040);
+                }
+
+                BinaryMask expected = new BinaryMask(width, 1);
+                BinaryMask actual = new BinaryMask(width, 1);
+                scalar.classifyRow(row, expected, 0);
+                vector.classifyRow(row, actual, 0);
+
+                assertEquals(expected, actual, "threshold " + threshold + ", width " + width);
+            }
+        }
+    }
+
+    @Test
+    public void testWithinEuclideanDistance_VectorBinarizerMatchesDistanceBinarizer() {
+        BufferedImage image = SyntheticFrames.frame(333, 200, BufferedImage.TYPE_3BYTE_BGR, 6, 800, 3);
+
+        DistanceImageBinarizer expected = new DistanceImageBinarizer(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        DistanceImageBinarizer vector = new DistanceImageBinarizer(
+                RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, true));
+
+        assertEquals(expected.toBinaryMask(image), vector.toBinaryMask(image));
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+public class RunLengthBinaryGroupFinderTest {
+
+    @Test
+    public void testRunLengthBinaryGroupFinder_Basic() {
+        int[][] image = new int[][]{
+            {1, 0, 0, 1},
+            {0, 1, 0, 0},
+            {0, 0, 0, 0},
+            {1, 0, 1, 1}
+        };
+
+        RunLengthBinaryGroupFinder finder = new RunLengthBinaryGroupFinder();
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(5, actual.size());
+        assertEquals(new Group(2, new Coordinate(2, 3)), actual.get(0));
+    }
+
+    // Runs that only touch diagonally must stay separate
+    @Test
+    public void testRunLengthBinaryGroupFinder_DiagonalRunsNotConnected() {
+        int[][] image = new int[][]{
+            {1, 1, 0, 0, 0},
+            {0, 0, 1, 1, 1},
+        };
+
+        RunLengthBinaryGroupFinder finder = new RunLengthBinaryGroupFinder();
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(2, actual.size());
+        assertEquals(new Group(3, new Coordinate(3, 1)), actual.get(0));
+        assertEquals(new Group(2, new Coordinate(0, 0)), actual.get(1));
+    }
+
+    // One long run bridges two components from the row above, which later split again
+    @Test
+    public void testRunLengthBinaryGroupFinder_MergeAndSplit() {
+        int[][] image = new int[][]{
+            {1, 0, 0, 0, 1},
+            {1, 1, 1, 1, 1},
+            {1, 0, 0, 0, 1},
+            {1, 0, 1, 0, 1},
+        };
+
+        RunLengthBinaryGroupFinder finder = new RunLengthBinaryGroupFinder();
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(2, actual.size());
+        assertEquals(new Group(11, new Coordinate(2, 1)), actual.get(0));
+        assertEquals(new Group(1, new Coordinate(2, 3)), actual.get(1));
+    }
+
+    @Test
+    public void testRunLengthBinaryGroupFinder_NullArray() {
+        RunLengthBinaryGroupFinder finder = new RunLengthBinaryGroupFinder();
+
+        Exception exception = assertThrows(NullPointerException.class, () -> {
+            finder.findConnectedGroups((int[][]) null);
+        });
+        assertEquals("Null array or subarray", exception.getMessage());
+    }
+
+    @Test
+    public void testRunLengthBinaryGroupFinder_MatchesDfsOnRandomMasks() {
+        DfsBinaryGroupFinder dfs = new DfsBinaryGroupFinder();
+        RunLengthBinaryGroupFinder runLength = new RunLengthBinaryGroupFinder();
+
+        double[] densities = { 0.05, 0.3, 0.5, 0.6, 0.9 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(131, 77, densities[i], i);
+            assertEquals(dfs.findConnectedGroups(mask), runLength.findConnectedGroups(mask), "density " + densities[i]);
+        }
+    }
+
+    @Test
+    public void testRunLengthBinaryGroupFinder_PlugsIntoBinarizingImageGroupFinder() {
+        BufferedImage image = SyntheticFrames.frame(300, 200, BufferedImage.TYPE_3BYTE_BGR, 5, 400, 11);
+        ImageBinarizer binarizer = new DistanceImageBinarizer(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+
+        List<Group> expected = new BinarizingImageGroupFinder(binarizer, new DfsBinaryGroupFinder()).findConnectedGroups(image);
+        List<Group> actual = new BinarizingImageGroupFinder(binarizer, new RunLengthBinaryGroupFinder()).findConnectedGroups(image);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testRunLengthBinaryGroupFinder_FindLargestGroupMatchesFirstGroup() {
+        RunLengthBinaryGroupFinder finder = new RunLengthBinaryGroupFinder();
+
+        // Sparse masks are full of single-pixel groups, so ties on size are common
+        double[] densities = { 0.02, 0.3, 0.6 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(101, 67, densities[i], i);
+            List<Group> groups = finder.findConnectedGroups(mask);
+            assertEquals(Optional.of(groups.get(0)), finder.findLargestGroup(mask), "density " + densities[i]);
+        }
+
+        assertEquals(Optional.empty(), finder.findLargestGroup(new BinaryMask(10, 10)));
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SamplingPolicyTest {
+
+    @Test
+    public void testTargetFps_SampleTimes() {
+        SamplingPolicy policy = SamplingPolicy.targetFps(4);
+
+        assertEquals(0, policy.sampleTime(0, 30));
+        assertEquals(250_000, policy.sampleTime(1, 30));
+        assertEquals(2_500_000, policy.sampleTime(10, 30));
+        assertEquals(250_000, policy.interval(30));
+    }
+
+    @Test
+    public void testTargetFps_DoesNotDriftOverLongVideos() {
+        // Two hours at 3 samples a second; rounding each time on its own keeps it within a microsecond
+        SamplingPolicy policy = SamplingPolicy.targetFps(3);
+
+        assertEquals(7_200_000_000L, policy.sampleTime(3 * 7200, 30));
+    }
+
+    @Test
+    public void testEveryNthFrame_HalfAFrameBeforeEachFrame() {
+        SamplingPolicy policy = SamplingPolicy.everyNthFrame(3);
+
+        // Frame 3 of a 30 fps video is due at 100 ms
+        assertEquals(0, policy.sampleTime(0, 30));
+        assertEquals(83_333, policy.sampleTime(1, 30));
+        assertEquals(100_000, policy.interval(30));
+    }
+
+    @Test
+    public void testEveryFrame_IsEveryFirstFrame() {
+        assertEquals(SamplingPolicy.everyNthFrame(1), SamplingPolicy.everyFrame());
+    }
+
+    @Test
+    public void testInvalidPolicies() {
+        assertThrows(IllegalArgumentException.class, () -> SamplingPolicy.targetFps(0));
+        assertThrows(IllegalArgumentException.class, () -> SamplingPolicy.targetFps(-2));
+        assertThrows(IllegalArgumentException.class, () -> SamplingPolicy.targetFps(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> SamplingPolicy.targetFps(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> SamplingPolicy.everyNthFrame(0));
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+public class SearchWindowTrackerTest {
+    private static final RowClassifier TARGET =
+            RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, false);
+
+    // Frame times in microseconds, at 25 frames per second
+    private static final long FRAME_TIME = 40_000;
+
+    private static SearchWindowTracker.WindowReader reader(BufferedImage image) {
+        return window -> RgbRasterReader.of(image.getSubimage(window.x, window.y, window.width, window.height));
+    }
+
+    @Test
+    public void testFindLargestGroups_MovingDiscMatchesFullScan() {
+        SearchWindowTracker tracker = new SearchWindowTracker(List.of(TARGET), new Rectangle(0, 0, 640, 480), 16, 1000);
+
+        for (int i = 0; i < 60; i++) {
+            BufferedImage image = SyntheticFrames.discs(640, 480, new int[] {40 + 9 * i, 100 + 5 * i, 30});
+
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image)), tracker.findLargestGroups(i * FRAME_TIME, reader(image)));
+        }
+
+        // Only the first frame is searched in full, and the windows are a small part of the frame
+        assertEquals(1, tracker.fullScans());
+        assertEquals(60, tracker.frames());
+        assertTrue(tracker.pixelsRead() < 60L * 640 * 480 / 10, "pixels read: " + tracker.pixelsRead());
+    }
+
+    @Test
+    public void testFindLargestGroups_WindowGrowsAroundGrowingBlob() {
+        SearchWindowTracker tracker = new SearchWindowTracker(List.of(TARGET), new Rectangle(0, 0, 800, 800), 4, 1000);
+
+        // The disc grows far past the previous window, so the window must grow to take all of it in
+        int[] diameters = {10, 60, 150, 300};
+        for (int i = 0; i < diameters.length; i++) {
+            BufferedImage image = SyntheticFrames.discs(800, 800, new int[] {400, 400, diameters[i]});
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image)), tracker.findLargestGroups(i * FRAME_TIME, reader(image)));
+        }
+        assertEquals(1, tracker.fullScans());
+        assertTrue(tracker.pixelsRead() < 4L * 800 * 800, "pixels read: " + tracker.pixelsRead());
+    }
+
+    @Test
+    public void testFindLargestGroups_FullScanWhenTargetIsLost() {
+        SearchWindowTracker tracker = new SearchWindowTracker(List.of(TARGET), new Rectangle(0, 0, 320, 240), 8, 1000);
+
+        tracker.findLargestGroups(0, reader(SyntheticFrames.discs(320, 240, new int[] {40, 40, 20})));
+
+        // The disc jumps across the frame, so the window is empty and the whole frame is searched
+        BufferedImage jumped = SyntheticFrames.discs(320, 240, new int[] {280, 200, 20});
+        assertEquals(List.of(SyntheticFrames.fullScan(TARGET, jumped)), tracker.findLargestGroups(FRAME_TIME, reader(jumped)));
+        assertEquals(2, tracker.fullScans());
+
+        // A frame without the target is searched in full, and so is the next one
+        BufferedImage empty = SyntheticFrames.discs(320, 240);
+        assertEquals(List.of(Optional.empty()), tracker.findLargestGroups(2 * FRAME_TIME, reader(empty)));
+        tracker.findLargestGroups(3 * FRAME_TIME, reader(jumped));
+        assertEquals(4, tracker.fullScans());
+    }
+
+    @Test
+    public void testFindLargestGroups_RescansEveryNFrames() {
+        SearchWindowTracker tracker = new SearchWindowTracker(List.of(TARGET), new Rectangle(0, 0, 320, 240), 8, 5);
+
+        // A larger disc appears outside the window; the periodic full scan picks it up
+        BufferedImage small = SyntheticFrames.discs(320, 240, new int[] {40, 40, 20});
+        BufferedImage both = SyntheticFrames.discs(320, 240, new int[] {40, 40, 20}, new int[] {250, 180, 50});
+
+        tracker.findLargestGroups(0, reader(small));
+        for (int i = 1; i < 5; i++) {
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, small)), tracker.findLargestGroups(i * FRAME_TIME, reader(both)));
+        }
+        assertEquals(List.of(SyntheticFrames.fullScan(TARGET, both)), tracker.findLargestGroups(5 * FRAME_TIME, reader(both)));
+        assertEquals(2, tracker.fullScans());
+    }
+
+    @Test
+    public void testFindLargestGroups_BoundsAndSeveralTargets() {
+        RowClassifier background = RowClassifier.withinEuclideanDistance(SyntheticFrames.BACKGROUND, 10, false);
+        Rectangle bounds = new Rectangle(50, 30, 300, 200);
+        SearchWindowTracker tracker = new SearchWindowTracker(List.of(TARGET, background), bounds, 16, 1000);
+        MultiTargetGroupFinder finder = new MultiTargetGroupFinder(List.of(TARGET, background));
+
+        for (int i = 0; i < 10; i++) {
+            BufferedImage image = SyntheticFrames.discs(400, 300, new int[] {120 + 6 * i, 100 + 3 * i, 24});
+            BufferedImage inBounds = image.getSubimage(bounds.x, bounds.y, bounds.width, bounds.height);
+
+            // Centroids are relative to the bounds, like a full scan of the cropped frame
+            assertEquals(finder.findLargestGroups(RgbRasterReader.of(inBounds)), tracker.findLargestGroups(i * FRAME_TIME, reader(image)));
+        }
+    }
+
+    @Test
+    public void testFindLargestGroups_PredictionFollowsFastDisc() {
+        Rectangle bounds = new Rectangle(0, 0, 1000, 400);
+        SearchWindowTracker still = new SearchWindowTracker(List.of(TARGET), bounds, 8, 1000);
+        SearchWindowTracker predicted = new SearchWindowTracker(List.of(TARGET), bounds, 8, 1000, true, 20);
+
+        // The disc moves twice its own width per frame, out of a window around where it was
+        for (int i = 0; i < 13; i++) {
+            BufferedImage image = SyntheticFrames.discs(1000, 400, new int[] {40 + 70 * i, 200 - 5 * i, 30});
+
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image)), still.findLargestGroups(i * 1_000_000L, reader(image)));
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image)), predicted.findLargestGroups(i * 1_000_000L, reader(image)));
+        }
+
+        // Without a prediction every frame is searched in full; with one, only the two the velocity comes from
+        assertEquals(13, still.fullScans());
+        assertEquals(2, predicted.fullScans());
+        assertTrue(predicted.pixelsRead() < 4L * 1000 * 400, "pixels read: " + predicted.pixelsRead());
+    }
+
+    @Test
+    public void testFindLargestGroups_PredictedWindowWidensWhenTargetTurns() {
+        SearchWindowTracker tracker = new SearchWindowTracker(List.of(TARGET), new Rectangle(0, 0, 1000, 400), 8, 1000, true, 5);
+
+        // Steady motion to the right, then the disc turns back
+        int[] xs = {100, 170, 240, 310, 380, 450, 520, 450, 380};
+        for (int i = 0; i < xs.length; i++) {
+            BufferedImage image = SyntheticFrames.discs(1000, 400, new int[] {xs[i], 200, 30});
+            assertEquals(List.of(SyntheticFrames.fullScan(TARGET, image)), tracker.findLargestGroups(i * 1_000_000L, reader(image)));
+        }
+
+        // The turn is found by widening the predicted window, and the new heading is followed after it
+        assertEquals(2, tracker.fullScans());
+        assertTrue(tracker.widenedWindows() > 0);
+    }
+
+    @Test
+    public void testConstructor_InvalidArguments() {
+        Rectangle bounds = new Rectangle(0, 0, 10, 10);
+        assertThrows(IllegalArgumentException.class, () -> new SearchWindowTracker(List.of(TARGET), bounds, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> new SearchWindowTracker(List.of(TARGET), bounds, 10, 0));
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Optional;
+
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.Java2DFrameConverter;
+
+public class StreamingImageGroupFinderTest {
+
+    @Test
+    public void testFindConnectedGroups_SingleSquare() {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        for (int x = 10; x < 20; x++) {
+            for (int y = 10; y < 20; y++) {
+                image.setRGB(x, y, new Color(255, 0, 0).getRGB());
+            }
+        }
+
+        ColorPredicate predicate = ColorPredicate.withinDistance(new EuclideanColorDistance(), 0xFF0000, 200);
+        List<Group> groups = new StreamingImageGroupFinder(predicate).findConnectedGroups(image);
+
+        assertEquals(1, groups.size());
+        assertEquals(new Group(100, new Coordinate(14, 14)), groups.get(0));
+    }
+
+    @Test
+    public void testFindConnectedGroups_RunTouchingRightEdge() {
+        BufferedImage image = new BufferedImage(8, 2, BufferedImage.TYPE_INT_RGB);
+        for (int x = 5; x < 8; x++) {
+            image.setRGB(x, 0, 0xFFFFFF);
+            image.setRGB(x, 1, 0xFFFFFF);
+        }
+
+        List<Group> groups = new StreamingImageGroupFinder(rgb -> rgb == 0xFFFFFF).findConnectedGroups(image);
+
+        assertEquals(List.of(new Group(6, new Coordinate(6, 0))), groups);
+    }
+
+    @Test
+    public void testFindConnectedGroups_NoMatches() {
+        BufferedImage image = new BufferedImage(50, 50, BufferedImage.TYPE_INT_RGB);
+
+        List<Group> groups = new StreamingImageGroupFinder(rgb -> rgb == 0xFF0000).findConnectedGroups(image);
+
+        assertTrue(groups.isEmpty());
+    }
+
+    @Test
+    public void testFindConnectedGroups_MatchesBinarizingImageGroupFinder() {
+        ColorPredicate predicate = ColorLookupTable.forDistance(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        ImageGroupFinder expectedFinder = new BinarizingImageGroupFinder(
+                new DistanceImageBinarizer(predicate), new DfsBinaryGroupFinder());
+        ImageGroupFinder streamingFinder = new StreamingImageGroupFinder(predicate);
+
+        int[] types = { BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB };
+        for (int i = 0; i < types.length; i++) {
+            BufferedImage image = SyntheticFrames.frame(320, 240, types[i], 6, 800, i);
+            assertEquals(expectedFinder.findConnectedGroups(image), streamingFinder.findConnectedGroups(image));
+        }
+    }
+
+    @Test
+    public void testFindLargestGroup_MatchesFirstGroup() {
+        ColorPredicate predicate = ColorLookupTable.forDistance(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        StreamingImageGroupFinder finder = new StreamingImageGroupFinder(predicate);
+
+        for (int seed = 0; seed < 4; seed++) {
+            BufferedImage image = SyntheticFrames.frame(320, 240, BufferedImage.TYPE_3BYTE_BGR, seed, 800, seed);
+            assertEquals(Optional.of(finder.findConnectedGroups(image).get(0)), finder.findLargestGroup(image));
+        }
+
+        assertEquals(Optional.empty(), finder.findLargestGroup(new BufferedImage(30, 20, BufferedImage.TYPE_INT_RGB)));
+    }
+
+    @Test
+    public void testFindGroups_FrameReaderMatchesBufferedImage() {
+        StreamingImageGroupFinder finder = new StreamingImageGroupFinder(
+                RowClassifier.withinEuclideanDistance(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD, false));
+
+        for (int seed = 0; seed < 3; seed++) {
+            BufferedImage image = SyntheticFrames.frame(320, 240, BufferedImage.TYPE_3BYTE_BGR, 6, 800, seed);
+            Frame frame = new Java2DFrameConverter().convert(image);
+
+            assertEquals(finder.findConnectedGroups(image), finder.findConnectedGroups(RgbRasterReader.of(frame)));
+            assertEquals(finder.findLargestGroup(image), finder.findLargestGroup(RgbRasterReader.of(frame)));
+        }
+    }
+
+    @Test
+    public void testFindBlobs_MatchesBinarizedMask() {
+        ColorPredicate predicate = ColorLookupTable.forDistance(new EuclideanColorDistance(),
+                SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD);
+        ImageBinarizer binarizer = new DistanceImageBinarizer(predicate);
+        StreamingImageGroupFinder finder = new StreamingImageGroupFinder(predicate);
+
+        for (int seed = 0; seed < 3; seed++) {
+            BufferedImage image = SyntheticFrames.frame(320, 240, BufferedImage.TYPE_3BYTE_BGR, 6, 800, seed);
+            List<Blob> blobs = finder.findBlobs(RgbRasterReader.of(image));
+
+            assertEquals(new DfsBinaryGroupFinder().findBlobs(binarizer.toBinaryMask(image)), blobs);
+            assertEquals(finder.findConnectedGroups(image).get(0), blobs.get(0).toGroup());
+        }
+    }
+}
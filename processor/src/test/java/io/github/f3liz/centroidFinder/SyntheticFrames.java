@@ -0,0 +1,96 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.Optional;
+import java.util.Random;
+
+/**
+ * Builds deterministic test frames that look like our camera footage: a dark background with
+ * a few large target-colored blobs and scattered single-pixel noise of the same color.
+ */
+final class SyntheticFrames {
+    static final int TARGET_COLOR = 0xFF0000;
+    static final int THRESHOLD = 60;
+    static final int BACKGROUND = 0x203028;
+
+    private SyntheticFrames() {
+    }
+
+    /**
+     * @param width the frame width
+     * @param height the frame height
+     * @param type the BufferedImage type, e.g. TYPE_3BYTE_BGR as produced by Java2DFrameConverter
+     * @param blobs the number of filled ellipses to draw
+     * @param noise the number of single noise pixels to scatter
+     * @param seed the random seed
+     * @return the generated frame
+     */
+    static BufferedImage frame(int width, int height, int type, int blobs, int noise, long seed) {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, type);
+
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(BACKGROUND));
+        graphics.fillRect(0, 0, width, height);
+
+        graphics.setColor(new Color(TARGET_COLOR));
+        for (int i = 0; i < blobs; i++) {
+            int w = 10 + random.nextInt(Math.max(1, width / 6));
+            int h = 10 + random.nextInt(Math.max(1, height / 6));
+            graphics.fillOval(random.nextInt(width), random.nextInt(height), w, h);
+        }
+        graphics.dispose();
+
+        for (int i = 0; i < noise; i++) {
+            // Slightly off-target noise so the threshold matters
+            int rgb = (0xF0 + random.nextInt(16)) << 16 | random.nextInt(24) << 8 | random.nextInt(24);
+            image.setRGB(random.nextInt(width), random.nextInt(height), rgb);
+        }
+        return image;
+    }
+
+    /**
+     * Draws a background frame with filled discs on it and no noise.
+     *
+     * @param width the frame width
+     * @param height the frame height
+     * @param discs each disc as {centerX, centerY, diameter} in TARGET_COLOR, or
+     *              {centerX, centerY, diameter, rgb} in a color of its own
+     * @return a TYPE_INT_RGB frame
+     */
+    static BufferedImage discs(int width, int height, int[]... discs) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(BACKGROUND));
+        graphics.fillRect(0, 0, width, height);
+        for (int[] disc : discs) {
+            graphics.setColor(new Color(disc.length > 3 ? disc[3] : TARGET_COLOR));
+            graphics.fillOval(disc[0] - disc[2] / 2, disc[1] - disc[2] / 2, disc[2], disc[2]);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    /**
+     * @return the largest group of the classifier's pixels, found by scanning the whole image
+     */
+    static Optional<Group> fullScan(RowClassifier classifier, BufferedImage image) {
+        return new StreamingImageGroupFinder(classifier).findLargestGroup(image);
+    }
+
+    /**
+     * @return a random mask with roughly the given fraction of white pixels
+     */
+    static BinaryMask randomMask(int width, int height, double density, long seed) {
+        Random random = new Random(seed);
+        BinaryMask mask = new BinaryMask(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                if (random.nextDouble() < density) mask.set(x, y);
+            }
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.f3liz.centroidFinder;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+
+import org.bytedeco.ffmpeg.global.avutil;
+import org.bytedeco.javacv.FFmpegFrameRecorder;
+import org.bytedeco.javacv.Java2DFrameConverter;
+
+/**
+ * Writes deterministic H.264 test clips: a dark background with one target-colored disc that
+ * moves across the frame, so every frame is different and the centroid changes over time.
+ */
+final class SyntheticVideos {
+    static final int DISC_DIAMETER = 24;
+
+    private SyntheticVideos() {
+    }
+
+    /**
+     * @param file the .mp4 file to write
+     * @param width the frame width
+     * @param height the frame height
+     * @param frameRate the frame rate
+     * @param frames the number of frames
+     * @param keyframeInterval the number of frames from one keyframe to the next
+     * @return the file
+     */
+    static Path clip(Path file, int width, int height, int frameRate, int frames, int keyframeInterval) throws Exception {
+        avutil.av_log_set_level(avutil.AV_LOG_ERROR);
+
+        try (FFmpegFrameRecorder recorder = new FFmpegFrameRecorder(file.toFile(), width, height, 0);
+             Java2DFrameConverter converter = new Java2DFrameConverter()) {
+            recorder.setFormat("mp4");
+            recorder.setVideoCodecName("libopenh264");
+            recorder.setFrameRate(frameRate);
+            recorder.setGopSize(keyframeInterval);
+            recorder.setVideoBitrate(2_000_000);
+            recorder.start();
+
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_3BYTE_BGR);
+            Graphics2D graphics = image.createGraphics();
+            for (int i = 0; i < frames; i++) {
+                graphics.setColor(new Color(0x20, 0x30, 0x28));
+                graphics.fillRect(0, 0, width, height);
+
+                graphics.setColor(new Color(SyntheticFrames.TARGET_COLOR));
+                graphics.fillOval(discX(i, width), height / 2 - DISC_DIAMETER / 2, DISC_DIAMETER, DISC_DIAMETER);
+
+                recorder.record(converter.convert(image));
+            }
+            graphics.dispose();
+            recorder.stop();
+        }
+        return file;
+    }
+
+    // The disc's left edge in frame i; it moves two pixels a frame and wraps around
+    static int discX(int frame, int width) {
+        return (frame * 2) % (width - DISC_DIAMETER);
+    }
+}
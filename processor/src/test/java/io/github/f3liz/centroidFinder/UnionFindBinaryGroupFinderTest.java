@@ -0,0 +1,95 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.Optional;
+
+public class UnionFindBinaryGroupFinderTest {
+
+    @Test
+    public void testUnionFindBinaryGroupFinder_Basic() {
+        int[][] image = new int[][]{
+            {1, 0, 0, 1},
+            {0, 1, 0, 0},
+            {0, 0, 0, 0},
+            {1, 0, 1, 1}
+        };
+
+        UnionFindBinaryGroupFinder finder = new UnionFindBinaryGroupFinder();
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(5, actual.size());
+        assertEquals(new Group(2, new Coordinate(2, 3)), actual.get(0));
+    }
+
+    // A U shape only joins up on its last row, so its two arms get different provisional labels
+    @Test
+    public void testUnionFindBinaryGroupFinder_MergesLabelsFromBelow() {
+        int[][] image = new int[][]{
+            {1, 0, 1, 0, 1},
+            {1, 0, 1, 0, 1},
+            {1, 1, 1, 1, 1},
+        };
+
+        UnionFindBinaryGroupFinder finder = new UnionFindBinaryGroupFinder();
+        List<Group> actual = finder.findConnectedGroups(image);
+
+        assertEquals(1, actual.size());
+        assertEquals(11, actual.get(0).size());
+        assertEquals(new Coordinate(2, 1), actual.get(0).centroid());
+    }
+
+    @Test
+    public void testUnionFindBinaryGroupFinder_NullSubArray() {
+        int[][] image = new int[][]{
+            {1, 0},
+            null
+        };
+
+        UnionFindBinaryGroupFinder finder = new UnionFindBinaryGroupFinder();
+
+        Exception exception = assertThrows(NullPointerException.class, () -> {
+            finder.findConnectedGroups(image);
+        });
+        assertEquals("Null array or subarray", exception.getMessage());
+    }
+
+    @Test
+    public void testUnionFindBinaryGroupFinder_EmptyArray() {
+        UnionFindBinaryGroupFinder finder = new UnionFindBinaryGroupFinder();
+
+        Exception exception = assertThrows(IllegalArgumentException.class, () -> {
+            finder.findConnectedGroups(new int[0][0]);
+        });
+        assertEquals("Invalid array", exception.getMessage());
+    }
+
+    @Test
+    public void testUnionFindBinaryGroupFinder_MatchesDfsOnRandomMasks() {
+        DfsBinaryGroupFinder dfs = new DfsBinaryGroupFinder();
+        UnionFindBinaryGroupFinder unionFind = new UnionFindBinaryGroupFinder();
+
+        double[] densities = { 0.05, 0.3, 0.5, 0.6, 0.9 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(131, 77, densities[i], i);
+            assertEquals(dfs.findConnectedGroups(mask), unionFind.findConnectedGroups(mask), "density " + densities[i]);
+        }
+    }
+
+    @Test
+    public void testUnionFindBinaryGroupFinder_FindLargestGroupMatchesFirstGroup() {
+        UnionFindBinaryGroupFinder finder = new UnionFindBinaryGroupFinder();
+
+        // Sparse masks are full of single-pixel groups, so ties on size are common
+        double[] densities = { 0.02, 0.3, 0.6 };
+        for (int i = 0; i < densities.length; i++) {
+            BinaryMask mask = SyntheticFrames.randomMask(101, 67, densities[i], i);
+            List<Group> groups = finder.findConnectedGroups(mask);
+            assertEquals(Optional.of(groups.get(0)), finder.findLargestGroup(mask), "density " + densities[i]);
+        }
+
+        assertEquals(Optional.empty(), finder.findLargestGroup(new BinaryMask(10, 10)));
+    }
+}
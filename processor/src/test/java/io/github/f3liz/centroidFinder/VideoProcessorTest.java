@@ -0,0 +1,290 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Rectangle;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VideoProcessorTest {
+    // The sample clip the server ships with; these tests are skipped when it is not checked out
+    static final Path SAMPLE_VIDEO = Path.of("../server/public/videos/Salamander5Seconds.mp4");
+    static final int SALAMANDER_COLOR = 0x2D0508;
+    static final int SALAMANDER_THRESHOLD = 90;
+
+    @TempDir
+    Path tempDir;
+
+    private List<String> process(String name, ProcessingOptions options) throws Exception {
+        Path csv = tempDir.resolve(name);
+        new VideoProcessor(SAMPLE_VIDEO.toString(), csv.toString(), SALAMANDER_COLOR, SALAMANDER_THRESHOLD, options)
+                .processVideo();
+        return Files.readAllLines(csv);
+    }
+
+    // Processes every frame of a synthetic clip, looking for the moving disc
+    private List<String> processClip(Path clip, String name, ProcessingOptions options) throws Exception {
+        Path csv = tempDir.resolve(name);
+        new VideoProcessor(clip.toString(), csv.toString(), SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD,
+                options.samplingPolicy(SamplingPolicy.everyFrame())).processVideo();
+        return Files.readAllLines(csv);
+    }
+
+    @Test
+    public void testProcessVideo_OneRowPerSecond() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        List<String> rows = process("sequential.csv", new ProcessingOptions().workers(1).queueDepth(0));
+
+        // The clip is 5.237 seconds at 23.976 fps, so the last sample is the frame at 5.005 seconds
+        assertEquals("time,x,y", rows.get(0));
+        assertEquals(7, rows.size());
+        assertTrue(rows.get(1).startsWith("0.000,"));
+        assertTrue(rows.get(2).startsWith("1.001,"));
+        assertTrue(rows.get(6).startsWith("5.005,"));
+    }
+
+    @Test
+    public void testProcessVideo_SeveralTargetsInOnePass() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 24, 30, 12);
+
+        List<String> single = processClip(clip, "single.csv", new ProcessingOptions());
+        // The same target again, plus a color that never appears
+        List<String> several = processClip(clip, "several.csv", new ProcessingOptions()
+                .addTarget(new ColorTarget(SyntheticFrames.TARGET_COLOR, SyntheticFrames.THRESHOLD))
+                .addTarget(new ColorTarget(0x0000FF, 10)));
+
+        assertEquals("time,x,y", single.get(0));
+        assertEquals("time,x1,y1,x2,y2,x3,y3", several.get(0));
+        assertEquals(single.size(), several.size());
+        for (int i = 1; i < single.size(); i++) {
+            String[] columns = single.get(i).split(",");
+            String xy = columns[1] + "," + columns[2];
+            assertEquals(single.get(i) + "," + xy + ",-1,-1", several.get(i));
+        }
+    }
+
+    @Test
+    public void testProcessVideo_TrackingMatchesFullScan() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 320, 240, 24, 60, 12);
+
+        List<String> full = processClip(clip, "full.csv", new ProcessingOptions());
+
+        assertEquals(full, processClip(clip, "tracked.csv", new ProcessingOptions().tracking(true).trackMargin(8)));
+        assertEquals(full, processClip(clip, "segments.csv", new ProcessingOptions().tracking(true).segments(3)));
+        assertEquals(full, processClip(clip, "band.csv",
+                new ProcessingOptions().tracking(true).roi(new Rectangle(0, 96, 320, 48))));
+        assertEquals(full, processClip(clip, "predicted.csv", new ProcessingOptions().tracking(true).predict(true).trackMargin(4)));
+    }
+
+    @Test
+    public void testProcessVideo_TrackingMatchesFullScanOnSampleClip() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        ProcessingOptions everyFrame = new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame());
+        List<String> full = process("full.csv", everyFrame);
+        assertEquals(full, process("tracked.csv", everyFrame.copy().tracking(true)));
+        assertEquals(full, process("predicted.csv", everyFrame.copy().tracking(true).predict(true)));
+    }
+
+    @Test
+    public void testProcessVideo_IncrementalMatchesFullScan() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 320, 240, 24, 60, 12);
+
+        List<String> full = processClip(clip, "full.csv", new ProcessingOptions());
+
+        assertEquals(full, processClip(clip, "incremental.csv", new ProcessingOptions().incremental(true)));
+        assertEquals(full, processClip(clip, "tiles.csv", new ProcessingOptions().incremental(true).tileSize(7).segments(2)));
+    }
+
+    @Test
+    public void testProcessVideo_IncrementalMatchesFullScanOnSampleClip() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        ProcessingOptions everyFrame = new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame());
+        assertEquals(process("full.csv", everyFrame), process("incremental.csv", everyFrame.copy().incremental(true)));
+    }
+
+    @Test
+    public void testProcessVideo_ObjectsKeepTheirIds() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 320, 240, 24, 60, 12);
+
+        List<String> full = processClip(clip, "full.csv", new ProcessingOptions());
+        ProcessingOptions objects = new ProcessingOptions().objects(4).minSize(100).maxJump(10);
+        List<String> rows = processClip(clip, "objects.csv", objects);
+
+        // The disc is the only group of 100 pixels or more and keeps id 1 from start to end
+        assertEquals("time,id,x,y,size", rows.get(0));
+        assertEquals(full.size(), rows.size());
+        for (int i = 1; i < rows.size(); i++) {
+            String[] row = rows.get(i).split(",");
+            String[] expected = full.get(i).split(",");
+            assertEquals(expected[0], row[0]);
+            assertEquals("1", row[1]);
+            assertEquals(expected[1], row[2]);
+            assertEquals(expected[2], row[3]);
+            assertTrue(Integer.parseInt(row[4]) >= 100);
+        }
+
+        // Segments label their frames apart, but the ids are still given out in time order
+        assertEquals(rows, processClip(clip, "segments.csv", objects.copy().segments(3)));
+        assertEquals(rows, processClip(clip, "hungarian.csv", objects.copy().assignment(TrackAssignment.HUNGARIAN)));
+    }
+
+    @Test
+    public void testProcessVideo_ObjectsFollowOneColor() {
+        ProcessingOptions options = new ProcessingOptions().objects(3).addTarget(new ColorTarget(0x00FF00, 40));
+        assertThrows(IllegalArgumentException.class,
+                () -> new VideoProcessor("missing.mp4", tempDir.resolve("out.csv").toString(), 0xFF0000, 60, options).processVideo());
+    }
+
+    @Test
+    public void testProcessVideo_SegmentsNeedTheirOwnThreads() {
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            ProcessingOptions options = new ProcessingOptions().segments(2).workerPool(pool);
+            assertThrows(IllegalArgumentException.class,
+                    () -> new VideoProcessor("missing.mp4", tempDir.resolve("out.csv").toString(), 0xFF0000, 60, options).processVideo());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testProcessVideo_IncrementalCannotBeTracked() {
+        ProcessingOptions options = new ProcessingOptions().incremental(true).tracking(true);
+        assertThrows(IllegalArgumentException.class,
+                () -> new VideoProcessor("missing.mp4", tempDir.resolve("out.csv").toString(), 0xFF0000, 60, options).processVideo());
+    }
+
+    @Test
+    public void testProcessVideo_EveryFrame() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        List<String> rows = process("all.csv", new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame()));
+
+        assertEquals(1 + 126, rows.size());
+        assertTrue(rows.get(2).startsWith("0.042,"));
+    }
+
+    @Test
+    public void testProcessVideo_RegionOfInterestKeepsFullFrameCoordinates() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 320, 240, 30, 60, 30);
+
+        List<String> full = processClip(clip, "full.csv", new ProcessingOptions());
+        // The disc moves along the middle row, so a band around it sees the same centroids
+        List<String> band = processClip(clip, "band.csv", new ProcessingOptions().roi(new Rectangle(0, 96, 320, 48)));
+
+        assertEquals(61, full.size());
+        assertEquals(full, band);
+    }
+
+    @Test
+    public void testProcessVideo_ScaledCentroidsStayClose() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 320, 240, 30, 60, 30);
+
+        List<String> full = processClip(clip, "full.csv", new ProcessingOptions());
+        List<String> scaled = processClip(clip, "scaled.csv", new ProcessingOptions().scale(0.5));
+        List<String> both = processClip(clip, "both.csv", new ProcessingOptions().scale(0.5).roi(new Rectangle(1, 97, 300, 47)));
+
+        assertEquals(full.size(), scaled.size());
+        assertEquals(full.size(), both.size());
+        for (int i = 1; i < full.size(); i++) {
+            String[] expected = full.get(i).split(",");
+            String[] half = scaled.get(i).split(",");
+            String[] cropped = both.get(i).split(",");
+
+            assertEquals(expected[0], half[0]);
+            // A downscaled pixel covers 2 full-frame pixels, so the centroid moves by about that much
+            for (int axis = 1; axis <= 2; axis++) {
+                assertEquals(Integer.parseInt(expected[axis]), Integer.parseInt(half[axis]), 2, full.get(i) + " vs " + scaled.get(i));
+                assertEquals(Integer.parseInt(expected[axis]), Integer.parseInt(cropped[axis]), 2, full.get(i) + " vs " + both.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void testProcessVideo_YuvMatchesRgbOnSyntheticClip() throws Exception {
+        Path clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 320, 240, 30, 60, 30);
+
+        List<String> rgb = processClip(clip, "rgb.csv", new ProcessingOptions());
+
+        assertEquals(rgb, processClip(clip, "yuv.csv", new ProcessingOptions().yuv(true)));
+        assertEquals(rgb, processClip(clip, "segments.csv", new ProcessingOptions().yuv(true).segments(3)));
+    }
+
+    @Test
+    public void testProcessVideo_YuvCentroidsStayClose() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        List<String> rgb = process("rgb.csv", new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame()));
+        List<String> yuv = process("yuv.csv", new ProcessingOptions().samplingPolicy(SamplingPolicy.everyFrame()).yuv(true));
+
+        // Only pixels within about 2.5 of the threshold can change sides, which barely moves a centroid
+        assertEquals(rgb.size(), yuv.size());
+        for (int i = 1; i < rgb.size(); i++) {
+            String[] expected = rgb.get(i).split(",");
+            String[] actual = yuv.get(i).split(",");
+
+            assertEquals(expected[0], actual[0]);
+            assertEquals(Integer.parseInt(expected[1]), Integer.parseInt(actual[1]), 2, rgb.get(i) + " vs " + yuv.get(i));
+            assertEquals(Integer.parseInt(expected[2]), Integer.parseInt(actual[2]), 2, rgb.get(i) + " vs " + yuv.get(i));
+        }
+    }
+
+    @Test
+    public void testProcessVideo_YuvCannotBeScaled() {
+        ProcessingOptions options = new ProcessingOptions().yuv(true).scale(0.5);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new VideoProcessor("missing.mp4", tempDir.resolve("out.csv").toString(), 0, 0, options).processVideo());
+    }
+
+    @Test
+    public void testFormatTime() {
+        assertEquals("0.000", VideoProcessor.formatTime(0));
+        assertEquals("1.001", VideoProcessor.formatTime(1_001_000));
+        assertEquals("0.042", VideoProcessor.formatTime(41_708));
+        assertEquals("7200.000", VideoProcessor.formatTime(7_200_000_000L));
+    }
+
+    @Test
+    public void testProcessVideo_SameOutputForAnyWorkerCount() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        List<String> sequential = process("sequential.csv", new ProcessingOptions().workers(1).queueDepth(0));
+
+        assertEquals(sequential, process("parallel.csv", new ProcessingOptions().workers(3).queueDepth(1)));
+        assertEquals(sequential, process("deep.csv", new ProcessingOptions().workers(2).queueDepth(8)));
+    }
+
+    @Test
+    public void testProcessVideo_SameOutputForSeekAndSequentialDecode() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        List<String> seek = process("seek.csv", new ProcessingOptions().decodeMode(DecodeMode.SEEK));
+
+        assertEquals(seek, process("sequential.csv", new ProcessingOptions().decodeMode(DecodeMode.SEQUENTIAL)));
+        assertEquals(seek, process("auto.csv", new ProcessingOptions()));
+    }
+
+    @Test
+    public void testProcessVideo_SameOutputForAnySegmentCount() throws Exception {
+        assumeTrue(Files.exists(SAMPLE_VIDEO));
+
+        for (SamplingPolicy policy : new SamplingPolicy[]{ SamplingPolicy.targetFps(1), SamplingPolicy.everyFrame() }) {
+            List<String> whole = process("whole.csv", new ProcessingOptions().samplingPolicy(policy));
+
+            for (int segments : new int[]{ 2, 3, 7 }) {
+                assertEquals(whole, process("segments.csv", new ProcessingOptions().samplingPolicy(policy).segments(segments)),
+                        policy + ", " + segments + " segments");
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import static org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUV420P;
+import static org.bytedeco.ffmpeg.global.avutil.AV_PIX_FMT_YUVJ420P;
+
+public class YuvColorSpaceTest {
+
+    @Test
+    public void testToRgb_Grays() {
+        assertEquals(0x000000, YuvColorSpace.BT601_FULL.toRgb(0x008080));
+        assertEquals(0x808080, YuvColorSpace.BT601_FULL.toRgb(0x808080));
+        assertEquals(0xFFFFFF, YuvColorSpace.BT601_FULL.toRgb(0xFF8080));
+
+        // Studio range puts black at 16 and white at 235
+        assertEquals(0x000000, YuvColorSpace.BT601_LIMITED.toRgb(0x108080));
+        assertEquals(0xFFFFFF, YuvColorSpace.BT601_LIMITED.toRgb(0xEB8080));
+    }
+
+    @Test
+    public void testToRgb_PrimaryColors() {
+        // BT.601 red, green and blue in full range; Cr and Cb of pure red and blue clamp at 255,
+        // and rounding the samples to 8 bits costs up to one level per channel
+        EuclideanColorDistance distance = new EuclideanColorDistance();
+
+        assertEquals(0xFE0000, YuvColorSpace.BT601_FULL.toRgb(0x4C55FF));
+        assertTrue(distance.distance(0x00FF00, YuvColorSpace.BT601_FULL.toRgb(0x962C15)) <= 2);
+        assertTrue(distance.distance(0x0000FF, YuvColorSpace.BT601_FULL.toRgb(0x1DFF6B)) <= 2);
+    }
+
+    @Test
+    public void testToRgb_ClampsOutOfGamutSamples() {
+        assertEquals(0x00FF00, YuvColorSpace.BT601_FULL.toRgb(0xFF0000) & 0x00FF00);
+        assertEquals(0xFF, YuvColorSpace.BT601_LIMITED.toRgb(0xFFFFFF) >>> 16);
+    }
+
+    @Test
+    public void testForPixelFormat() {
+        assertEquals(YuvColorSpace.BT601_FULL, YuvColorSpace.forPixelFormat(AV_PIX_FMT_YUVJ420P));
+        assertEquals(YuvColorSpace.BT601_LIMITED, YuvColorSpace.forPixelFormat(AV_PIX_FMT_YUV420P));
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.f3liz.centroidFinder;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.bytedeco.javacv.FFmpegFrameGrabber;
+import org.bytedeco.javacv.Frame;
+import org.bytedeco.javacv.FrameGrabber;
+
+public class YuvFrameReaderTest {
+    @TempDir
+    static Path tempDir;
+
+    private static Path clip;
+
+    @BeforeAll
+    static void writeClip() throws Exception {
+        clip = SyntheticVideos.clip(tempDir.resolve("clip.mp4"), 160, 120, 30, 10, 5);
+    }
+
+    // Largest RGB distance between the YUV frames converted by YuvColorSpace and swscale's BGR frames
+    private static double largestDifference(Path video, int frames) throws Exception {
+        EuclideanColorDistance distance = new EuclideanColorDistance();
+        double largest = 0;
+
+        try (FFmpegFrameGrabber yuvGrabber = new FFmpegFrameGrabber(video.toFile());
+             FFmpegFrameGrabber bgrGrabber = new FFmpegFrameGrabber(video.toFile())) {
+            yuvGrabber.setImageMode(FrameGrabber.ImageMode.RAW);
+            yuvGrabber.start();
+            bgrGrabber.start();
+            YuvColorSpace colorSpace = YuvColorSpace.forPixelFormat(yuvGrabber.getPixelFormat());
+
+            for (int i = 0; i < frames; i++) {
+                try (Frame yuv = YuvFrameReader.copy(yuvGrabber.grabImage())) {
+                    Frame bgr = bgrGrabber.grabImage();
+                    PixelRowReader yuvRows = YuvFrameReader.of(yuv);
+                    RgbRasterReader bgrRows = RgbRasterReader.of(bgr);
+                    int[] yuvRow = new int[yuvRows.width()];
+                    int[] rgbRow = new int[yuvRows.width()];
+
+                    for (int y = 0; y < yuvRows.height(); y++) {
+                        yuvRows.readRow(y, yuvRow);
+                        bgrRows.readRow(y, rgbRow);
+                        for (int x = 0; x < yuvRow.length; x++) {
+                            largest = Math.max(largest, distance.distance(colorSpace.toRgb(yuvRow[x]), rgbRow[x]));
+                        }
+                    }
+                }
+            }
+        }
+        return largest;
+    }
+
+    @Test
+    public void testCopy_PlanesBackToBackWithoutPadding() throws Exception {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(clip.toFile())) {
+            grabber.setImageMode(FrameGrabber.ImageMode.RAW);
+            grabber.start();
+
+            Frame raw = grabber.grabImage();
+            try (Frame copy = YuvFrameReader.copy(raw)) {
+                assertEquals(160, copy.imageWidth);
+                assertEquals(120, copy.imageHeight);
+                assertEquals(raw.timestamp, copy.timestamp);
+                assertTrue(((ByteBuffer) copy.image[0]).capacity() >= 160 * 120 + 2 * 80 * 60);
+
+                // The first luma row is copied as is
+                ByteBuffer rawLuma = (ByteBuffer) raw.image[0];
+                ByteBuffer copiedLuma = (ByteBuffer) copy.image[0];
+                for (int x = 0; x < 160; x++) {
+                    assertEquals(rawLuma.get(x), copiedLuma.get(x));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testReadRow_ConvertedColorsMatchSwscale() throws Exception {
+        // libopenh264 writes studio-range yuv420p, where swscale's fixed-point tables round a little further
+        assertTrue(largestDifference(clip, 10) <= Math.sqrt(17));
+    }
+
+    @Test
+    public void testReadRow_ConvertedColorsMatchSwscaleOnSampleVideo() throws Exception {
+        assumeTrue(Files.exists(VideoProcessorTest.SAMPLE_VIDEO));
+
+        // The sample video is full-range yuvj420p
+        assertTrue(largestDifference(VideoProcessorTest.SAMPLE_VIDEO, 10) <= Math.sqrt(6));
+    }
+
+    @Test
+    public void testReadRow_RegionMatchesWholeFrame() throws Exception {
+        try (FFmpegFrameGrabber grabber = new FFmpegFrameGrabber(clip.toFile())) {
+            grabber.setImageMode(FrameGrabber.ImageMode.RAW);
+            grabber.start();
+
+            try (Frame frame = YuvFrameReader.copy(grabber.grabImage())) {
+                // An odd left edge starts half way through a chroma sample
+                Rectangle region = new Rectangle(31, 17, 101, 80);
+                PixelRowReader whole = YuvFrameReader.of(frame);
+                PixelRowReader part = YuvFrameReader.of(frame, region);
+                int[] wholeRow = new int[whole.width()];
+                int[] partRow = new int[part.width()];
+
+                assertEquals(101, part.width());
+                assertEquals(80, part.height());
+                for (int y = 0; y < region.height; y++) {
+                    whole.readRow(region.y + y, wholeRow);
+                    part.readRow(y, partRow);
+                    for (int x = 0; x < region.width; x++) {
+                        assertEquals(wholeRow[region.x + x], partRow[x], "pixel (" + x + ", " + y + ")");
+                    }
+                }
+
+                assertThrows(IllegalArgumentException.class, () -> YuvFrameReader.of(frame, new Rectangle(100, 0, 100, 10)));
+            }
+        }
+    }
+}
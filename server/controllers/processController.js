@@ -4,6 +4,7 @@ import dotenv from 'dotenv'; // Module for loading in environment variables from
 import { spawn } from 'child_process'; // Module to run the Java JAR as a child process
 import { v4 as uuidv4 } from 'uuid'; // Module for generating unique job IDs
 import { fileURLToPath } from 'url'; // Module for resolving ES module file paths
+import processorClient from '../processorClient.js'; // Client for the resident processor daemon
 
 // Get __dirname for ES modules
 const __filename = fileURLToPath(import.meta.url);
@@ -19,6 +20,11 @@ const JAR_PATH = process.env.JAR_PATH || path.resolve(__dirname, '../../processo
 const OUTPUT_DIR = process.env.OUTPUT_DIR || '/results';
 const JOBS_FILE = path.join(OUTPUT_DIR, 'jobs.json'); // Centralized jobs metadata file with jobIDs, status, and output file location
 
+// When a processor daemon is running, jobs are sent to it instead of spawning a new JVM for each one
+// PROCESSOR_SOCKET is a Unix-domain socket path, PROCESSOR_PORT a loopback TCP port
+const PROCESSOR_SOCKET = process.env.PROCESSOR_SOCKET;
+const PROCESSOR_PORT = process.env.PROCESSOR_PORT ? Number(process.env.PROCESSOR_PORT) : null;
+
 // Helper to load all job metadata from the central jobs.json file
 const loadJobsData = () => {
     if (!fs.existsSync(JOBS_FILE)) return {};
@@ -30,6 +36,22 @@ const saveJobsData = (jobsData) => {
     fs.writeFileSync(JOBS_FILE, JSON.stringify(jobsData, null, 2));
 };
 
+// Helper to record how a job ended
+const finishJob = (jobId, error) => {
+    const updatedJobs = loadJobsData();
+
+    if (updatedJobs[jobId]) {
+        if (!error) {
+            updatedJobs[jobId].status = 'done';
+        } else {
+            updatedJobs[jobId].status = 'error';
+            updatedJobs[jobId].error = error;
+        }
+
+        saveJobsData(updatedJobs);
+    }
+};
+
 const startVideoProcessingJob = (req, res) => {
     // /process/:filename
     const { filename } = req.params;
@@ -60,6 +82,16 @@ const startVideoProcessingJob = (req, res) => {
     };
     saveJobsData(jobsData);
 
+    // Send the job to the processor daemon if one is configured
+    if (PROCESSOR_SOCKET || PROCESSOR_PORT) {
+        processorClient.runJob({ socketPath: PROCESSOR_SOCKET, port: PROCESSOR_PORT },
+            { id: jobId, input: inputPath, output: outputCSV, targetColor, threshold })
+            .then(() => finishJob(jobId))
+            .catch((err) => finishJob(jobId, `Processor daemon error: ${err.message}`));
+
+        return res.status(202).json({ jobId });
+    }
+
     // Build Java command line arguments
     const args = [
         '-jar',
@@ -76,18 +108,7 @@ const startVideoProcessingJob = (req, res) => {
 
         // Listen for successful completion
         child.on('exit', (code) => {
-            const updatedJobs = loadJobsData();
-
-            if (updatedJobs[jobId]) {
-                if (code === 0) {
-                    updatedJobs[jobId].status = 'done';
-                } else {
-                    updatedJobs[jobId].status = 'error';
-                    updatedJobs[jobId].error = `Java process exited with code ${code}`;
-                }
-
-                saveJobsData(updatedJobs);
-            }
+            finishJob(jobId, code === 0 ? null : `Java process exited with code ${code}`);
         });
 
         return res.status(202).json({ jobId });
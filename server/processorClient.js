@@ -0,0 +1,72 @@
+import net from 'net'; // Built in module for socket connections
+
+// Tiny client for the processor daemon (io.github.f3liz.centroidFinder.ProcessorDaemon)
+// The daemon keeps one warm JVM running, so jobs skip the start-up cost of spawning `java -jar` each time
+// Both sides send one JSON object per line; see ProcessorDaemon for the protocol
+
+// Connects to a Unix-domain socket path if one is given, otherwise to a loopback TCP port
+const connect = ({ socketPath, port }) => {
+    return socketPath ? net.createConnection({ path: socketPath }) : net.createConnection({ port, host: '127.0.0.1' });
+};
+
+// Submits one job and resolves with the done event, or rejects with the daemon's error message
+// job: { input, output, targetColor, threshold, options } where options is an optional string such as '--sample-all'
+// onProgress is called with every progress event: { time, length, x, y }
+const runJob = (connection, job, onProgress = () => {}) => {
+    return new Promise((resolve, reject) => {
+        const id = job.id || `job-${Date.now()}-${Math.random().toString(16).slice(2)}`;
+        const socket = connect(connection);
+        let buffered = '';
+        let finished = false;
+
+        const finish = (error, event) => {
+            if (finished) return;
+            finished = true;
+            socket.end();
+            error ? reject(error) : resolve(event);
+        };
+
+        socket.setEncoding('utf-8');
+
+        socket.on('connect', () => {
+            socket.write(JSON.stringify({
+                id,
+                input: job.input,
+                output: job.output,
+                targetColor: String(job.targetColor),
+                threshold: Number(job.threshold),
+                options: job.options || ''
+            }) + '\n');
+        });
+
+        // Split the stream into lines and handle the events for this job
+        socket.on('data', (chunk) => {
+            buffered += chunk;
+            let newline;
+            while ((newline = buffered.indexOf('\n')) >= 0) {
+                const line = buffered.slice(0, newline);
+                buffered = buffered.slice(newline + 1);
+                if (!line.trim()) continue;
+
+                // A garbled line fails only this job; an uncaught throw here would take down the whole server
+                let event;
+                try {
+                    event = JSON.parse(line);
+                } catch (err) {
+                    finish(new Error(`Processor daemon sent an unreadable line: ${err.message}`));
+                    return;
+                }
+                if (event.id !== undefined && event.id !== id) continue;
+
+                if (event.event === 'progress') onProgress(event);
+                else if (event.event === 'done') finish(null, event);
+                else if (event.event === 'error') finish(new Error(event.message || 'Processor daemon reported an error'));
+            }
+        });
+
+        socket.on('error', (err) => finish(err));
+        socket.on('close', () => finish(new Error('Processor daemon closed the connection before the job finished')));
+    });
+};
+
+export default { runJob };